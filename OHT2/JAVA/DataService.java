@@ -12,9 +12,12 @@ public class DataService {
 	private static boolean isInitialized = false;
 
 	Queue<DataSet> dataQ = new ConcurrentLinkedQueue<>();
-	public BlockingQueue<Msg> queue = new LinkedBlockingQueue<>();
-	public BlockingQueue<Msg> recordQueue = new LinkedBlockingQueue<>();
+	// OHT message ring buffer ---> queue(처리용) 와 recordQueue(기록용) 는 같은 ring 의 consumer
+	private MsgRingBuffer<Msg> ohtMessageRing = new MsgRingBuffer<>("oht-message", 65536, MsgRingBuffer.OVERFLOW_POLICY.BLOCK);
+	public BlockingQueue<Msg> queue = ohtMessageRing.addConsumer("worker", true);
+	public BlockingQueue<Msg> recordQueue = ohtMessageRing.addConsumer("record", false);
 
+	private boolean isOhtMessageRingBuilt = false;    // 설정으로 ring 을 구성한 뒤에는 교체하지 않음 (consumer 가 이전 ring 을 계속 읽게 되므로)
 	private boolean isRailCutInitialized = false;
 
 	private final ConcurrentMap<String, FirstEdgeInfo> firstEdgeInfoMap = new ConcurrentHashMap<>();
@@ -22,6 +25,15 @@ public class DataService {
 	private final ConcurrentHashMap<String, TibrvService> tibrvReceiverMap = new ConcurrentHashMap<>();    // key: facId, val: [TibrvReceiver ...]
 	private final ConcurrentMap<String, FabProperties> fabPropertiesMap = new ConcurrentHashMap<>();
 	private ConcurrentHashMap<String, OhtUdpListener> ohtUdpListenerMap = new ConcurrentHashMap<>();
+	private final OhtIngestProperties ohtIngestProperties = new OhtIngestProperties();
+	private OhtMessageJournal ohtMessageJournal = null;
+	private MsgRingBuffer<Msg>.Consumer ohtJournalConsumer = null;    // journal writer 가 읽는 ring consumer
+	private VhlPartitionedExecutor ohtWorkerExecutor = null;
+	private OhtReportConflator ohtReportConflator = null;
+	private OhtStageLatencyMetrics ohtStageLatencyMetrics = null;
+	private OhtEndToEndLatencyMetrics ohtEndToEndLatencyMetrics = null;
+	private RailRouteCache railRouteCache = null;
+	private OhtMsgBatchConsumer ohtBatchConsumer = null;
 	private ConcurrentMap<String, List<String>> ohtAlarmCodeListMap = new ConcurrentHashMap<>();
 	public BlockingQueue<TibrvSendMsg> tibrvMessageQueue = new LinkedBlockingQueue<>();
 	private boolean isTibrvSendRunning = false;
@@ -106,6 +118,10 @@ public class DataService {
 					);
 
 					this.tibrvSenderMap.get(msg.getKey()).sendMessage(message, msg.getType());
+
+					if (this.ohtEndToEndLatencyMetrics != null && msg instanceof TracedTibrvSendMsg) {
+						this.ohtEndToEndLatencyMetrics.onSent((TracedTibrvSendMsg) msg);
+					}
 				} catch (Exception e) {
 					logger.error("... It couldn't send a message to the tibrv module !!!", e);
 
@@ -128,6 +144,8 @@ public class DataService {
 	public void initialization(final Properties properties) {
 		isInitialized = false;
 
+		this._setOhtIngestProperties(properties);
+
 		if (this._loadFabData(properties)) {
 			if (!fabPropertiesMap.isEmpty()) {
 				this._loadExtraXmlData();
@@ -136,17 +154,301 @@ public class DataService {
 
 				this._initializedVelocity();
 				Util.reflectSwitch(properties);
+				this.rebuildOhtVhlPipelines();
 //				this._initializedFunction(properties);
 
 				this.writeRecording();
 			}
 
 			isInitialized = true;
+
+			this._startOhtBatchConsumer();
 		} else {
 			logger.error("... (2) biz data is not initialized.");
 		}
 	}
 
+	/**
+	 * switch(FunctionItem) 설정으로 (fab, mcp) 별 VHL_STATE_REPORT 처리 단계를 다시 구성
+	 * - Util.reflectSwitch 로 switch 가 바뀐 뒤 호출
+	 */
+	public void rebuildOhtVhlPipelines() {
+		try {
+			OhtVhlPipeline.rebuild(Env.getSwitchMap(), OhtMsgWorkerRunnable.VHL_REPORT_STAGES);
+		} catch (Exception e) {
+			logger.error("... failed to build pipeline of vehicle report", e);
+		}
+	}
+
+	/*
+	 * OHT UDP 수신 방식 설정 (값이 없으면 기존 DatagramSocket 방식 유지)
+	 * - 잘못된 값은 경고 후 기본값 사용, 기능별 구성은 각각 처리 ---> 한 설정 값 / 한 기능의 오류로 다른 기능이 빠지지 않음
+	 */
+	private void _setOhtIngestProperties(final Properties properties) {
+		if (properties == null) return;
+
+		ohtIngestProperties.setReceiveMode(properties.getProperty("OhtUdpReceiveMode", OhtIngestProperties.RECEIVE_MODE_LEGACY).trim());
+		ohtIngestProperties.setBufferSize(this._getOhtIntProperty(properties, "OhtUdpBufferSize", 1500));
+		ohtIngestProperties.setBufferPoolSize(this._getOhtIntProperty(properties, "OhtUdpBufferPoolSize", 16));
+		ohtIngestProperties.setShardCount(this._getOhtIntProperty(properties, "OhtUdpShardCount", 0));
+		ohtIngestProperties.setQueueCapacity(this._getOhtIntProperty(properties, "OhtQueueCapacity", 65536));
+		ohtIngestProperties.setQueueOverflowPolicy(this._getOhtEnumProperty(properties, "OhtQueueOverflowPolicy", MsgRingBuffer.OVERFLOW_POLICY.BLOCK));
+
+		if (ohtIngestProperties.getBufferSize() <= 0) {
+			ohtIngestProperties.setBufferSize(1500);
+		}
+
+		if (ohtIngestProperties.getQueueCapacity() <= 0) {
+			ohtIngestProperties.setQueueCapacity(65536);
+		}
+
+		ohtIngestProperties.setJournalEnabled(Boolean.parseBoolean(properties.getProperty("OhtJournalEnabled", "false").trim()));
+		ohtIngestProperties.setJournalDirectory(properties.getProperty("OhtJournalDir", Paths.get(FilePathUtil.RECORD_FILE_PATH, "oht-journal").toString()).trim());
+		ohtIngestProperties.setJournalSegmentMegaBytes(this._getOhtIntProperty(properties, "OhtJournalSegmentMB", 64));
+		ohtIngestProperties.setJournalRollMinutes(this._getOhtIntProperty(properties, "OhtJournalRollMinutes", 60));
+		ohtIngestProperties.setJournalRetentionCount(this._getOhtIntProperty(properties, "OhtJournalRetentionCount", 48));
+
+		if (ohtIngestProperties.getJournalSegmentMegaBytes() <= 0) {
+			ohtIngestProperties.setJournalSegmentMegaBytes(64);
+		}
+
+		ohtIngestProperties.setWorkerPartitionCount(this._getOhtIntProperty(properties, "OhtWorkerPartitionCount", 0));
+		ohtIngestProperties.setWorkerPartitionQueueSize(this._getOhtIntProperty(properties, "OhtWorkerPartitionQueueSize", 4096));
+
+		if (ohtIngestProperties.getWorkerPartitionQueueSize() <= 0) {
+			ohtIngestProperties.setWorkerPartitionQueueSize(4096);
+		}
+
+		ohtIngestProperties.setWorkerBatchSize(this._getOhtIntProperty(properties, "OhtWorkerBatchSize", 0));
+		ohtIngestProperties.setWorkerBatchMaxLatencyMillis(this._getOhtIntProperty(properties, "OhtWorkerBatchMaxLatencyMs", 5));
+		ohtIngestProperties.setConflationEnabled(Boolean.parseBoolean(properties.getProperty("OhtConflationEnabled", "false").trim()));
+		ohtIngestProperties.setUnchangedReportFastPath(Boolean.parseBoolean(properties.getProperty("OhtUnchangedReportFastPath", "false").trim()));
+		ohtIngestProperties.setStageLatencyEnabled(Boolean.parseBoolean(properties.getProperty("OhtStageLatencyEnabled", "false").trim()));
+		ohtIngestProperties.setEndToEndLatencyEnabled(Boolean.parseBoolean(properties.getProperty("OhtEndToEndLatencyEnabled", "false").trim()));
+		ohtIngestProperties.setEndToEndSloMillis(this._getOhtIntProperty(properties, "OhtEndToEndSloMs", 1000));
+		ohtIngestProperties.setRouteEngine(properties.getProperty("OhtRouteEngine", OhtIngestProperties.ROUTE_ENGINE_LEGACY).trim());
+		ohtIngestProperties.setRouteCacheSize(this._getOhtIntProperty(properties, "OhtRouteCacheSize", 0));
+		ohtIngestProperties.setRouteCacheTtlMillis(this._getOhtIntProperty(properties, "OhtRouteCacheTtlMs", 2000));
+		ohtIngestProperties.setRouteHierarchyEnabled(Boolean.parseBoolean(properties.getProperty("OhtRouteHierarchyEnabled", "false").trim()));
+		ohtIngestProperties.setRouteHierarchyCustomizeMillis(this._getOhtIntProperty(properties, "OhtRouteHierarchyCustomizeMs", 5000));
+
+		this._setUpOhtIngestFeature("stage latency metrics", () -> {
+			if (ohtIngestProperties.isStageLatencyEnabled() && ohtStageLatencyMetrics == null) {
+				ohtStageLatencyMetrics = new OhtStageLatencyMetrics();
+				ohtStageLatencyMetrics.registerMBean();
+			}
+		});
+
+		this._setUpOhtIngestFeature("end-to-end latency metrics", () -> {
+			if (!ohtIngestProperties.isEndToEndLatencyEnabled()) return;
+
+			if (ohtEndToEndLatencyMetrics == null) {
+				ohtEndToEndLatencyMetrics = new OhtEndToEndLatencyMetrics(ohtIngestProperties.getEndToEndSloMillis());
+				ohtEndToEndLatencyMetrics.registerMBean();
+			} else {
+				ohtEndToEndLatencyMetrics.setSloMillis(ohtIngestProperties.getEndToEndSloMillis());
+			}
+		});
+
+		this._setUpOhtIngestFeature("route cache", () -> {
+			if (ohtIngestProperties.getRouteCacheSize() <= 0) return;
+
+			if (railRouteCache == null) {
+				railRouteCache = new RailRouteCache(ohtIngestProperties.getRouteCacheSize(), ohtIngestProperties.getRouteCacheTtlMillis());
+				railRouteCache.registerMBean();
+			} else {
+				railRouteCache.setTtlMillis(ohtIngestProperties.getRouteCacheTtlMillis());
+			}
+		});
+
+		this._setUpOhtIngestFeature("message journal", this::_openOhtMessageJournal);
+		this._setUpOhtIngestFeature("message ring", this::_buildOhtMessageRing);
+		this._setUpOhtIngestFeature("journal writer", this::_startOhtJournalWriter);
+		this._setUpOhtIngestFeature("worker executor", this::_buildOhtWorkerExecutor);
+
+		logger.info("... oht udp ingest property [mode: {} | buffer size: {} | pool size: {} | shard: {} | queue capacity: {} | overflow: {}]",
+				ohtIngestProperties.getReceiveMode(),
+				ohtIngestProperties.getBufferSize(),
+				ohtIngestProperties.getBufferPoolSize(),
+				ohtIngestProperties.getShardCount(),
+				ohtMessageRing.getCapacity(),
+				ohtMessageRing.getOverflowPolicy()
+		);
+	}
+
+	// 기능 하나의 구성 오류는 기록만 하고 다음 기능 구성을 계속함
+	private void _setUpOhtIngestFeature(String featureName, Runnable setUp) {
+		try {
+			setUp.run();
+		} catch (Exception e) {
+			logger.error("... Error setting up oht ingest {} !!!", featureName, e);
+		}
+	}
+
+	// 값이 없으면 기본값, 정수가 아니면 경고 후 기본값
+	private int _getOhtIntProperty(final Properties properties, String key, int defaultValue) {
+		String value = properties.getProperty(key);
+
+		if (value == null || value.trim().isEmpty()) return defaultValue;
+
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			logger.warn("... invalid oht ingest property, default value is used [{}: {} | default: {}]", key, value, defaultValue);
+
+			return defaultValue;
+		}
+	}
+
+	// 값이 없으면 기본값, 정의되지 않은 값이면 경고 후 기본값 (대소문자 무시)
+	private <E extends Enum<E>> E _getOhtEnumProperty(final Properties properties, String key, E defaultValue) {
+		String value = properties.getProperty(key);
+
+		if (value == null || value.trim().isEmpty()) return defaultValue;
+
+		try {
+			return Enum.valueOf(defaultValue.getDeclaringClass(), value.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			logger.warn("... invalid oht ingest property, default value is used [{}: {} | default: {}]", key, value, defaultValue);
+
+			return defaultValue;
+		}
+	}
+
+	/*
+	 * 설정된 크기/정책으로 message ring buffer 구성 (최초 initialization 시 한 번만, UDP 수신 / consumer 시작 전)
+	 * - 이후 설정이 바뀐 경우 재시작 전까지 기존 ring 유지
+	 */
+	private void _buildOhtMessageRing() {
+		if (isOhtMessageRingBuilt) {
+			if (ohtMessageRing.getCapacity() < ohtIngestProperties.getQueueCapacity()
+					|| ohtMessageRing.getOverflowPolicy() != ohtIngestProperties.getQueueOverflowPolicy()) {
+				logger.warn("... oht message ring is not rebuilt, restart is required to apply [capacity: {} | overflow: {}]",
+						ohtIngestProperties.getQueueCapacity(),
+						ohtIngestProperties.getQueueOverflowPolicy()
+				);
+			}
+
+			return;
+		}
+
+		MsgRingBuffer<Msg> ring = new MsgRingBuffer<>(
+				"oht-message",
+				ohtIngestProperties.getQueueCapacity(),
+				ohtIngestProperties.getQueueOverflowPolicy()
+		);
+
+		this.queue = ring.addConsumer("worker", true);
+
+		if (ohtMessageJournal == null) {
+			this.recordQueue = ring.addConsumer("record", false);
+		} else {
+			// 기록은 journal 이 담당 ---> recordQueue 는 비어 있는 상태로 유지, batch 는 openOhtJournalCursor 로 읽음
+			this.recordQueue = new LinkedBlockingQueue<>();
+		}
+
+		this.ohtMessageRing = ring;
+		this.isOhtMessageRingBuilt = true;
+	}
+
+	/*
+	 * vehicle 별 partition 실행기 (OhtWorkerPartitionCount > 0 인 경우) 및 report conflation (OhtConflationEnabled=true 인 경우)
+	 */
+	private void _buildOhtWorkerExecutor() {
+		if (ohtIngestProperties.isWorkerPartitioned() && ohtWorkerExecutor == null) {
+			ohtWorkerExecutor = new VhlPartitionedExecutor(
+					"OhtMsgWorker",
+					ohtIngestProperties.getWorkerPartitionCount(),
+					ohtIngestProperties.getWorkerPartitionQueueSize()
+			);
+
+			logger.info("... oht message worker is partitioned by vehicle [partition: {} | queue size: {}]",
+					ohtWorkerExecutor.getPartitionCount(),
+					ohtWorkerExecutor.getQueueCapacity()
+			);
+		}
+
+		if (!ohtIngestProperties.isConflationEnabled()) return;
+
+		if (!ohtIngestProperties.isWorkerPartitioned()) {
+			logger.warn("... oht report conflation requires OhtWorkerPartitionCount > 0, it is ignored");
+
+			return;
+		}
+
+		if (ohtReportConflator == null) {
+			ohtReportConflator = new OhtReportConflator();
+			ohtReportConflator.registerMBean();
+
+			logger.info("... oht report conflation is enabled");
+		}
+	}
+
+	/*
+	 * queue micro-batch consumer (OhtWorkerBatchSize > 0 이고 OhtWorkerPartitionCount > 0 인 경우, dataSet 구성 후 시작)
+	 */
+	private void _startOhtBatchConsumer() {
+		if (ohtBatchConsumer != null) return;
+
+		if (!ohtIngestProperties.isWorkerBatched()) {
+			if (ohtIngestProperties.getWorkerBatchSize() > 0) {
+				logger.warn("... oht message batch consumer requires OhtWorkerPartitionCount > 0, it is ignored");
+			}
+
+			return;
+		}
+
+		ohtBatchConsumer = new OhtMsgBatchConsumer(
+				this.queue,
+				ohtIngestProperties.getWorkerBatchSize(),
+				ohtIngestProperties.getWorkerBatchMaxLatencyMillis(),
+				this.ohtWorkerExecutor,
+				this.ohtReportConflator
+		);
+		ohtBatchConsumer.start();
+	}
+
+	/*
+	 * 수신한 OHT message journal (OhtJournalEnabled=true 인 경우)
+	 */
+	private void _openOhtMessageJournal() {
+		if (!ohtIngestProperties.isJournalEnabled() || ohtMessageJournal != null) return;
+
+		try {
+			ohtMessageJournal = new OhtMessageJournal(
+					Paths.get(ohtIngestProperties.getJournalDirectory()),
+					ohtIngestProperties.getJournalSegmentMegaBytes() * 1024 * 1024,
+					ohtIngestProperties.getJournalRollMinutes() * 60_000L,
+					ohtIngestProperties.getJournalRetentionCount()
+			);
+
+			logger.info("... oht message journal is opened [dir: {} | segment: {}MB | roll: {}min | retention: {}]",
+					ohtIngestProperties.getJournalDirectory(),
+					ohtIngestProperties.getJournalSegmentMegaBytes(),
+					ohtIngestProperties.getJournalRollMinutes(),
+					ohtIngestProperties.getJournalRetentionCount()
+			);
+
+			// 종료 시 마지막 segment 기록
+			Runtime.getRuntime().addShutdownHook(new Thread(this::closeOhtMessageJournal, "OhtJournal-Shutdown"));
+		} catch (Exception e) {
+			logger.error("... Error opening oht message journal, recordQueue is used instead !!!", e);
+
+			ohtMessageJournal = null;
+		}
+	}
+
+	/*
+	 * journal writer 시작 (한 번만) ---> ring 의 journal consumer 를 읽어 기록 (수신 쓰레드는 journal 을 기다리지 않음)
+	 * - 기록이 빠지지 않도록 gating consumer (journal 종료 시 ring 에서 제거)
+	 */
+	private void _startOhtJournalWriter() {
+		if (ohtMessageJournal == null || ohtMessageJournal.isWriterStarted()) return;
+
+		ohtJournalConsumer = ohtMessageRing.addConsumer("journal", true);
+		ohtMessageJournal.startWriter(ohtJournalConsumer);
+	}
+
 	private void _loadExtraXmlData() {
 		// extra xml data
 		// # logpresso query
@@ -2201,6 +2503,18 @@ public class DataService {
 			);
 		}
 
+		// rail address 조회 index (OHT 메세지 처리 시 문자열 ID 생성 없이 RailEdge / RailNode 조회)
+		dataSet.buildRailTopologyIndex(fabId);
+
+		if (railRouteCache != null) {
+			railRouteCache.clear();
+		}
+
+		// 경로 비용 / ETA 조회용 contraction hierarchy (선택)
+		if (ohtIngestProperties.isRouteHierarchyEnabled()) {
+			this._buildRailContractionHierarchy(dataSet, fabId);
+		}
+
 // ---------------------------------------------------------------------------------------------------------------------
 		// building a log
 		List<String> logs = new ArrayList<>();
@@ -2328,6 +2642,28 @@ public class DataService {
 		}
 	}
 
+	/**
+	 * fab 의 (fab, mcp) 별 RailTopologyIndex 에 contraction hierarchy 생성
+	 * - 이후 속도 변경은 RailContractionHierarchy.getMetric 에서 customize 로 반영 (다시 축약하지 않음)
+	 */
+	private void _buildRailContractionHierarchy(DataSet dataSet, String fabId) {
+		ConcurrentHashMap<String, RailTopologyIndex> indexMap = dataSet.getRailTopologyIndexMap().get(fabId);
+
+		if (indexMap == null) return;
+
+		for (RailTopologyIndex topologyIndex : indexMap.values()) {
+			long timer = System.currentTimeMillis();
+
+			try {
+				RailContractionHierarchy hierarchy = topologyIndex.buildContractionHierarchy(ohtIngestProperties.getRouteHierarchyCustomizeMillis());
+
+				logger.info("... {} has been built [fab: {} | mcp: {}] [elapsed time: {}ms]", hierarchy, fabId, topologyIndex.getMcpName(), System.currentTimeMillis() - timer);
+			} catch (Exception e) {
+				logger.error("... failed to build rail contraction hierarchy [fab: {} | mcp: {}]", fabId, topologyIndex.getMcpName(), e);
+			}
+		}
+	}
+
 	public void newMapLoad () {
 		long totalTimer = System.currentTimeMillis();
 		DataSet tmpDataSet = null;
@@ -2431,6 +2767,11 @@ public class DataService {
 		dataQ.add(tmpDataSet);
 		dataQ.poll();
 
+		// 이전 layout 의 추정 경로 제거
+		if (railRouteCache != null) {
+			railRouteCache.clear();
+		}
+
 		isBlocked.set(false);	// dataSet 잠금 해제
 
 		ThreadPool.getInstance().setPaused(false);
@@ -2843,6 +3184,124 @@ public class DataService {
 		this.ohtUdpListenerMap = ohtUdpListenerMap;
 	}
 
+	/**
+	 * UDP listener 별 수신 지표 (key: ohtUdpListenerMap 의 key)
+	 */
+	public Map<String, OhtIngestMetrics> getOhtIngestMetrics() {
+		Map<String, OhtIngestMetrics> metricsMap = new TreeMap<>();
+
+		for (Map.Entry<String, OhtUdpListener> entry : ohtUdpListenerMap.entrySet()) {
+			metricsMap.put(entry.getKey(), entry.getValue().getMetrics());
+		}
+
+		return metricsMap;
+	}
+
+	public OhtIngestProperties getOhtIngestProperties() {
+		return ohtIngestProperties;
+	}
+
+	public MsgRingBuffer<Msg> getOhtMessageRing() {
+		return ohtMessageRing;
+	}
+
+	// 수신한 OHT message 를 ring 에 한 번만 기록 ---> queue, recordQueue 가 각자의 sequence 로 읽음
+	public boolean publishOhtMessage(Msg msg) {
+		return this.ohtMessageRing.publish(msg);
+	}
+
+	/*
+	 * journal 종료 (writer 가 읽은 message 와 남은 segment 를 디스크에 기록 후 close, 이후 수신한 message 는 기록하지 않음)
+	 */
+	public void closeOhtMessageJournal() {
+		OhtMessageJournal journal = this.ohtMessageJournal;
+
+		if (journal != null) {
+			journal.close();
+
+			// 종료된 writer 가 ring 을 막지 않도록 제거
+			if (ohtJournalConsumer != null) {
+				ohtMessageRing.removeConsumer(ohtJournalConsumer);
+			}
+
+			logger.info("... oht message journal is closed [dir: {} | offset: {}]", journal.getDirectory(), journal.getCommittedOffset());
+		}
+	}
+
+	public OhtMessageJournal getOhtMessageJournal() {
+		return ohtMessageJournal;
+	}
+
+	/**
+	 * queue 에서 꺼낸 message 의 worker 를 vehicle 별 partition 쓰레드에 전달
+	 * @return partition 실행기를 사용하지 않는 경우 false ---> 호출 측에서 기존 방식으로 실행
+	 */
+	public boolean executeOhtWorker(OhtMsgWorkerRunnable worker) {
+		if (this.ohtWorkerExecutor == null) return false;
+
+		if (this.ohtReportConflator != null) {
+			this.ohtReportConflator.offer(worker);
+		}
+
+		try {
+			this.ohtWorkerExecutor.execute(worker);
+		} catch (RejectedExecutionException e) {
+			if (this.ohtReportConflator != null) {
+				this.ohtReportConflator.cancel(worker);
+			}
+
+			throw e;
+		}
+
+		return true;
+	}
+
+	// conflation 미사용 시 null
+	public OhtReportConflator getOhtReportConflator() {
+		return ohtReportConflator;
+	}
+
+	// 단계별 소요 시간 미사용 시 null
+	public OhtStageLatencyMetrics getOhtStageLatencyMetrics() {
+		return ohtStageLatencyMetrics;
+	}
+
+	// 종단 간 지연 미사용 시 null
+	public OhtEndToEndLatencyMetrics getOhtEndToEndLatencyMetrics() {
+		return ohtEndToEndLatencyMetrics;
+	}
+
+	// 추정 경로 cache 미사용 시 null
+	public RailRouteCache getRailRouteCache() {
+		return railRouteCache;
+	}
+
+	/**
+	 * true 인 경우 queue 는 OhtMsgBatchConsumer 가 읽음 ---> 기존 queue consumer 는 실행하지 않아야 함
+	 */
+	public boolean isOhtBatchConsumerRunning() {
+		return ohtBatchConsumer != null && ohtBatchConsumer.isRunning();
+	}
+
+	// batch 미사용 시 null
+	public OhtMsgBatchConsumer getOhtBatchConsumer() {
+		return ohtBatchConsumer;
+	}
+
+	// partition 별 queue 깊이 등 (미사용 시 null)
+	public VhlPartitionedExecutor getOhtWorkerExecutor() {
+		return ohtWorkerExecutor;
+	}
+
+	/**
+	 * journal 읽기 cursor
+	 * @param offset 읽기 시작 offset (batch 가 마지막으로 처리한 cursor.getOffset())
+	 * @return journal 미사용 시 null
+	 */
+	public OhtMessageJournal.Cursor openOhtJournalCursor(long offset) {
+		return this.ohtMessageJournal == null ? null : this.ohtMessageJournal.openCursor(offset);
+	}
+
 	public static int getFabBits(String fabId) {
 		return fabBitsMap.get(fabId);
 	}
@@ -2915,6 +3374,24 @@ public class DataService {
 		this.addTibrvMessageQueue(tibrvSendMsg);
 	}
 
+	/**
+	 * OHT report 처리 중 생성한 message ---> 종단 간 지연 측정 사용 시 수신 / 처리 시작 시각을 함께 전달
+	 * - PROCESS_TO_ENQUEUE 는 호출 측(OhtMsgWorkerRunnable) 에서 report 당 한 번 기록
+	 * @param receivedMilli OhtUdpListener 수신 시각
+	 * @param processStartNanos worker 처리 시작 시각 (OhtEndToEndLatencyMetrics.onProcessStarted)
+	 */
+	public <T> void addTibrvMessageQueue(String key, String type, Map<String, T> data, String fabId, String mcpName, long receivedMilli, long processStartNanos) {
+		if (this.ohtEndToEndLatencyMetrics == null) {
+			this.addTibrvMessageQueue(key, type, data);
+
+			return;
+		}
+
+		TracedTibrvSendMsg tibrvSendMsg = new TracedTibrvSendMsg(key, type, new HashMap<>(data), fabId, mcpName, receivedMilli, processStartNanos);
+
+		this.addTibrvMessageQueue(tibrvSendMsg);
+	}
+
 	public <T> void addTibrvMessageQueue(String key, String type, List<Map<String, T>> list) {
 		List<TibrvSendMsg> tibrvSendMsgList = new ArrayList<>();
 
@@ -0,0 +1,478 @@
+/**
+ * 고정 크기 ring buffer (Disruptor 방식)
+ * - slot 배열을 미리 할당하고, producer 는 cursor 를 증가시켜 slot 을 확보한 뒤 기록
+ * - consumer 는 각자의 sequence 를 가지며, 같은 entry 를 consumer 마다 독립적으로 읽음
+ *   (예: 실제 처리용 `worker`, 기록용 `record`) ---> 기존처럼 queue 두 개에 각각 넣을 필요가 없음
+ * - 한 consumer 를 여러 쓰레드가 나누어 읽을 수 있음 (sequence 를 CAS 로 확보)
+ * - 수신 shard 가 여러 개인 경우를 위해 producer 의 slot 확보도 CAS 로 처리
+ * - gating consumer 만 producer 를 막으며, non-gating consumer(예: 주기적으로 비우는 기록용) 는 뒤처지면 덮어써짐
+ * - 마지막 consumer 가 읽은 slot 은 참조를 해제 ---> 처리가 끝난 entry 가 capacity 만큼 남아 있지 않음
+ *   (non-gating consumer 가 읽기 전인 slot 은 읽거나 덮어써질 때까지 유지)
+ * - slot 기록은 seqlock 방식: sequence 를 WRITING 으로 바꾼 뒤 entry 기록, 마지막에 sequence 기록
+ *   ---> consumer 는 entry 앞뒤로 읽은 sequence 가 같을 때만 사용 (덮어쓰는 중인 entry 를 이전 sequence 로 읽지 않음)
+ * - 비어 있는 경우 consumer 는 잠시 spin 후 Condition 으로 대기, publish 시 대기 중인 consumer 가 있으면 깨움
+ *
+ * 가득 찬 경우의 정책
+ * - BLOCK       : 가장 느린 consumer 가 slot 을 비울 때까지 producer 대기
+ * - DROP_OLDEST : 오래된 entry 를 덮어씀 ---> 읽지 못한 consumer 는 건너뛴 수만큼 laggedCount 증가
+ * - DROP_NEWEST : 새 entry 를 버림 ---> droppedCount 증가
+ */
+public class MsgRingBuffer<T> {
+    private static final long PARK_NANOS = 50_000L;
+    private static final int SPIN_TRIES = 100;
+    private static final long WRITING = -1L;    // slot 기록 중 (초기값과 같음)
+
+    private final String name;
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> entries;
+    private final AtomicLongArray publishedSequences;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final OVERFLOW_POLICY overflowPolicy;
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+
+    // 비어 있는 경우 consumer 대기 ---> waitingCount > 0 인 경우에만 publish 에서 lock 을 잡고 깨움
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition notEmpty = waitLock.newCondition();
+    private final AtomicInteger waitingCount = new AtomicInteger(0);
+
+    private final AtomicLong publishedCount = new AtomicLong(0);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    private final AtomicLong blockedCount = new AtomicLong(0);
+
+    public enum OVERFLOW_POLICY {BLOCK, DROP_OLDEST, DROP_NEWEST}
+
+    /**
+     * @param name 로그 표시용 명칭
+     * @param requestedCapacity 요청 크기 (2의 거듭제곱으로 올림)
+     * @param overflowPolicy 가득 찬 경우의 정책
+     */
+    public MsgRingBuffer(String name, int requestedCapacity, OVERFLOW_POLICY overflowPolicy) {
+        int size = 1;
+
+        while (size < Math.max(2, requestedCapacity)) {
+            size <<= 1;
+        }
+
+        this.name               = name;
+        this.capacity           = size;
+        this.mask               = size - 1;
+        this.entries            = new AtomicReferenceArray<>(size);
+        this.publishedSequences = new AtomicLongArray(size);
+        this.overflowPolicy     = overflowPolicy == null ? OVERFLOW_POLICY.BLOCK : overflowPolicy;
+
+        for (int i = 0; i < size; i++) {
+            publishedSequences.set(i, WRITING);
+        }
+    }
+
+    /**
+     * consumer 등록 ---> 등록 시점 이후에 기록되는 entry 부터 읽음
+     * @param consumerName 로그 표시용 명칭
+     * @param isGating true: 가득 찬 경우 이 consumer 를 기준으로 정책 적용, false: 뒤처지면 덮어써지고 laggedCount 증가
+     */
+    public Consumer addConsumer(String consumerName, boolean isGating) {
+        Consumer consumer = new Consumer(consumerName, isGating, cursor.get());
+
+        consumers.add(consumer);
+
+        return consumer;
+    }
+
+    public void removeConsumer(Consumer consumer) {
+        consumers.remove(consumer);
+    }
+
+    /**
+     * entry 기록
+     * @return 기록 여부 (DROP_NEWEST 정책으로 버려진 경우 false)
+     */
+    public boolean publish(T item) {
+        long next;
+        int tries = 0;
+        boolean isBlocked = false;
+
+        while (true) {
+            long current = cursor.get();
+            next = current + 1;
+
+            if (overflowPolicy != OVERFLOW_POLICY.DROP_OLDEST && next - capacity > this._getMinimumConsumerSequence(current)) {
+                if (overflowPolicy == OVERFLOW_POLICY.DROP_NEWEST) {
+                    droppedCount.incrementAndGet();
+
+                    return false;
+                }
+
+                // BLOCK
+                if (!isBlocked) {
+                    isBlocked = true;
+                    blockedCount.incrementAndGet();
+                }
+
+                this._idle(tries++);
+
+                continue;
+            }
+
+            if (cursor.compareAndSet(current, next)) {
+                break;
+            }
+        }
+
+        int index = (int) next & mask;
+
+        publishedSequences.set(index, WRITING);
+        entries.set(index, item);
+        publishedSequences.set(index, next);
+        publishedCount.incrementAndGet();
+
+        // consumer 는 waitingCount 증가 후 poll, producer 는 sequence 기록 후 waitingCount 확인 ---> 둘 중 하나는 반드시 상대를 봄
+        if (waitingCount.get() > 0) {
+            waitLock.lock();
+
+            try {
+                notEmpty.signalAll();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+
+        return true;
+    }
+
+    private long _getMinimumConsumerSequence(long defaultSequence) {
+        long minimum = defaultSequence;
+
+        for (Consumer consumer : consumers) {
+            if (consumer.isGating) {
+                minimum = Math.min(minimum, consumer.sequence.get());
+            }
+        }
+
+        return minimum;
+    }
+
+    /**
+     * 모든 consumer 가 sequence 를 읽은 경우 slot 의 참조 해제
+     * - consumer 는 자신의 sequence 를 올린 뒤 확인하므로, 마지막으로 읽은 consumer 는 반드시 해제
+     * - slot 의 sequence 가 그대로인 경우에만 해제 (producer 가 덮어쓰는 중이면 sequence 가 WRITING 또는 새 값)
+     * - 확인과 해제 사이에 producer 가 같은 참조를 다시 기록한 경우 되돌림
+     */
+    private void _releaseIfConsumed(int index, long sequence, T item) {
+        for (Consumer consumer : consumers) {
+            if (consumer.sequence.get() < sequence) return;
+        }
+
+        if (publishedSequences.get(index) != sequence) return;
+
+        if (entries.compareAndSet(index, item, null) && publishedSequences.get(index) != sequence) {
+            entries.compareAndSet(index, null, item);
+        }
+    }
+
+    private void _idle(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES * 2) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public OVERFLOW_POLICY getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getBlockedCount() {
+        return blockedCount.get();
+    }
+
+    public long getLaggedCount() {
+        long lagged = 0;
+
+        for (Consumer consumer : consumers) {
+            lagged += consumer.getLaggedCount();
+        }
+
+        return lagged;
+    }
+
+    public List<Consumer> getConsumers() {
+        return consumers;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append(String.format("[%s] capacity: %d | policy: %s | published: %d | dropped: %d | blocked: %d",
+                name, capacity, overflowPolicy, publishedCount.get(), droppedCount.get(), blockedCount.get()));
+
+        for (Consumer consumer : consumers) {
+            builder.append(String.format(" | %s(lag: %d, lagged: %d)", consumer.getName(), consumer.size(), consumer.getLaggedCount()));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * ring buffer 의 consumer 별 sequence
+     * - 기존 BlockingQueue 를 사용하던 코드(take, poll, drainTo, size, clear ...) 를 그대로 쓸 수 있도록 BlockingQueue 형태로 제공
+     * - add/offer/put 은 ring buffer 에 기록하는 것과 같음 (모든 consumer 에 보임)
+     */
+    public class Consumer extends AbstractQueue<T> implements BlockingQueue<T> {
+        private final String consumerName;
+        private final boolean isGating;
+        private final AtomicLong sequence;    // 마지막으로 읽은 sequence
+        private final AtomicLong laggedCount = new AtomicLong(0);
+
+        private Consumer(String consumerName, boolean isGating, long initialSequence) {
+            this.consumerName = consumerName;
+            this.isGating     = isGating;
+            this.sequence     = new AtomicLong(initialSequence);
+        }
+
+        public String getName() {
+            return consumerName;
+        }
+
+        public boolean isGating() {
+            return isGating;
+        }
+
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        public long getLaggedCount() {
+            return laggedCount.get();
+        }
+
+        @Override
+        public T poll() {
+            while (true) {
+                long current = sequence.get();
+                long next = current + 1;
+                long published = cursor.get();
+
+                if (next > published) {
+                    return null;
+                }
+
+                if (published - next >= capacity) {
+                    // 덮어써진 구간은 건너뜀 (DROP_OLDEST 또는 non-gating consumer)
+                    long oldest = published - capacity + 1;
+
+                    if (sequence.compareAndSet(current, oldest - 1)) {
+                        laggedCount.addAndGet(oldest - next);
+                    }
+
+                    continue;
+                }
+
+                int index = (int) next & mask;
+                long slotSequence = publishedSequences.get(index);
+
+                if (slotSequence < next) {
+                    // slot 은 확보되었으나 아직 기록 중 (WRITING 또는 이전 sequence)
+                    return null;
+                }
+
+                T item = entries.get(index);
+
+                if (slotSequence != next || publishedSequences.get(index) != next) {
+                    // 읽는 중에 덮어써짐
+                    continue;
+                }
+
+                if (item == null) {
+                    // 다른 쓰레드가 이미 읽고 해제 ---> sequence 를 다시 읽음 (null 을 건너뛰지 않음)
+                    continue;
+                }
+
+                if (sequence.compareAndSet(current, next)) {
+                    _releaseIfConsumed(index, next, item);
+
+                    return item;
+                }
+            }
+        }
+
+        @Override
+        public T peek() {
+            long next = sequence.get() + 1;
+
+            if (next > cursor.get()) {
+                return null;
+            }
+
+            int index = (int) next & mask;
+
+            return publishedSequences.get(index) == next ? entries.get(index) : null;
+        }
+
+        @Override
+        public T take() throws InterruptedException {
+            T item = this._spinPoll();
+
+            if (item != null) {
+                return item;
+            }
+
+            waitLock.lockInterruptibly();
+            waitingCount.incrementAndGet();
+
+            try {
+                while ((item = poll()) == null) {
+                    notEmpty.await();
+                }
+            } finally {
+                waitingCount.decrementAndGet();
+                waitLock.unlock();
+            }
+
+            return item;
+        }
+
+        @Override
+        public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+            long remainingNanos = unit.toNanos(timeout);
+            T item = this._spinPoll();
+
+            if (item != null || remainingNanos <= 0) {
+                return item;
+            }
+
+            waitLock.lockInterruptibly();
+            waitingCount.incrementAndGet();
+
+            try {
+                while ((item = poll()) == null) {
+                    if (remainingNanos <= 0) {
+                        return null;
+                    }
+
+                    remainingNanos = notEmpty.awaitNanos(remainingNanos);
+                }
+            } finally {
+                waitingCount.decrementAndGet();
+                waitLock.unlock();
+            }
+
+            return item;
+        }
+
+        // 곧 기록될 entry 를 위해 잠시 spin / yield 후 poll (대기 전 단계)
+        private T _spinPoll() throws InterruptedException {
+            T item;
+
+            for (int tries = 0; tries < SPIN_TRIES * 2; tries++) {
+                if ((item = poll()) != null) {
+                    return item;
+                }
+
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                _idle(tries);
+            }
+
+            return null;
+        }
+
+        @Override
+        public int drainTo(Collection<? super T> collection) {
+            return drainTo(collection, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int drainTo(Collection<? super T> collection, int maxElements) {
+            int count = 0;
+            T item;
+
+            while (count < maxElements && (item = poll()) != null) {
+                collection.add(item);
+                count++;
+            }
+
+            return count;
+        }
+
+        @Override
+        public boolean offer(T item) {
+            return publish(item);
+        }
+
+        @Override
+        public void put(T item) {
+            publish(item);
+        }
+
+        @Override
+        public boolean offer(T item, long timeout, TimeUnit unit) {
+            return publish(item);
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return capacity - size();
+        }
+
+        @Override
+        public int size() {
+            long lag = cursor.get() - sequence.get();
+
+            return (int) Math.max(0, Math.min(lag, capacity));
+        }
+
+        @Override
+        public void clear() {
+            sequence.set(cursor.get());
+        }
+
+        /**
+         * 읽지 않은 entry 의 snapshot (sequence 는 변경하지 않음)
+         */
+        @Override
+        public Iterator<T> iterator() {
+            List<T> snapshot = new ArrayList<>();
+            long published = cursor.get();
+            long from = Math.max(sequence.get() + 1, published - capacity + 1);
+
+            for (long s = from; s <= published; s++) {
+                int index = (int) s & mask;
+
+                T item = entries.get(index);
+
+                // 읽는 중에 참조가 해제된 slot 은 제외
+                if (item != null && publishedSequences.get(index) == s) {
+                    snapshot.add(item);
+                }
+            }
+
+            return snapshot.iterator();
+        }
+    }
+}
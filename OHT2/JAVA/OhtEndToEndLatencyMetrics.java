@@ -0,0 +1,246 @@
+/**
+ * OHT 종단 간 지연 (UDP 수신 ---> worker 처리 ---> tibrvMessageQueue ---> TibrvService 송신)
+ * - RECEIVE_TO_PROCESS : Msg 수신 시각(ms) 부터 worker 의 report 처리 시작까지 (모든 VHL_STATE_REPORT)
+ * - PROCESS_TO_ENQUEUE : report 처리 시작부터 HID OFF / VHL OFF layout message 를 queue 에 넣을 때까지 (report 당 한 번, tib/rv key 별로 기록하지 않음)
+ * - ENQUEUE_TO_SEND    : queue 에 넣은 때부터 TibrvService.sendMessage 완료까지
+ * - RECEIVE_TO_SEND    : 수신 시각부터 송신 완료까지 ---> SLO 초과 시 건수 증가 및 경고 log (초당 1회 이하)
+ * - 수신 시각은 ms 단위 wall clock 이므로 수신 구간은 ms 정밀도, 나머지는 nano
+ * - histogram 은 OhtStageLatencyMetrics.Histogram 을 사용 (JMX 조회 / 초기화)
+ * - OhtEndToEndLatencyEnabled=true 인 경우에만 생성
+ */
+public class OhtEndToEndLatencyMetrics implements OhtEndToEndLatencyMetricsMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(OhtEndToEndLatencyMetrics.class);
+    private static final long SLO_LOG_INTERVAL_MILLIS = 1000L;
+
+    public enum SEGMENT {
+        RECEIVE_TO_PROCESS,
+        PROCESS_TO_ENQUEUE,
+        ENQUEUE_TO_SEND,
+        RECEIVE_TO_SEND
+    }
+
+    private final OhtStageLatencyMetrics.Histogram[] histograms = new OhtStageLatencyMetrics.Histogram[SEGMENT.values().length];
+    private final LongAdder sloViolationCount = new LongAdder();
+    private final AtomicLong lastSloLogMillis = new AtomicLong(0L);
+    private final LongAdder suppressedSloLogCount = new LongAdder();
+    private volatile long sloMillis;
+    private volatile long resetTimeMillis = System.currentTimeMillis();
+
+    /**
+     * @param sloMillis 수신 ---> 송신 목표 시간 (0 이하: 확인하지 않음)
+     */
+    public OhtEndToEndLatencyMetrics(long sloMillis) {
+        this.sloMillis = sloMillis;
+
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new OhtStageLatencyMetrics.Histogram();
+        }
+    }
+
+    /**
+     * worker 가 report 처리를 시작할 때 호출
+     * @return 처리 시작 시각 (nano, 이후 PROCESS_TO_ENQUEUE 계산에 사용)
+     */
+    public long onProcessStarted(long receivedMilli) {
+        long now = System.nanoTime();
+
+        histograms[SEGMENT.RECEIVE_TO_PROCESS.ordinal()].record(_millisToNanos(System.currentTimeMillis() - receivedMilli));
+
+        return now;
+    }
+
+    /**
+     * report 의 layout message 를 tibrvMessageQueue 에 넣기 직전 호출 (report 당 한 번)
+     * @param processStartNanos onProcessStarted 의 반환 값
+     */
+    public void onEnqueued(long processStartNanos) {
+        histograms[SEGMENT.PROCESS_TO_ENQUEUE.ordinal()].record(System.nanoTime() - processStartNanos);
+    }
+
+    /**
+     * TibrvService 송신 완료 후 호출 (송신 쓰레드)
+     */
+    public void onSent(TracedTibrvSendMsg msg) {
+        long receiveToSendMillis = System.currentTimeMillis() - msg.getReceivedMilli();
+
+        histograms[SEGMENT.ENQUEUE_TO_SEND.ordinal()].record(System.nanoTime() - msg.getEnqueuedNanos());
+        histograms[SEGMENT.RECEIVE_TO_SEND.ordinal()].record(_millisToNanos(receiveToSendMillis));
+
+        long slo = this.sloMillis;
+
+        if (slo > 0 && receiveToSendMillis > slo) {
+            sloViolationCount.increment();
+
+            this._logSloViolation(msg, receiveToSendMillis, slo);
+        }
+    }
+
+    // 초과가 몰리는 경우 log 가 쌓이지 않도록 초당 1회만 기록하고 나머지는 건수만 표시
+    private void _logSloViolation(TracedTibrvSendMsg msg, long receiveToSendMillis, long slo) {
+        long now = System.currentTimeMillis();
+        long last = lastSloLogMillis.get();
+
+        if (now - last < SLO_LOG_INTERVAL_MILLIS || !lastSloLogMillis.compareAndSet(last, now)) {
+            suppressedSloLogCount.increment();
+
+            return;
+        }
+
+        logger.warn("... oht message exceeded the end-to-end slo [fab: {} | mcp: {} | type: {} | key: {}] [receive to send: {}ms | slo: {}ms | process to enqueue: {}us | enqueue to send: {}us | suppressed: {}]",
+                msg.getFabId(),
+                msg.getMcpName(),
+                msg.getType(),
+                msg.getKey(),
+                receiveToSendMillis,
+                slo,
+                (msg.getEnqueuedNanos() - msg.getProcessStartNanos()) / 1_000L,
+                (System.nanoTime() - msg.getEnqueuedNanos()) / 1_000L,
+                suppressedSloLogCount.sumThenReset()
+        );
+    }
+
+    private static long _millisToNanos(long millis) {
+        return Math.max(0L, millis) * 1_000_000L;
+    }
+
+    public OhtStageLatencyMetrics.Histogram getHistogram(SEGMENT segment) {
+        return histograms[segment.ordinal()];
+    }
+
+    @Override
+    public long getSloMillis() {
+        return sloMillis;
+    }
+
+    @Override
+    public void setSloMillis(long sloMillis) {
+        this.sloMillis = sloMillis;
+    }
+
+    @Override
+    public long getSloViolationCount() {
+        return sloViolationCount.sum();
+    }
+
+    @Override
+    public long getResetTimeMillis() {
+        return resetTimeMillis;
+    }
+
+    @Override
+    public void reset() {
+        for (OhtStageLatencyMetrics.Histogram histogram : histograms) {
+            histogram.reset();
+        }
+
+        sloViolationCount.reset();
+        suppressedSloLogCount.reset();
+        resetTimeMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public Map<String, Long> getSegmentCounts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+
+        for (SEGMENT segment : SEGMENT.values()) {
+            result.put(segment.name(), histograms[segment.ordinal()].getCount());
+        }
+
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getSegmentMeanMillis() {
+        Map<String, Double> result = new LinkedHashMap<>();
+
+        for (SEGMENT segment : SEGMENT.values()) {
+            result.put(segment.name(), histograms[segment.ordinal()].getMeanNanos() / 1e6);
+        }
+
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getSegmentP50Millis() {
+        return _getPercentileMillis(0.5);
+    }
+
+    @Override
+    public Map<String, Double> getSegmentP99Millis() {
+        return _getPercentileMillis(0.99);
+    }
+
+    @Override
+    public Map<String, Double> getSegmentP999Millis() {
+        return _getPercentileMillis(0.999);
+    }
+
+    @Override
+    public Map<String, Double> getSegmentMaxMillis() {
+        Map<String, Double> result = new LinkedHashMap<>();
+
+        for (SEGMENT segment : SEGMENT.values()) {
+            result.put(segment.name(), histograms[segment.ordinal()].getMaxNanos() / 1e6);
+        }
+
+        return result;
+    }
+
+    private Map<String, Double> _getPercentileMillis(double quantile) {
+        Map<String, Double> result = new LinkedHashMap<>();
+
+        for (SEGMENT segment : SEGMENT.values()) {
+            result.put(segment.name(), histograms[segment.ordinal()].getValueAtQuantile(quantile) / 1e6);
+        }
+
+        return result;
+    }
+
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, _getObjectName());
+        } catch (InstanceAlreadyExistsException e) {
+            logger.warn("... oht end-to-end latency metrics is already registered");
+        } catch (Exception e) {
+            logger.error("... failed to register oht end-to-end latency metrics", e);
+        }
+    }
+
+    public void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = _getObjectName();
+
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (Exception e) {
+            logger.error("... failed to unregister oht end-to-end latency metrics", e);
+        }
+    }
+
+    private ObjectName _getObjectName() throws MalformedObjectNameException {
+        return new ObjectName("OHT:type=OhtEndToEndLatencyMetrics");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[end-to-end latency]");
+
+        for (SEGMENT segment : SEGMENT.values()) {
+            OhtStageLatencyMetrics.Histogram histogram = histograms[segment.ordinal()];
+
+            builder.append(String.format(" | %s(count: %d, p50: %.3fms, p99: %.3fms, max: %.3fms)",
+                    segment.name(),
+                    histogram.getCount(),
+                    histogram.getValueAtQuantile(0.5) / 1e6,
+                    histogram.getValueAtQuantile(0.99) / 1e6,
+                    histogram.getMaxNanos() / 1e6
+            ));
+        }
+
+        builder.append(String.format(" | slo: %dms | violation: %d", sloMillis, getSloViolationCount()));
+
+        return builder.toString();
+    }
+}
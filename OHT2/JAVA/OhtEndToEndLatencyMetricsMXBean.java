@@ -0,0 +1,27 @@
+/**
+ * OHT 종단 간 지연 JMX 조회용 (ObjectName: OHT:type=OhtEndToEndLatencyMetrics)
+ * - key: SEGMENT 이름
+ */
+public interface OhtEndToEndLatencyMetricsMXBean {
+    Map<String, Long> getSegmentCounts();
+
+    Map<String, Double> getSegmentMeanMillis();
+
+    Map<String, Double> getSegmentP50Millis();
+
+    Map<String, Double> getSegmentP99Millis();
+
+    Map<String, Double> getSegmentP999Millis();
+
+    Map<String, Double> getSegmentMaxMillis();
+
+    long getSloMillis();
+
+    void setSloMillis(long sloMillis);
+
+    long getSloViolationCount();
+
+    long getResetTimeMillis();
+
+    void reset();
+}
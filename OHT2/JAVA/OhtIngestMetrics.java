@@ -0,0 +1,343 @@
+/**
+ * OHT UDP 수신 지표 (listener 별, MCP 별)
+ * - 수신 쓰레드에서는 LongAdder / AtomicLongArray 증가만 수행하고, 초당 수치는 snapshot 시점에 계산
+ * - 수신 간격(inter-arrival) histogram: bucket i = [2^i, 2^(i+1)) us, 마지막 bucket 은 그 이상
+ * - socket 수신 buffer drop 은 Linux /proc/net/udp 의 drops 값(해당 port 합계)으로 추정
+ * - JMX(OhtIngestMetricsMXBean) 또는 DataService.getOhtIngestMetrics() 로 조회
+ */
+public class OhtIngestMetrics implements OhtIngestMetricsMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(OhtIngestMetrics.class);
+    public static final int HISTOGRAM_BUCKET_COUNT = 25;    // 1us ~ 16s
+    private static final String[] PROC_NET_UDP_PATHS = {"/proc/net/udp", "/proc/net/udp6"};
+
+    private volatile int port;
+    private final Counter total = new Counter();
+    private final LongAdder unknownSourceCount = new LongAdder();
+    private final ConcurrentMap<String, Counter> mcpCounterMap = new ConcurrentHashMap<>();
+    private final long createdNanos = System.nanoTime();
+
+    // 초당 수치 계산용 (snapshot 호출 간)
+    private long lastSnapshotNanos = createdNanos;
+    private long lastSnapshotPacketCount = 0L;
+    private long lastSnapshotByteCount = 0L;
+    private double packetsPerSecond = 0.0;
+    private double bytesPerSecond = 0.0;
+
+    public OhtIngestMetrics(int port) {
+        this.port = port;
+    }
+
+    /**
+     * 수신 1건 기록 (수신 쓰레드에서 호출)
+     * @param bytes 수신한 datagram 길이 (decode / trim 전)
+     * @param isMalformed message 형식 오류 여부
+     */
+    public void onReceived(String fabId, String mcpName, int bytes, boolean isMalformed, long nowNanos) {
+        total.onReceived(bytes, isMalformed, nowNanos);
+
+        Counter counter = mcpCounterMap.get(mcpName);
+
+        if (counter == null) {
+            counter = mcpCounterMap.computeIfAbsent(mcpName, k -> new Counter(fabId));
+        }
+
+        counter.onReceived(bytes, isMalformed, nowNanos);
+    }
+
+    public void onUnknownSource() {
+        unknownSourceCount.increment();
+    }
+
+    @Override
+    public long getUnknownSourceCount() {
+        return unknownSourceCount.sum();
+    }
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public long getPacketCount() {
+        return total.getPacketCount();
+    }
+
+    @Override
+    public long getByteCount() {
+        return total.getByteCount();
+    }
+
+    @Override
+    public long getMalformedCount() {
+        return total.getMalformedCount();
+    }
+
+    @Override
+    public long[] getInterArrivalHistogram() {
+        return total.getInterArrivalHistogram();
+    }
+
+    @Override
+    public Map<String, Long> getMcpPacketCounts() {
+        Map<String, Long> result = new TreeMap<>();
+
+        mcpCounterMap.forEach((mcpName, counter) -> result.put(mcpName, counter.getPacketCount()));
+
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getMcpPacketsPerSecond() {
+        Map<String, Double> result = new TreeMap<>();
+
+        mcpCounterMap.forEach((mcpName, counter) -> result.put(mcpName, counter.getPacketsPerSecond()));
+
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getMcpByteCounts() {
+        Map<String, Long> result = new TreeMap<>();
+
+        mcpCounterMap.forEach((mcpName, counter) -> result.put(mcpName, counter.getByteCount()));
+
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getMcpBytesPerSecond() {
+        Map<String, Double> result = new TreeMap<>();
+
+        mcpCounterMap.forEach((mcpName, counter) -> result.put(mcpName, counter.getBytesPerSecond()));
+
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getMcpMalformedCounts() {
+        Map<String, Long> result = new TreeMap<>();
+
+        mcpCounterMap.forEach((mcpName, counter) -> result.put(mcpName, counter.getMalformedCount()));
+
+        return result;
+    }
+
+    // port 전환 시 JMX ObjectName 도 변경되므로 unregisterMBean 후 호출
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public Counter getTotal() {
+        return total;
+    }
+
+    public Map<String, Counter> getMcpCounterMap() {
+        return mcpCounterMap;
+    }
+
+    /**
+     * 직전 호출 이후의 초당 packet / byte 수 갱신 (JMX 조회 / 모니터링 쓰레드에서 호출)
+     */
+    public synchronized void updateRates() {
+        long now = System.nanoTime();
+        long elapsed = now - lastSnapshotNanos;
+
+        if (elapsed < 1_000_000L) return;
+
+        long packetCount = total.getPacketCount();
+        long byteCount = total.getByteCount();
+
+        packetsPerSecond = (packetCount - lastSnapshotPacketCount) * 1e9 / elapsed;
+        bytesPerSecond = (byteCount - lastSnapshotByteCount) * 1e9 / elapsed;
+
+        lastSnapshotNanos = now;
+        lastSnapshotPacketCount = packetCount;
+        lastSnapshotByteCount = byteCount;
+
+        for (Counter counter : mcpCounterMap.values()) {
+            counter.updateRates(now);
+        }
+    }
+
+    @Override
+    public synchronized double getPacketsPerSecond() {
+        return packetsPerSecond;
+    }
+
+    @Override
+    public synchronized double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * socket 수신 buffer 가 가득 차서 커널이 버린 datagram 수 (해당 port 로 bind 된 socket 합계)
+     * @return 확인할 수 없는 경우(Linux 외) -1
+     */
+    @Override
+    public long getSocketDropCount() {
+        return readSocketDropCount(port);
+    }
+
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, _getObjectName());
+        } catch (InstanceAlreadyExistsException e) {
+            logger.warn("... oht ingest metrics is already registered [port: {}]", port);
+        } catch (Exception e) {
+            logger.error("... failed to register oht ingest metrics [port: {}]", port, e);
+        }
+    }
+
+    public void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = _getObjectName();
+
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (Exception e) {
+            logger.error("... failed to unregister oht ingest metrics [port: {}]", port, e);
+        }
+    }
+
+    private ObjectName _getObjectName() throws MalformedObjectNameException {
+        return new ObjectName("OHT:type=OhtIngestMetrics,port=" + port);
+    }
+
+    public static long readSocketDropCount(int port) {
+        String portHex = String.format(":%04X", port);
+        long drops = 0L;
+        boolean isFound = false;
+
+        for (String path : PROC_NET_UDP_PATHS) {
+            File file = new File(path);
+
+            if (!file.canRead()) continue;
+
+            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                String line = reader.readLine();    // header
+
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = line.trim().split("\\s+");
+
+                    // sl local_address rem_address st tx_queue:rx_queue tr:tm->when retrnsmt uid timeout inode ref pointer drops
+                    if (columns.length < 13 || !columns[1].endsWith(portHex)) continue;
+
+                    drops += Long.parseLong(columns[12]);
+                    isFound = true;
+                }
+            } catch (Exception e) {
+                logger.debug("... failed to read udp socket drops [path: {}]", path, e);
+            }
+        }
+
+        return isFound ? drops : -1L;
+    }
+
+    /**
+     * packet / byte / 형식 오류 수와 수신 간격 histogram
+     */
+    public static class Counter {
+        private final String fabId;
+        private final LongAdder packetCount = new LongAdder();
+        private final LongAdder byteCount = new LongAdder();
+        private final LongAdder malformedCount = new LongAdder();
+        private final AtomicLongArray interArrivalHistogram = new AtomicLongArray(HISTOGRAM_BUCKET_COUNT);
+        private volatile long lastArrivalNanos = 0L;
+
+        private long lastRateNanos = System.nanoTime();
+        private long lastRatePacketCount = 0L;
+        private long lastRateByteCount = 0L;
+        private volatile double packetsPerSecond = 0.0;
+        private volatile double bytesPerSecond = 0.0;
+
+        private Counter() {
+            this(null);
+        }
+
+        private Counter(String fabId) {
+            this.fabId = fabId;
+        }
+
+        private void onReceived(int bytes, boolean isMalformed, long nowNanos) {
+            packetCount.increment();
+            byteCount.add(bytes);
+
+            if (isMalformed) {
+                malformedCount.increment();
+            }
+
+            long last = lastArrivalNanos;
+
+            lastArrivalNanos = nowNanos;
+
+            if (last > 0L) {
+                interArrivalHistogram.incrementAndGet(bucketOf(nowNanos - last));
+            }
+        }
+
+        private void updateRates(long now) {
+            long elapsed = now - lastRateNanos;
+
+            if (elapsed < 1_000_000L) return;
+
+            long packets = packetCount.sum();
+            long bytes = byteCount.sum();
+
+            packetsPerSecond = (packets - lastRatePacketCount) * 1e9 / elapsed;
+            bytesPerSecond = (bytes - lastRateByteCount) * 1e9 / elapsed;
+
+            lastRateNanos = now;
+            lastRatePacketCount = packets;
+            lastRateByteCount = bytes;
+        }
+
+        public static int bucketOf(long intervalNanos) {
+            long micros = intervalNanos / 1_000L;
+
+            if (micros <= 0L) return 0;
+
+            return Math.min(HISTOGRAM_BUCKET_COUNT - 1, 63 - Long.numberOfLeadingZeros(micros));
+        }
+
+        public String getFabId() {
+            return fabId;
+        }
+
+        public long getPacketCount() {
+            return packetCount.sum();
+        }
+
+        public long getByteCount() {
+            return byteCount.sum();
+        }
+
+        public long getMalformedCount() {
+            return malformedCount.sum();
+        }
+
+        public double getPacketsPerSecond() {
+            return packetsPerSecond;
+        }
+
+        public double getBytesPerSecond() {
+            return bytesPerSecond;
+        }
+
+        public long getLastArrivalNanos() {
+            return lastArrivalNanos;
+        }
+
+        public long[] getInterArrivalHistogram() {
+            long[] histogram = new long[HISTOGRAM_BUCKET_COUNT];
+
+            for (int i = 0; i < HISTOGRAM_BUCKET_COUNT; i++) {
+                histogram[i] = interArrivalHistogram.get(i);
+            }
+
+            return histogram;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * OHT UDP 수신 지표 JMX 조회용 (ObjectName: OHT:type=OhtIngestMetrics,port=[port])
+ */
+public interface OhtIngestMetricsMXBean {
+    int getPort();
+
+    long getPacketCount();
+
+    long getByteCount();
+
+    long getMalformedCount();
+
+    long getUnknownSourceCount();
+
+    double getPacketsPerSecond();
+
+    double getBytesPerSecond();
+
+    long getSocketDropCount();
+
+    long[] getInterArrivalHistogram();
+
+    Map<String, Long> getMcpPacketCounts();
+
+    Map<String, Double> getMcpPacketsPerSecond();
+
+    Map<String, Long> getMcpByteCounts();
+
+    Map<String, Double> getMcpBytesPerSecond();
+
+    Map<String, Long> getMcpMalformedCounts();
+}
@@ -0,0 +1,278 @@
+/**
+ * OHT UDP 수신(ingest) 관련 설정
+ * - DataService.initialization 시 properties 로부터 구성
+ * - 설정 값이 없는 경우 기존 동작(LEGACY)과 동일하게 유지
+ */
+public class OhtIngestProperties {
+    public static final String RECEIVE_MODE_LEGACY = "LEGACY";    // DatagramSocket + 매 packet 마다 byte[] 생성
+    public static final String RECEIVE_MODE_NIO = "NIO";          // DatagramChannel + direct ByteBuffer pool
+    public static final String RECEIVE_MODE_SHARDED = "SHARDED";  // SO_REUSEPORT 로 동일 port 를 공유하는 N 개의 DatagramChannel
+    public static final String ROUTE_ENGINE_LEGACY = "LEGACY";     // 지나간 railEdge 추정: DijkstraVhlRouteFind
+    public static final String ROUTE_ENGINE_INDEXED = "INDEXED";   // 지나간 railEdge 추정: RailRouteEngine (RailTopologyIndex node index)
+    public static final String ROUTE_ENGINE_ASTAR = "ASTAR";       // 지나간 railEdge 추정: RailRouteEngine A* (layout 좌표 heuristic)
+    public static final String ROUTE_ENGINE_CORRIDOR = "CORRIDOR"; // 지나간 railEdge 추정: RailRouteEngine 분기 / 합류 node 압축 graph (RailCorridorGraph)
+    public static final String ROUTE_ENGINE_HIERARCHY = "HIERARCHY"; // 지나간 railEdge 추정: RailRouteEngine contraction hierarchy (routeHierarchyEnabled=true 필요)
+
+    private String receiveMode = RECEIVE_MODE_LEGACY;
+    private int bufferSize = 1500;
+    private int bufferPoolSize = 16;
+    private int shardCount = 0;    // 0 이하: CPU 수 기준 (최대 4)
+    private int queueCapacity = 65536;    // message ring buffer 크기 (2의 거듭제곱으로 올림)
+    private MsgRingBuffer.OVERFLOW_POLICY queueOverflowPolicy = MsgRingBuffer.OVERFLOW_POLICY.BLOCK;
+    private boolean journalEnabled = false;    // true: recordQueue 대신 OhtMessageJournal 에 기록
+    private String journalDirectory = null;
+    private int journalSegmentMegaBytes = 64;
+    private int journalRollMinutes = 60;
+    private int journalRetentionCount = 48;
+    private int workerPartitionCount = 0;    // 0 이하: VhlPartitionedExecutor 미사용 (기존 worker 방식)
+    private int workerPartitionQueueSize = 4096;
+    private int workerBatchSize = 0;    // 0 이하 또는 workerPartitionCount 0 이하: OhtMsgBatchConsumer 미사용 (queue 는 기존 consumer 가 읽음)
+    private int workerBatchMaxLatencyMillis = 5;
+    private boolean conflationEnabled = false;    // true: 적체 시 같은 vehicle 의 중간 report 생략 (partition 실행기 사용 시)
+    private boolean unchangedReportFastPath = false;    // true: 직전과 같은 VHL_STATE_REPORT 는 수신 시각만 반영
+    private boolean stageLatencyEnabled = false;    // true: worker 단계별 소요 시간 histogram 기록 (OhtStageLatencyMetrics)
+    private boolean endToEndLatencyEnabled = false;    // true: 수신 ---> tib/rv 송신 지연 기록 (OhtEndToEndLatencyMetrics)
+    private int endToEndSloMillis = 1000;    // 수신 ---> 송신 목표 시간 (0 이하: 확인하지 않음)
+    private String routeEngine = ROUTE_ENGINE_LEGACY;
+    private int routeCacheSize = 0;    // 0 이하: RailRouteCache 미사용, (fab, mcp) 별 최대 경로 수
+    private long routeCacheTtlMillis = 2000L;    // 분기가 있는(비용에 따라 달라지는) 경로의 유효 시간
+    private boolean routeHierarchyEnabled = false;    // true: layout 구성 후 RailContractionHierarchy 생성
+    private long routeHierarchyCustomizeMillis = 5000L;    // 현재 속도로 hierarchy 비용을 다시 계산하는 주기 (0 이하: 자유 주행 비용만 사용)
+
+    public String getReceiveMode() {
+        return receiveMode;
+    }
+
+    public void setReceiveMode(String receiveMode) {
+        this.receiveMode = receiveMode;
+    }
+
+    public boolean isNioReceiveMode() {
+        return RECEIVE_MODE_NIO.equalsIgnoreCase(receiveMode);
+    }
+
+    public boolean isShardedReceiveMode() {
+        return RECEIVE_MODE_SHARDED.equalsIgnoreCase(receiveMode);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBufferPoolSize() {
+        return bufferPoolSize;
+    }
+
+    public void setBufferPoolSize(int bufferPoolSize) {
+        this.bufferPoolSize = bufferPoolSize;
+    }
+
+    public int getShardCount() {
+        if (shardCount <= 0) {
+            return Math.min(4, Runtime.getRuntime().availableProcessors());
+        }
+
+        return shardCount;
+    }
+
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public MsgRingBuffer.OVERFLOW_POLICY getQueueOverflowPolicy() {
+        return queueOverflowPolicy;
+    }
+
+    public void setQueueOverflowPolicy(MsgRingBuffer.OVERFLOW_POLICY queueOverflowPolicy) {
+        this.queueOverflowPolicy = queueOverflowPolicy;
+    }
+
+    public boolean isJournalEnabled() {
+        return journalEnabled;
+    }
+
+    public void setJournalEnabled(boolean journalEnabled) {
+        this.journalEnabled = journalEnabled;
+    }
+
+    public String getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    public void setJournalDirectory(String journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    public int getJournalSegmentMegaBytes() {
+        return journalSegmentMegaBytes;
+    }
+
+    public void setJournalSegmentMegaBytes(int journalSegmentMegaBytes) {
+        this.journalSegmentMegaBytes = journalSegmentMegaBytes;
+    }
+
+    public int getJournalRollMinutes() {
+        return journalRollMinutes;
+    }
+
+    public void setJournalRollMinutes(int journalRollMinutes) {
+        this.journalRollMinutes = journalRollMinutes;
+    }
+
+    public int getJournalRetentionCount() {
+        return journalRetentionCount;
+    }
+
+    public void setJournalRetentionCount(int journalRetentionCount) {
+        this.journalRetentionCount = journalRetentionCount;
+    }
+
+    public int getWorkerPartitionCount() {
+        return workerPartitionCount;
+    }
+
+    public void setWorkerPartitionCount(int workerPartitionCount) {
+        this.workerPartitionCount = workerPartitionCount;
+    }
+
+    public boolean isWorkerPartitioned() {
+        return workerPartitionCount > 0;
+    }
+
+    public int getWorkerPartitionQueueSize() {
+        return workerPartitionQueueSize;
+    }
+
+    public void setWorkerPartitionQueueSize(int workerPartitionQueueSize) {
+        this.workerPartitionQueueSize = workerPartitionQueueSize;
+    }
+
+    public boolean isConflationEnabled() {
+        return conflationEnabled;
+    }
+
+    public void setConflationEnabled(boolean conflationEnabled) {
+        this.conflationEnabled = conflationEnabled;
+    }
+
+    public int getWorkerBatchSize() {
+        return workerBatchSize;
+    }
+
+    public void setWorkerBatchSize(int workerBatchSize) {
+        this.workerBatchSize = workerBatchSize;
+    }
+
+    // batch consumer 는 vehicle 묶음을 partition 실행기로 넘김 ---> 실행기 없이 consumer 쓰레드 하나에서 전체를 처리하지 않도록 partition 필수
+    public boolean isWorkerBatched() {
+        return workerBatchSize > 0 && isWorkerPartitioned();
+    }
+
+    public int getWorkerBatchMaxLatencyMillis() {
+        return workerBatchMaxLatencyMillis;
+    }
+
+    public void setWorkerBatchMaxLatencyMillis(int workerBatchMaxLatencyMillis) {
+        this.workerBatchMaxLatencyMillis = workerBatchMaxLatencyMillis;
+    }
+
+    public boolean isUnchangedReportFastPath() {
+        return unchangedReportFastPath;
+    }
+
+    public void setUnchangedReportFastPath(boolean unchangedReportFastPath) {
+        this.unchangedReportFastPath = unchangedReportFastPath;
+    }
+
+    public boolean isStageLatencyEnabled() {
+        return stageLatencyEnabled;
+    }
+
+    public void setStageLatencyEnabled(boolean stageLatencyEnabled) {
+        this.stageLatencyEnabled = stageLatencyEnabled;
+    }
+
+    public boolean isEndToEndLatencyEnabled() {
+        return endToEndLatencyEnabled;
+    }
+
+    public void setEndToEndLatencyEnabled(boolean endToEndLatencyEnabled) {
+        this.endToEndLatencyEnabled = endToEndLatencyEnabled;
+    }
+
+    public int getEndToEndSloMillis() {
+        return endToEndSloMillis;
+    }
+
+    public void setEndToEndSloMillis(int endToEndSloMillis) {
+        this.endToEndSloMillis = endToEndSloMillis;
+    }
+
+    public String getRouteEngine() {
+        return routeEngine;
+    }
+
+    public void setRouteEngine(String routeEngine) {
+        this.routeEngine = routeEngine;
+    }
+
+    public boolean isIndexedRouteEngine() {
+        return ROUTE_ENGINE_INDEXED.equalsIgnoreCase(routeEngine);
+    }
+
+    public boolean isAStarRouteEngine() {
+        return ROUTE_ENGINE_ASTAR.equalsIgnoreCase(routeEngine);
+    }
+
+    public boolean isCorridorRouteEngine() {
+        return ROUTE_ENGINE_CORRIDOR.equalsIgnoreCase(routeEngine);
+    }
+
+    public boolean isHierarchyRouteEngine() {
+        return ROUTE_ENGINE_HIERARCHY.equalsIgnoreCase(routeEngine);
+    }
+
+    public int getRouteCacheSize() {
+        return routeCacheSize;
+    }
+
+    public void setRouteCacheSize(int routeCacheSize) {
+        this.routeCacheSize = routeCacheSize;
+    }
+
+    public long getRouteCacheTtlMillis() {
+        return routeCacheTtlMillis;
+    }
+
+    public void setRouteCacheTtlMillis(long routeCacheTtlMillis) {
+        this.routeCacheTtlMillis = routeCacheTtlMillis;
+    }
+
+    public boolean isRouteHierarchyEnabled() {
+        return routeHierarchyEnabled;
+    }
+
+    public void setRouteHierarchyEnabled(boolean routeHierarchyEnabled) {
+        this.routeHierarchyEnabled = routeHierarchyEnabled;
+    }
+
+    public long getRouteHierarchyCustomizeMillis() {
+        return routeHierarchyCustomizeMillis;
+    }
+
+    public void setRouteHierarchyCustomizeMillis(long routeHierarchyCustomizeMillis) {
+        this.routeHierarchyCustomizeMillis = routeHierarchyCustomizeMillis;
+    }
+}
@@ -0,0 +1,490 @@
+/**
+ * 수신한 OHT message 기록용 journal (append-only, memory-mapped segment)
+ * - recordQueue 처럼 heap 에 message 를 쌓아두지 않고, 수신 시각/fab/mcp/message 를 mmap 된 segment 파일에 바로 기록
+ *   (message 는 datagram 원본 byte 가 아닌 decode 후 trim 한 문자열, 재처리 시 queue 의 Msg 와 같은 값)
+ * - 기록은 writer 쓰레드 하나에서만 수행 ---> startWriter 로 message ring 의 journal consumer 를 읽음
+ *   (수신 쓰레드는 ring 에 publish 만 하고 journal 을 기다리지 않음, gating consumer 이므로 ring 크기만큼 뒤처진 경우에만 ring 의 overflow 정책 적용)
+ * - segment 는 크기(segmentSize) 또는 시간(rollIntervalMillis) 기준으로 교체되며, 최근 retentionCount 개만 유지
+ * - 재시작 시 마지막 segment 를 scan 하여 이어서 기록
+ * - 교체된 segment 의 디스크 기록(force) / close / 보관 기간이 지난 segment 삭제는 flush 쓰레드에서 수행 (append 하는 수신 쓰레드는 대기하지 않음)
+ * - close() 시 writer 가 읽지 않은 message 를 기록하고 남은 flush 를 기다린 뒤 현재 segment 를 기록 (DataService 종료 시 shutdown hook 에서 호출)
+ * - batch 는 Cursor 로 각자의 offset 부터 읽음 (offset 을 저장해 두면 재시작 후에도 이어서 읽을 수 있음)
+ *
+ * segment 파일: [base offset 20자리].journal
+ *   header : long createdMilli (8 byte)
+ *   record : int length | long receivedMilli | byte fabLength | fab | byte mcpLength | mcp | message (UTF-8)
+ *            (length 는 자신을 제외한 record 크기, 0 이면 segment 의 끝)
+ */
+public class OhtMessageJournal implements Closeable {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int SEGMENT_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 4 + 8 + 1 + 1;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10L;
+    private static final long WRITER_POLL_MILLIS = 100L;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long rollIntervalMillis;
+    private final int retentionCount;
+    private final ConcurrentSkipListMap<Long, Path> segmentMap = new ConcurrentSkipListMap<>();
+    private final AtomicLong appendedCount = new AtomicLong(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "OhtJournal-Flush");
+
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    private FileChannel writeChannel = null;
+    private MappedByteBuffer writeBuffer = null;
+    private long writeBaseOffset = 0L;
+    private long writeSegmentCreatedMilli = 0L;
+    private volatile long committedOffset = 0L;    // 여기까지 기록 완료 (cursor 는 이 offset 전까지만 읽음)
+    private Thread writerThread = null;
+    private volatile boolean isClosed = false;    // close 요청 (writer 는 남은 message 를 기록 후 종료)
+    private volatile boolean isSegmentClosed = false;    // 현재 segment 닫힘 ---> 이후 append 는 기록하지 않음
+
+    /**
+     * @param directory segment 파일 경로
+     * @param segmentSize segment 크기 (byte)
+     * @param rollIntervalMillis segment 교체 주기 (0 이하: 크기 기준으로만 교체)
+     * @param retentionCount 유지할 segment 수 (0 이하: 삭제하지 않음)
+     */
+    public OhtMessageJournal(Path directory, int segmentSize, long rollIntervalMillis, int retentionCount) throws IOException {
+        this.directory          = directory;
+        this.segmentSize        = segmentSize;
+        this.rollIntervalMillis = rollIntervalMillis;
+        this.retentionCount     = retentionCount;
+
+        Files.createDirectories(directory);
+
+        this._loadSegments();
+        this._recoverLastSegment();
+    }
+
+    private void _loadSegments() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+
+                try {
+                    segmentMap.put(Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length())), path);
+                } catch (NumberFormatException e) {
+                    logger.warn("... unknown file in oht journal directory is ignored [file: {}]", fileName);
+                }
+            }
+        }
+    }
+
+    // 마지막 segment 의 기록 위치를 찾아 이어서 기록, segment 가 없으면 새로 생성
+    private void _recoverLastSegment() throws IOException {
+        Map.Entry<Long, Path> last = segmentMap.lastEntry();
+
+        if (last == null) {
+            this._openSegment(0L, System.currentTimeMillis());
+
+            return;
+        }
+
+        writeBaseOffset = last.getKey();
+        writeChannel = FileChannel.open(last.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writeBuffer = writeChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, writeChannel.size()));
+        writeSegmentCreatedMilli = writeBuffer.getLong(0);
+
+        int position = SEGMENT_HEADER_SIZE;
+
+        while (position + 4 <= writeBuffer.limit()) {
+            int length = writeBuffer.getInt(position);
+
+            if (length <= 0 || position + 4 + length > writeBuffer.limit()) {
+                break;
+            }
+
+            position += 4 + length;
+        }
+
+        writeBuffer.position(position);
+        committedOffset = writeBaseOffset + position;
+
+        logger.info("... oht journal is recovered [segment: {} | offset: {}]", last.getValue().getFileName(), committedOffset);
+    }
+
+    private void _openSegment(long baseOffset, long createdMilli) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+
+        writeChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writeBuffer = writeChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        writeBuffer.putLong(0, createdMilli);
+        writeBuffer.position(SEGMENT_HEADER_SIZE);
+
+        writeBaseOffset = baseOffset;
+        writeSegmentCreatedMilli = createdMilli;
+        segmentMap.put(baseOffset, path);
+        committedOffset = baseOffset + SEGMENT_HEADER_SIZE;
+    }
+
+    private void _rollSegment(long now) throws IOException {
+        long nextBaseOffset = writeBaseOffset + writeBuffer.position();
+        final FileChannel previousChannel = writeChannel;
+        final MappedByteBuffer previousBuffer = writeBuffer;
+
+        this._openSegment(nextBaseOffset, now);
+
+        // 이전 segment 는 flush 쓰레드에서 기록 후 close (mapping 은 참조가 없어지면 GC 시 해제)
+        flushExecutor.execute(() -> {
+            try {
+                previousBuffer.force();
+                previousChannel.close();
+            } catch (IOException e) {
+                logger.error("An Error Occurred While Flushing OHT Journal Segment [directory: {}] !", directory, e);
+            }
+
+            this._deleteExpiredSegments();
+        });
+    }
+
+    private void _deleteExpiredSegments() {
+        if (retentionCount <= 0) return;
+
+        while (segmentMap.size() > retentionCount) {
+            Map.Entry<Long, Path> first = segmentMap.pollFirstEntry();
+
+            try {
+                Files.deleteIfExists(first.getValue());
+            } catch (IOException e) {
+                logger.warn("... failed to delete an expired oht journal segment [file: {}]", first.getValue(), e);
+            }
+        }
+    }
+
+    /**
+     * writer 쓰레드 시작 (한 번만) ---> 이후 source 로 들어오는 message 를 기록
+     * @param source message ring 의 journal 용 consumer
+     */
+    public synchronized void startWriter(BlockingQueue<Msg> source) {
+        if (writerThread != null || isClosed) return;
+
+        writerThread = new Thread(() -> this._runWriter(source), "OhtJournal-Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public synchronized boolean isWriterStarted() {
+        return writerThread != null;
+    }
+
+    // close() 이후에는 이미 들어온 message 만 기록하고 종료 (interrupt 하지 않음 ---> 기록 중인 FileChannel 이 닫히지 않음)
+    private void _runWriter(BlockingQueue<Msg> source) {
+        while (true) {
+            try {
+                Msg msg = isClosed ? source.poll() : source.poll(WRITER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (msg == null) {
+                    if (isClosed) break;
+
+                    continue;
+                }
+
+                this.append(msg.getTime(), msg.getFabId(), msg.getMcpName(), msg.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                break;
+            } catch (Exception e) {
+                logger.error("An Error Occurred While Writing OHT Journal [directory: {}] !", directory, e);
+            }
+        }
+    }
+
+    /**
+     * message 기록 (UTF-8) ---> ASCII 문자열은 문자 단위로 mmap buffer 에 바로 복사 (중간 byte[] 생성 없음)
+     * - writer 쓰레드에서만 호출 (startWriter 를 사용하지 않는 경우 호출하는 쓰레드 하나에서만 사용)
+     * @return 기록 여부
+     */
+    boolean append(long receivedMilli, String fabId, String mcpName, String message) {
+        if (isSegmentClosed) return false;
+
+        byte[] fabBytes = _encodeNonAscii(fabId);
+        byte[] mcpBytes = _encodeNonAscii(mcpName);
+        byte[] messageBytes = _encodeNonAscii(message);
+        int fabLength = Math.min(fabBytes == null ? fabId.length() : fabBytes.length, 255);
+        int mcpLength = Math.min(mcpBytes == null ? mcpName.length() : mcpBytes.length, 255);
+        int messageLength = messageBytes == null ? message.length() : messageBytes.length;
+        int recordSize = RECORD_HEADER_SIZE + fabLength + mcpLength + messageLength;
+
+        if (recordSize > segmentSize - SEGMENT_HEADER_SIZE) {
+            rejectedCount.incrementAndGet();
+            logger.warn("[fab: {} | mcp: {}] ... message is too large for oht journal [size: {}]", fabId, mcpName, recordSize);
+
+            return false;
+        }
+
+        try {
+            if (writeBuffer.remaining() < recordSize
+                    || (rollIntervalMillis > 0 && receivedMilli - writeSegmentCreatedMilli >= rollIntervalMillis)) {
+                this._rollSegment(receivedMilli);
+            }
+        } catch (IOException e) {
+            rejectedCount.incrementAndGet();
+            logger.error("[fab: {} | mcp: {}] ... failed to roll oht journal segment", fabId, mcpName, e);
+
+            return false;
+        }
+
+        int start = writeBuffer.position();
+
+        writeBuffer.position(start + 4);
+        writeBuffer.putLong(receivedMilli);
+        writeBuffer.put((byte) fabLength);
+        this._putString(fabId, fabBytes, fabLength);
+        writeBuffer.put((byte) mcpLength);
+        this._putString(mcpName, mcpBytes, mcpLength);
+        this._putString(message, messageBytes, messageLength);
+
+        // length 를 마지막에 기록 ---> 기록 중인 record 는 읽히지 않음
+        writeBuffer.putInt(start, recordSize - 4);
+
+        committedOffset = writeBaseOffset + writeBuffer.position();
+        appendedCount.incrementAndGet();
+
+        return true;
+    }
+
+    // ASCII 가 아닌 문자가 있는 경우 UTF-8 byte 배열, 모두 ASCII 인 경우 null
+    private static byte[] _encodeNonAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        return null;
+    }
+
+    private void _putString(String value, byte[] bytes, int length) {
+        if (bytes != null) {
+            writeBuffer.put(bytes, 0, length);
+
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            writeBuffer.put((byte) value.charAt(i));
+        }
+    }
+
+    /**
+     * @param offset 읽기 시작 offset (0: 남아 있는 가장 오래된 record 부터, getCommittedOffset(): 이후 기록되는 record 부터)
+     */
+    public Cursor openCursor(long offset) {
+        return new Cursor(offset);
+    }
+
+    public long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public long getAppendedCount() {
+        return appendedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (isClosed) return;
+
+        isClosed = true;
+
+        // writer 가 남은 message 를 기록하고 종료할 때까지 대기 ---> 이후 현재 segment 는 이 쓰레드만 사용
+        if (writerThread != null) {
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (writerThread.isAlive()) {
+                logger.warn("... writer of oht journal is not stopped [directory: {}]", directory);
+            }
+        }
+
+        isSegmentClosed = true;
+
+        // 교체된 segment 의 flush 를 마친 뒤 현재 segment 기록
+        flushExecutor.shutdown();
+
+        try {
+            if (!flushExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("... flush of oht journal is not completed [directory: {}]", directory);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            if (writeBuffer != null) {
+                writeBuffer.force();
+            }
+
+            if (writeChannel != null && writeChannel.isOpen()) {
+                writeChannel.close();
+            }
+        } catch (IOException e) {
+            logger.error("An Error Occurred While Closing OHT Journal [directory: {}] !", directory, e);
+        }
+    }
+
+    /**
+     * journal 읽기 cursor (쓰레드 하나에서 사용)
+     * - next() 로 record 를 하나씩 읽고, 처리한 위치는 getOffset() 으로 확인
+     */
+    public class Cursor implements Closeable {
+        private long offset;
+        private long segmentBaseOffset = -1L;
+        private FileChannel readChannel = null;
+        private MappedByteBuffer readBuffer = null;
+        private long receivedMilli;
+        private String fabId;
+        private String mcpName;
+        private String message;
+
+        private Cursor(long offset) {
+            this.offset = offset;
+        }
+
+        /**
+         * 다음 record 로 이동
+         * @return 읽을 record 가 없으면 false (이후 다시 호출하면 새로 기록된 record 부터 읽음)
+         */
+        public boolean next() throws IOException {
+            while (offset < committedOffset) {
+                if (!this._mapSegmentOf(offset)) {
+                    return false;
+                }
+
+                int position = (int) Math.max(offset - segmentBaseOffset, SEGMENT_HEADER_SIZE);
+                int length = position + 4 <= readBuffer.limit() ? readBuffer.getInt(position) : 0;
+
+                if (length <= 0) {
+                    // segment 의 끝 ---> 다음 segment 로 이동
+                    Long nextBaseOffset = segmentMap.higherKey(segmentBaseOffset);
+
+                    if (nextBaseOffset == null) {
+                        return false;
+                    }
+
+                    offset = nextBaseOffset;
+
+                    continue;
+                }
+
+                this._readRecord(position + 4);
+                offset = segmentBaseOffset + position + 4 + length;
+
+                return true;
+            }
+
+            return false;
+        }
+
+        private boolean _mapSegmentOf(long targetOffset) throws IOException {
+            Map.Entry<Long, Path> entry = segmentMap.floorEntry(targetOffset);
+
+            if (entry == null) {
+                // 삭제된 segment 의 offset ---> 남아 있는 가장 오래된 segment 부터
+                entry = segmentMap.firstEntry();
+
+                if (entry == null) return false;
+
+                offset = entry.getKey();
+            }
+
+            if (entry.getKey() == segmentBaseOffset) {
+                return true;
+            }
+
+            this._closeSegment();
+
+            readChannel = FileChannel.open(entry.getValue(), StandardOpenOption.READ);
+            readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            segmentBaseOffset = entry.getKey();
+
+            return true;
+        }
+
+        private void _readRecord(int position) {
+            readBuffer.position(position);
+            receivedMilli = readBuffer.getLong();
+
+            int fabLength = readBuffer.get() & 0xFF;
+
+            fabId = this._getString(fabLength).intern();
+
+            int mcpLength = readBuffer.get() & 0xFF;
+
+            mcpName = this._getString(mcpLength).intern();
+
+            int messageLength = readBuffer.getInt(position - 4) - (RECORD_HEADER_SIZE - 4) - fabLength - mcpLength;
+
+            message = this._getString(messageLength);
+        }
+
+        private String _getString(int length) {
+            byte[] bytes = new byte[length];
+
+            readBuffer.get(bytes);
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void _closeSegment() throws IOException {
+            if (readChannel != null && readChannel.isOpen()) {
+                readChannel.close();
+            }
+
+            readChannel = null;
+            readBuffer = null;
+            segmentBaseOffset = -1L;
+        }
+
+        // 현재 record 를 기존 queue 에서 사용하던 Msg 형태로 변환
+        public Msg toMsg() {
+            return new Msg(fabId, MSG_TYP.OHT, receivedMilli, mcpName, message);
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getReceivedMilli() {
+            return receivedMilli;
+        }
+
+        public String getFabId() {
+            return fabId;
+        }
+
+        public String getMcpName() {
+            return mcpName;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this._closeSegment();
+        }
+    }
+}
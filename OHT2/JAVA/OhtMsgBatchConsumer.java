@@ -0,0 +1,275 @@
+/**
+ * OHT message queue micro-batch consumer
+ * - DataService.queue 에서 한 번에 최대 batchSize 개를 꺼냄 (첫 message 를 꺼낸 뒤 maxLatencyMillis 이내에 batch 를 마감)
+ * - 한 loop 에서 decode 하여 VHL_STATE_REPORT / VHL_ROUTE_REPORT 는 vehicle 별로, STATION / MACHINE / POWER 상태와 MCP 재시작 report 는 mcp 별로 묶음 (묶음 안에서는 수신 순서 유지)
+ * - dataSet / FabProperties 조회는 batch 당 한 번 ---> message 마다 OhtMsgWorkerRunnable 생성자에서 하던 조회를 대체
+ * - vehicle 묶음은 VhlPartitionedExecutor 의 vehicle partition 에서 처리 (이 쓰레드 하나에서 모든 report 를 처리하지 않도록 실행기 필수)
+ * - conflation 사용 시 같은 묶음 안에서 상태가 같은 연속 report 는 마지막 것만 처리 (OhtReportConflator 참고)
+ * - 사용 시 queue 는 이 consumer 만 읽어야 함 (DataService.isOhtBatchConsumerRunning)
+ */
+public class OhtMsgBatchConsumer implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(OhtMsgBatchConsumer.class);
+    private static final long IDLE_POLL_MILLIS = 100L;
+
+    private final BlockingQueue<Msg> queue;
+    private final int batchSize;
+    private final long maxLatencyNanos;
+    private final VhlPartitionedExecutor executor;
+    private final OhtReportConflator conflator;
+    private final List<Msg> batch;
+    private final Map<String, String> facIdMap = new HashMap<>();
+    private Thread thread = null;
+    private volatile boolean isRunning = false;
+    private long messageSequence = 0L;
+
+    private final AtomicLong batchCount = new AtomicLong(0);
+    private final AtomicLong messageCount = new AtomicLong(0);
+    private final AtomicLong reportCount = new AtomicLong(0);
+    private final AtomicLong vehicleGroupCount = new AtomicLong(0);
+    private volatile int maxBatchSize = 0;
+
+    /**
+     * @param executor vehicle 별 partition 실행기
+     * @param conflator null: conflation 미사용
+     */
+    public OhtMsgBatchConsumer(
+            BlockingQueue<Msg> queue,
+            int batchSize,
+            long maxLatencyMillis,
+            VhlPartitionedExecutor executor,
+            OhtReportConflator conflator
+    ) {
+        this.queue              = queue;
+        this.batchSize          = Math.max(1, batchSize);
+        this.maxLatencyNanos    = Math.max(0L, maxLatencyMillis) * 1_000_000L;
+        this.executor           = Objects.requireNonNull(executor, "executor");
+        this.conflator          = conflator;
+        this.batch              = new ArrayList<>(this.batchSize);
+    }
+
+    public synchronized void start() {
+        if (isRunning) return;
+
+        isRunning = true;
+        thread = new Thread(this, "OhtMessageBatchConsumer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        isRunning = false;
+
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    @Override
+    public void run() {
+        logger.info("... oht message batch consumer is started [batch size: {} | max latency: {}ms | partition: {} | conflation: {}]",
+                batchSize, maxLatencyNanos / 1_000_000L, executor.getPartitionCount(), conflator != null);
+
+        while (isRunning) {
+            try {
+                if (this._fill()) {
+                    this._process();
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                logger.error("... an exception occurred while processing oht message batch [size: {}]", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        logger.info("... oht message batch consumer is stopped");
+    }
+
+    /*
+    첫 message 를 기다린 뒤 batchSize 가 될 때까지 꺼냄 (첫 message 기준 maxLatency 경과 시 마감)
+     */
+    private boolean _fill() throws InterruptedException {
+        Msg first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+        if (first == null) return false;
+
+        batch.add(first);
+
+        long deadline = System.nanoTime() + maxLatencyNanos;
+
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) continue;
+
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) break;
+
+            Msg next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+
+            if (next == null) break;
+
+            batch.add(next);
+        }
+
+        return true;
+    }
+
+    private void _process() {
+        DataSet dataSet = DataService.getDataSet();
+
+        if (dataSet == null) {
+            logger.error("... dataSet is not ready, oht message batch is discarded [size: {}]", batch.size());
+
+            return;
+        }
+
+        OhtReportDecoder report = OhtReportDecoder.forCurrentThread();
+        Map<String, List<OhtMsgWorkerRunnable>> vehicleGroupMap = new LinkedHashMap<>();
+
+        facIdMap.clear();
+
+        for (Msg msg : batch) {
+            report.wrap(msg.getMessage());
+
+            if (!OhtMsgWorkerRunnable.isVhlReport(report) && !OhtMsgWorkerRunnable.isMcpStateReport(report)) continue;
+
+            String fabId = msg.getFabId();
+            String facId = facIdMap.get(fabId);
+
+            if (facId == null) {
+                FabProperties fabProperties = DataService.getInstance().getFabPropertiesMap().get(fabId);
+
+                if (fabProperties == null) continue;
+
+                facId = fabProperties.getFacId();
+                facIdMap.put(fabId, facId);
+            }
+
+            OhtMsgWorkerRunnable worker = new OhtMsgWorkerRunnable(
+                    fabId,
+                    facId,
+                    msg.getMessage(),
+                    msg.getMcpName(),
+                    msg.getTime(),
+                    ++messageSequence
+            );
+            String vehicleKey = worker.resolveVehicleKey(report);
+
+            // vehicle 이 아닌 report 는 mcp 단위 (getPartitionKey 와 같은 기준)
+            String groupKey = vehicleKey != null ? vehicleKey : fabId + ":" + msg.getMcpName();
+
+            vehicleGroupMap.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(worker);
+        }
+
+        int size = batch.size();
+
+        batchCount.incrementAndGet();
+        messageCount.addAndGet(size);
+        vehicleGroupCount.addAndGet(vehicleGroupMap.size());
+
+        if (size > maxBatchSize) {
+            maxBatchSize = size;
+        }
+
+        for (List<OhtMsgWorkerRunnable> workers : vehicleGroupMap.values()) {
+            VehicleBatch vehicleBatch = new VehicleBatch(workers, dataSet);
+
+            reportCount.addAndGet(workers.size());
+
+            executor.execute(workers.get(0).getPartitionKey(), vehicleBatch);
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000L;
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getMessageCount() {
+        return messageCount.get();
+    }
+
+    public long getReportCount() {
+        return reportCount.get();
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public double getAverageBatchSize() {
+        long batches = batchCount.get();
+
+        return batches > 0 ? (double) messageCount.get() / batches : 0.0;
+    }
+
+    // batch 당 평균 vehicle 묶음 수 (작을수록 vehicle 별 묶음 효과가 큼)
+    public double getAverageVehicleGroupCount() {
+        long batches = batchCount.get();
+
+        return batches > 0 ? (double) vehicleGroupCount.get() / batches : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[batch consumer] batch: %d | message: %d | report: %d | avg size: %.1f | max size: %d | avg vehicle group: %.1f",
+                getBatchCount(), getMessageCount(), getReportCount(), getAverageBatchSize(), getMaxBatchSize(), getAverageVehicleGroupCount());
+    }
+
+    /**
+     * 한 vehicle 의 report 묶음 (수신 순서대로 처리)
+     */
+    private class VehicleBatch implements Runnable {
+        private final List<OhtMsgWorkerRunnable> workers;
+        private final DataSet dataSet;
+
+        private VehicleBatch(List<OhtMsgWorkerRunnable> workers, DataSet dataSet) {
+            this.workers = workers;
+            this.dataSet = dataSet;
+        }
+
+        @Override
+        public void run() {
+            OhtReportDecoder report = OhtReportDecoder.forCurrentThread();
+            int size = workers.size();
+
+            if (conflator != null) {
+                conflator.onOffered(size);
+            }
+
+            for (int i = 0; i < size; i++) {
+                OhtMsgWorkerRunnable worker = workers.get(i);
+                long startNanos = worker.startLatency();
+
+                report.wrap(worker.getMessage());
+                worker.recordLatency(OhtStageLatencyMetrics.STAGE.DECODE, startNanos);
+
+                // 바로 다음 report 와 상태가 같으면 생략 (지나간 edge 는 다음 report 의 경로 보간으로 반영)
+                if (conflator != null && i + 1 < size && conflator.isSameState(report, workers.get(i + 1).getMessage())) {
+                    conflator.onConflated();
+
+                    continue;
+                }
+
+                try {
+                    worker.process(report, dataSet);
+                } catch (Exception e) {
+                    logger.error("... an exception occurred while processing oht report [{}]", worker, e);
+                }
+            }
+        }
+    }
+}
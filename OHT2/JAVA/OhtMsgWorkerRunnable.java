@@ -7,6 +7,10 @@ public class OhtMsgWorkerRunnable implements Runnable {
     private final String fabId;
     private final String facId;
     private final String mcpName;
+    private String vehicleKey = null;    // conflation / batch 사용 시 전달 쓰레드에서 계산
+    private DataSet dataSet = null;      // 처리 시작 시 한 번 조회 (batch 는 batch 단위로 전달)
+    private OhtStageLatencyMetrics.Recorder latencyRecorder = null;    // 단계별 소요 시간 기록 (미사용 시 null)
+    private long processStartNanos = 0L;    // report 처리 시작 시각 (종단 간 지연 미사용 시 0)
 
     // ========================================================================================
     // [신규 필드] 테이블 3: {FAB}_ATLAS_HID_INOUT — 실시간 1분 집계
@@ -26,6 +30,43 @@ public class OhtMsgWorkerRunnable implements Runnable {
     private static final Object masterUpdateLock = new Object();
     private static volatile boolean masterUpdateInProgress = false;
 
+    // ========================================================================================
+    // 변경 없는 VHL_STATE_REPORT fast path (OhtUnchangedReportFastPath=true)
+    // - 지문 대상: 위치 / 상태 / 오류 / cycle / 작업 상세 / 반송처 / 주행거리
+    // ========================================================================================
+    private static final int[] FINGERPRINT_TOKEN_INDICES = {
+            VHL_STATE_REPORT.ADDRESS_IDX,
+            VHL_STATE_REPORT.NEXT_ADDRESS_IDX,
+            VHL_STATE_REPORT.DISTANCE_IDX,
+            VHL_STATE_REPORT.STATE_IDX,
+            VHL_STATE_REPORT.ERROR_CODE_IDX,
+            VHL_STATE_REPORT.RUN_CYCLE_IDX,
+            VHL_STATE_REPORT.VHL_CYCLE_IDX,
+            VHL_STATE_REPORT.DET_STATUS_IDX,
+            VHL_STATE_REPORT.DEST_PORT_IDX,
+            VHL_STATE_REPORT.RUN_DISTANCE_IDX
+    };
+    private static final LongAdder unchangedReportCount = new LongAdder();
+    private static final LongAdder changedReportCount = new LongAdder();
+
+    // 지나간 railEdge 산출 방식별 건수 (VHL_ROUTE_REPORT 경로 / RailRouteCache / DijkstraVhlRouteFind 추정)
+    private static final LongAdder routeResolvedCount = new LongAdder();
+    private static final LongAdder routeCachedCount = new LongAdder();
+    private static final LongAdder routeInferredCount = new LongAdder();
+
+    // STATION / MACHINE / POWER 상태, MCP 재시작 report 처리 건수
+    private static final LongAdder mcpStateReportCount = new LongAdder();
+    private static final LongAdder stationStateChangedCount = new LongAdder();
+    private static final LongAdder mcpRestartCount = new LongAdder();
+
+    // fabId -> mcpName -> MCP 재시작 횟수 (vehicle 의 mcpRestartEpoch 와 다르면 재시작 전 지문 / 계획 경로를 버림)
+    private static final ConcurrentMap<String, ConcurrentMap<String, AtomicLong>> mcpRestartEpochMap = new ConcurrentHashMap<>();
+
+    // ========================================================================================
+    // VHL_STATE_REPORT 처리 단계 (FunctionType 별, 등록 순서 = 실행 순서) ---> OhtVhlPipeline 구성에 사용
+    // ========================================================================================
+    static final Map<FunctionType, OhtVhlPipeline.Stage> VHL_REPORT_STAGES = _buildVhlReportStages();
+
     public OhtMsgWorkerRunnable(
             String fabId,
             String message,
@@ -33,11 +74,30 @@ public class OhtMsgWorkerRunnable implements Runnable {
             long receivedMilli,
             long messageSequence
     ) {
-        FabProperties fabProperties = DataService.getInstance().getFabPropertiesMap().get(fabId);
+        this(
+                fabId,
+                DataService.getInstance().getFabPropertiesMap().get(fabId).getFacId(),
+                message,
+                mcpName,
+                receivedMilli,
+                messageSequence
+        );
+    }
 
+    /**
+     * facId 를 이미 알고 있는 경우 (OhtMsgBatchConsumer) ---> FabProperties 조회 생략
+     */
+    public OhtMsgWorkerRunnable(
+            String fabId,
+            String facId,
+            String message,
+            String mcpName,
+            long receivedMilli,
+            long messageSequence
+    ) {
         this.fabId              = fabId;
         this.mcpName            = mcpName;
-        this.facId              = fabProperties.getFacId();
+        this.facId              = facId;
         this.message            = message;
         this.receivedMilli      = receivedMilli;
         this.messageSequence    = messageSequence;
@@ -45,15 +105,74 @@ public class OhtMsgWorkerRunnable implements Runnable {
 
     @Override
     public void run() {
-        String[] tokens = StringUtils.splitPreserveAllTokens(message, ',');
+        long startNanos = this.startLatency();
+        // token String 배열을 만들지 않고 위치만 확인 (쓰레드 별 decoder 재사용)
+        OhtReportDecoder report = OhtReportDecoder.forCurrentThread().wrap(message);
+
+        this.recordLatency(OhtStageLatencyMetrics.STAGE.DECODE, startNanos);
+
+        if (report.getTokenCount() >= 2) {
+            if (report.tokenEquals(MSG_ID_IDX, MSG_ID.VHL_STATE_REPORT)) {
+                OhtReportConflator conflator = DataService.getInstance().getOhtReportConflator();
+
+                // 같은 vehicle 의 더 새로운 report 가 대기 중이면 생략
+                if (conflator != null && conflator.isSuperseded(this, report)) return;
+
+                this.dataSet = DataService.getDataSet();
+                this._processOhtReport(report);
+            } else if (report.tokenEquals(MSG_ID_IDX, MSG_ID.VHL_ROUTE_REPORT)) {
+                this.dataSet = DataService.getDataSet();
+                this._processRouteReport(report);
+            } else if (isMcpStateReport(report)) {
+                this.dataSet = DataService.getDataSet();
+                this._processMcpStateReport(report);
+            }
+        }
+    }
+
+    /**
+     * 이미 wrap 한 report 처리 (OhtMsgBatchConsumer 에서 vehicle / mcp 별로 묶어 호출)
+     * @param dataSet batch 단위로 한 번 조회한 dataSet
+     */
+    void process(OhtReportDecoder report, DataSet dataSet) {
+        this.dataSet = dataSet;
 
-        if (tokens.length >= 2) {
-            String messageId = tokens[MSG_ID_IDX];
+        if (report.tokenEquals(MSG_ID_IDX, MSG_ID.VHL_ROUTE_REPORT)) {
+            this._processRouteReport(report);
+        } else if (isMcpStateReport(report)) {
+            this._processMcpStateReport(report);
+        } else {
+            this._processOhtReport(report);
+        }
+    }
 
-            if (messageId.equals(MSG_ID.VHL_STATE_REPORT)) {
-                this._processOhtReport(tokens);
+    /**
+     * 단계 시작 시각 (단계별 소요 시간 미사용 시 시각을 조회하지 않고 0)
+     */
+    long startLatency() {
+        return this._getLatencyRecorder() != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * startNanos 부터 현재까지를 stage 의 소요 시간으로 기록
+     * @return 현재 시각 (다음 단계의 시작 시각), 미사용 시 0
+     */
+    long recordLatency(OhtStageLatencyMetrics.STAGE stage, long startNanos) {
+        OhtStageLatencyMetrics.Recorder recorder = this._getLatencyRecorder();
+
+        return recorder != null ? recorder.record(stage, startNanos) : 0L;
+    }
+
+    private OhtStageLatencyMetrics.Recorder _getLatencyRecorder() {
+        if (this.latencyRecorder == null) {
+            OhtStageLatencyMetrics metrics = DataService.getInstance().getOhtStageLatencyMetrics();
+
+            if (metrics != null) {
+                this.latencyRecorder = metrics.getRecorder(this.fabId, this.mcpName);
             }
         }
+
+        return this.latencyRecorder;
     }
 
     @Override
@@ -61,11 +180,268 @@ public class OhtMsgWorkerRunnable implements Runnable {
         return String.format("%s %s %s %s", getClass(), fabId, mcpName, message);
     }
 
-    private void _processOhtReport(String[] tokens) {
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * vehicleMap 의 key ({fabId}:VHL:{mcpName}:{vhlName})
+     * @return VHL_STATE_REPORT / VHL_ROUTE_REPORT 가 아니거나 vehicle 명이 없는 경우 null
+     */
+    public String getVehicleKey() {
+        if (vehicleKey == null) {
+            this.resolveVehicleKey(OhtReportDecoder.forCurrentThread().wrap(message));
+        }
+
+        return vehicleKey;
+    }
+
+    /**
+     * @param report 이 worker 의 message 를 wrap 한 decoder (다시 wrap 하지 않음)
+     */
+    String resolveVehicleKey(OhtReportDecoder report) {
+        if (vehicleKey == null && isVhlReport(report) && !report.isEmpty(VHL_STATE_REPORT.VHL_ID_IDX)) {
+            vehicleKey = this.fabId + ":" + DataSet.VHL_PREFIX + ":" + this.mcpName + ":" + report.getVhlName();
+        }
+
+        return vehicleKey;
+    }
+
+    static boolean isVhlStateReport(OhtReportDecoder report) {
+        return report.getTokenCount() >= 2 && report.tokenEquals(MSG_ID_IDX, MSG_ID.VHL_STATE_REPORT);
+    }
+
+    // vehicle 단위로 처리하는 report (VHL_STATE_REPORT, VHL_ROUTE_REPORT)
+    static boolean isVhlReport(OhtReportDecoder report) {
+        return report.getTokenCount() >= 2
+                && (report.tokenEquals(MSG_ID_IDX, MSG_ID.VHL_STATE_REPORT) || report.tokenEquals(MSG_ID_IDX, MSG_ID.VHL_ROUTE_REPORT));
+    }
+
+    // mcp 단위로 처리하는 report (STATION_STATE_REPORT, MACHINE_STATE_REPORT, MCP7_RESTART_REPORT, POWER_STATE_REPORT)
+    static boolean isMcpStateReport(OhtReportDecoder report) {
+        return report.getTokenCount() >= 2
+                && (
+                        report.tokenEquals(MSG_ID_IDX, MSG_ID.STATION_STATE_REPORT)
+                                || report.tokenEquals(MSG_ID_IDX, MSG_ID.MACHINE_STATE_REPORT)
+                                || report.tokenEquals(MSG_ID_IDX, MSG_ID.MCP7_RESTART_REPORT)
+                                || report.tokenEquals(MSG_ID_IDX, MSG_ID.POWER_STATE_REPORT)
+                );
+    }
+
+    /**
+     * VhlPartitionedExecutor 분배용 key ---> vehicle 키({fabId}:VHL:{mcpName}:{vhlName}) 가 같으면 같은 값
+     * - VHL_STATE_REPORT / VHL_ROUTE_REPORT 가 아닌 message 는 mcp 기준
+     */
+    public int getPartitionKey() {
+        OhtReportDecoder report = OhtReportDecoder.forCurrentThread().wrap(message);
+        int hash = 31 * this.fabId.hashCode() + this.mcpName.hashCode();
+
+        if (isVhlReport(report)) {
+            hash = 31 * hash + report.tokenHashCode(VHL_STATE_REPORT.VHL_ID_IDX);
+        }
+
+        return hash;
+    }
+
+    /*
+    VHL_ROUTE_REPORT ---> vehicle 의 계획 경로(address 순서) 교체
+    (같은 vehicle 의 VHL_STATE_REPORT 와 같은 partition 에서 순서대로 처리되며, 경로는 불변 객체로 교체하므로 잠금 없음)
+     */
+    private void _processRouteReport(OhtReportDecoder report) {
+        if (report.isEmpty(VHL_ROUTE_REPORT.VHL_ID_IDX)) {
+            logger.error("... vehicle name of route report is empty [fab: {} | mcp: {} | message: {}]", this.fabId, this.mcpName, this.message);
+
+            return;
+        }
+
+        ConcurrentMap<String, Vhl> vehicleMap = this.dataSet.getVhlMap();
+        String vehicleKey = this.vehicleKey != null
+                ? this.vehicleKey
+                : this.fabId + ":" + DataSet.VHL_PREFIX + ":" + this.mcpName + ":" + report.getString(VHL_ROUTE_REPORT.VHL_ID_IDX);
+        Vhl vehicle = vehicleMap != null ? vehicleMap.get(vehicleKey) : null;
+
+        if (vehicle == null) {
+            logger.error("... vehicle data is null [key: {}]", vehicleKey);
+
+            return;
+        }
+
+        VhlRoute route = VhlRoute.parse(this.message, VHL_ROUTE_REPORT.ADDRESS_START_IDX, this.receivedMilli);
+
+        // 재시작 이후 받은 경로 ---> 먼저 재시작을 반영해야 다음 VHL_STATE_REPORT 에서 버려지지 않음
+        this._syncMcpRestartEpoch(vehicle);
+        vehicle.setPlannedRoute(route.size() > 1 ? route : null);
+    }
+
+    /*
+    station / machine / power 상태, MCP 재시작 report ---> dataSet 의 해당 항목만 갱신
+    (같은 mcp 의 report 는 같은 partition 에서 순서대로 처리)
+     */
+    private void _processMcpStateReport(OhtReportDecoder report) {
+        if (this.dataSet == null) {
+            logger.error("... dataSet is not ready, mcp state report is discarded [fab: {} | mcp: {} | message: {}]", this.fabId, this.mcpName, this.message);
+
+            return;
+        }
+
+        mcpStateReportCount.increment();
+
+        if (report.tokenEquals(MSG_ID_IDX, MSG_ID.STATION_STATE_REPORT)) {
+            this._processStationStateReport(report);
+        } else if (report.tokenEquals(MSG_ID_IDX, MSG_ID.MACHINE_STATE_REPORT)) {
+            this._processMachineStateReport(report);
+        } else if (report.tokenEquals(MSG_ID_IDX, MSG_ID.POWER_STATE_REPORT)) {
+            this._processPowerStateReport(report);
+        } else {
+            this._processMcpRestartReport();
+        }
+    }
+
+    /*
+    STATION_STATE_REPORT ---> station 의 사용 가능 여부 / carrier 상태 / carrier id 갱신
+     */
+    private void _processStationStateReport(OhtReportDecoder report) {
+        int stationNo = report.getInt(STATION_STATE_REPORT.STATION_NO_IDX);
+
+        if (stationNo == 0) {
+            logger.error("... station number of station state report is empty [fab: {} | mcp: {} | message: {}]", this.fabId, this.mcpName, this.message);
+
+            return;
+        }
+
+        String stationId = this.fabId + ":" + DataSet.STATION_PREFIX + ":" + this.mcpName + ":" + _toStationNo(stationNo);
+        Station station = this.dataSet.getStationMap().get(stationId);
+
+        if (station == null) {
+            logger.error("... station data is null [key: {}]", stationId);
+
+            return;
+        }
+
+        boolean isChanged = station.applyStateReport(
+                report.tokenEquals(STATION_STATE_REPORT.AVAILABLE_IDX, STATION_STATE_REPORT.AVAILABLE),
+                Station.STATION_CARRIER_STATE.of(report.getString(STATION_STATE_REPORT.CARRIER_STATE_IDX)),
+                report.getString(STATION_STATE_REPORT.CARRIER_ID_IDX, ""),
+                this.receivedMilli
+        );
+
+        if (isChanged) {
+            stationStateChangedCount.increment();
+        }
+    }
+
+    // DataService 의 station id 와 같이 5자리 (String.format 미사용)
+    private static String _toStationNo(int stationNo) {
+        String value = Integer.toString(stationNo);
+
+        return value.length() >= 5 ? value : "00000".substring(value.length()) + value;
+    }
+
+    /*
+    MACHINE_STATE_REPORT ---> 설비 사용 가능 여부 갱신
+    - allEqpNameMap 은 설비명만으로 구분하므로 report 의 fab 과 다른 fab 의 설비는 갱신하지 않음
+     */
+    private void _processMachineStateReport(OhtReportDecoder report) {
+        String machineName = report.getString(MACHINE_STATE_REPORT.MACHINE_ID_IDX);
+        Eqp eqp = StringUtils.isNotEmpty(machineName) ? this.dataSet.getAllEqpNameMap().get(machineName) : null;
+
+        if (eqp == null) {
+            logger.error("... machine data is null [fab: {} | mcp: {} | machine: {}]", this.fabId, this.mcpName, machineName);
+
+            return;
+        }
+
+        if (!this.fabId.equals(eqp.getFabId())) {
+            logger.warn("... machine of another fab is ignored [fab: {} | mcp: {} | machine: {} | machine fab: {}]", this.fabId, this.mcpName, machineName, eqp.getFabId());
+
+            return;
+        }
+
+        eqp.setAvailable(report.tokenEquals(MACHINE_STATE_REPORT.AVAILABLE_IDX, MACHINE_STATE_REPORT.AVAILABLE));
+    }
+
+    /*
+    POWER_STATE_REPORT ---> 급전 구역별 마지막 상태 보관 (상태가 바뀐 경우만 log)
+     */
+    private void _processPowerStateReport(OhtReportDecoder report) {
+        String powerId = report.getString(POWER_STATE_REPORT.POWER_ID_IDX);
+
+        if (StringUtils.isEmpty(powerId)) {
+            logger.error("... power id of power state report is empty [fab: {} | mcp: {} | message: {}]", this.fabId, this.mcpName, this.message);
+
+            return;
+        }
+
+        Integer state = report.getInt(POWER_STATE_REPORT.STATE_IDX);
+        Integer lastState = this.dataSet.getPowerStateMap().put(this.fabId + ":" + this.mcpName + ":" + powerId, state);
+
+        if (lastState != null && !lastState.equals(state)) {
+            logger.info("... power state is changed [fab: {} | mcp: {} | power: {}] [{} -> {}]", this.fabId, this.mcpName, powerId, lastState, state);
+        }
+    }
+
+    /*
+    MCP7_RESTART_REPORT ---> 해당 mcp 의 vehicle 만 다시 동기화 (전체 reload 하지 않음)
+    - mcp 의 재시작 epoch 만 증가 ---> 각 vehicle 의 다음 report 를 처리하는 쓰레드가 재시작 전 지문 / 계획 경로를 버리고 전체 과정으로 처리
+    - vehicle 의 지문 / 계획 경로는 vehicle report 를 처리하는 쓰레드에서만 변경 (mcp partition 쓰레드가 직접 초기화하면 처리 중인 report 가 이전 지문을 다시 기록할 수 있음)
+     */
+    private void _processMcpRestartReport() {
+        long epoch = mcpRestartEpochMap
+                .computeIfAbsent(this.fabId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(this.mcpName, k -> new AtomicLong(0L))
+                .incrementAndGet();
+
+        mcpRestartCount.increment();
+
+        logger.info("... mcp is restarted, vehicles of mcp will be resynchronized [fab: {} | mcp: {} | epoch: {}]", this.fabId, this.mcpName, epoch);
+    }
+
+    /*
+    mcp 가 재시작된 이후 처음 처리하는 vehicle report ---> 재시작 전 지문 / 계획 경로 초기화
+     */
+    private void _syncMcpRestartEpoch(Vhl vehicle) {
+        ConcurrentMap<String, AtomicLong> mcpEpochMap = mcpRestartEpochMap.get(this.fabId);
+        AtomicLong epoch = mcpEpochMap != null ? mcpEpochMap.get(this.mcpName) : null;
+
+        if (epoch == null) return;
+
+        long currentEpoch = epoch.get();
+
+        if (vehicle.getMcpRestartEpoch() == currentEpoch) return;
+
+        vehicle.resetReportFingerprint();
+        vehicle.setPlannedRoute(null);
+        vehicle.setMcpRestartEpoch(currentEpoch);
+    }
+
+    /**
+     * 처리한 STATION / MACHINE / POWER 상태, MCP 재시작 report 수
+     */
+    public static long getMcpStateReportCount() {
+        return mcpStateReportCount.sum();
+    }
+
+    /**
+     * STATION_STATE_REPORT 로 상태가 바뀐 station 수 (같은 station 중복 포함)
+     */
+    public static long getStationStateChangedCount() {
+        return stationStateChangedCount.sum();
+    }
+
+    public static long getMcpRestartCount() {
+        return mcpRestartCount.sum();
+    }
+
+    private void _processOhtReport(OhtReportDecoder report) {
+        OhtEndToEndLatencyMetrics endToEndLatencyMetrics = DataService.getInstance().getOhtEndToEndLatencyMetrics();
+
+        if (endToEndLatencyMetrics != null) {
+            this.processStartNanos = endToEndLatencyMetrics.onProcessStarted(this.receivedMilli);
+        }
+
         Vhl vehicle;
-        ReentrantLock vhlLock;
         String keyPrefix = this.fabId + ":" + DataSet.VHL_PREFIX + ":" + this.mcpName;
-        ConcurrentMap<String, Vhl> vehicleMap = DataService.getDataSet().getVhlMap();
+        ConcurrentMap<String, Vhl> vehicleMap = this.dataSet.getVhlMap();
 
         if (vehicleMap == null || vehicleMap.isEmpty()) {
             logger.error("... mapping data of vehicle is empty or null");
@@ -73,55 +449,154 @@ public class OhtMsgWorkerRunnable implements Runnable {
             return;
         }
 
-        if (tokens.length <= VHL_STATE_REPORT.VHL_ID_IDX) {
-            logger.error("... invalid token context, it's not matched index [token length: {}] [message: {}]", tokens.length, message);
+        if (report.getTokenCount() <= VHL_STATE_REPORT.VHL_ID_IDX) {
+            logger.error("... invalid token context, it's not matched index [token length: {}] [message: {}]", report.getTokenCount(), message);
 
             return;
         }
 
-        String vhlName      = tokens[VHL_STATE_REPORT.VHL_ID_IDX];
-        String vehicleKey   = StringUtils.isNotEmpty(vhlName) ? keyPrefix + ":" + vhlName : "";
+        String vhlName      = report.getVhlName();
+        String vehicleKey   = this.vehicleKey != null
+                ? this.vehicleKey
+                : StringUtils.isNotEmpty(vhlName) ? keyPrefix + ":" + vhlName : "";
         vehicle             = vehicleMap.get(vehicleKey);
 
         if (vehicle == null) {
             logger.error("... vehicle data is null [key: {}]", vehicleKey);
+        } else if (VhlPartitionedExecutor.isPartitionThread()) {
+            // 같은 vehicle 의 message 는 같은 partition 쓰레드에서 순서대로 처리 ---> 잠금 불필요
+            if (this._acceptMessageSequence(vehicle)) {
+                this._applyReport(report, vehicle);
+            }
         } else {
             synchronized (vehicle) {
-                try {
-                    long lastMessageSequence = vehicle.getLastMessageSequenceNo().longValue();
+                if (!this._acceptMessageSequence(vehicle)) return;
+            }
 
-                    if (lastMessageSequence > this.messageSequence) {
-                        // sequence 역전 현상 발생시 과정 생략
-                        logger.error("... this sequence of message precedes the last sequence of it [current: {} | last: {}] [fab: {} | mcp: {} | message: {}]", this.messageSequence, lastMessageSequence, this.fabId, this.mcpName, this.message);
+            ReentrantLock vhlLock = vehicle.getLock();
 
-                        return;
-                    } else {
-                        vehicle.getLastMessageSequenceNo().set(messageSequence);
-                    }
-                } catch (Exception e) {
-                    logger.error("", e);
+            try {
+                this._applyReport(report, vehicle);
+            } finally {
+                if (vhlLock != null && vhlLock.isHeldByCurrentThread()) {
+                    vhlLock.unlock();
                 }
             }
+        }
+    }
 
-            vhlLock = vehicle.getLock();
+    /*
+    message sequence 확인 ---> 역전된 경우 false
+     */
+    private boolean _acceptMessageSequence(Vhl vehicle) {
+        try {
+            long lastMessageSequence = vehicle.getLastMessageSequenceNo().longValue();
+
+            if (lastMessageSequence > this.messageSequence) {
+                // sequence 역전 현상 발생시 과정 생략
+                logger.error("... this sequence of message precedes the last sequence of it [current: {} | last: {}] [fab: {} | mcp: {} | message: {}]", this.messageSequence, lastMessageSequence, this.fabId, this.mcpName, this.message);
 
-            if (VHL_STATE.getValue(tokens[VHL_STATE_REPORT.STATE_IDX]) == VHL_STATE.REMOVING) {
-                // `REMOVING` 으로 받을 땐 해당 Vhl 상태 초기화
-                this._updateRemovingVehicle(tokens, vehicle);
+                return false;
             } else {
-                this._updateVehicle(tokens, vehicle, System.currentTimeMillis());
+                vehicle.getLastMessageSequenceNo().set(messageSequence);
             }
+        } catch (Exception e) {
+            logger.error("", e);
+        }
 
-            if (vhlLock != null && vhlLock.isHeldByCurrentThread()) {
-                vhlLock.unlock();
+        return true;
+    }
+
+    private void _applyReport(OhtReportDecoder report, Vhl vehicle) {
+        this._syncMcpRestartEpoch(vehicle);
+
+        if (report.getVhlState() == VHL_STATE.REMOVING) {
+            // `REMOVING` 으로 받을 땐 해당 Vhl 상태 초기화
+            vehicle.resetReportFingerprint();
+            vehicle.setPlannedRoute(null);
+
+            this._updateRemovingVehicle(report, vehicle);
+        } else if (DataService.getInstance().getOhtIngestProperties().isUnchangedReportFastPath()) {
+            long fingerprint = report.fingerprint(FINGERPRINT_TOKEN_INDICES);
+
+            if (this._isUnchangedReport(vehicle, fingerprint)) {
+                this._touchVehicle(vehicle);
+
+                unchangedReportCount.increment();
+            } else {
+                changedReportCount.increment();
+
+                this._updateVehicle(report, vehicle, fingerprint, System.currentTimeMillis());
             }
+        } else {
+            this._updateVehicle(report, vehicle, 0L, System.currentTimeMillis());
+        }
+    }
+
+    /*
+    직전 2개 report 와 지문이 같은 경우 ---> 전체 과정을 다시 수행해도 수신 시각 외에는 바뀌는 것이 없음
+    - STAGE_MOVING: Stage Command Monitoring 의 event 시각을 갱신해야 하므로 제외
+    - vehicle 이 위치한 HID 구간에 HID OFF 기록이 있는 경우: 해제 / 재발생 판단이 필요하므로 제외
+     */
+    private boolean _isUnchangedReport(Vhl vehicle, long fingerprint) {
+        return vehicle.isReportRepeated()
+                && fingerprint == vehicle.getReportFingerprint()
+                && vehicle.getDetailState() != VHL_DET_STATE.STAGE_MOVING
+                && !this._hasHidOffRecord(vehicle);
+    }
+
+    /*
+    vehicle 이 위치한 railEdge 의 HID 구간에 HID OFF 기록이 있는지 (위치를 알 수 없는 경우 true)
+     */
+    private boolean _hasHidOffRecord(Vhl vehicle) {
+        ConcurrentMap<String, HidOffRecordItem> hidOffRecordMap = this.dataSet.getHidOffRecordMap();
+
+        if (hidOffRecordMap.isEmpty()) return false;
+
+        RailEdge railEdge = StringUtils.isNotEmpty(vehicle.getRailEdgeId())
+                ? this.dataSet.getRailEdgeMap().get(vehicle.getRailEdgeId())
+                : null;
+
+        if (railEdge == null) return true;
+
+        OhtVhlPipeline pipeline = OhtVhlPipeline.get(this.fabId, this.mcpName);
+        String hidOffKey = pipeline != null
+                ? pipeline.getHidKey(railEdge.getHIDId())
+                : this.fabId + ":" + this.mcpName + ":" + String.format("%03d", railEdge.getHIDId());
+
+        return hidOffRecordMap.containsKey(hidOffKey);
+    }
+
+    /*
+    변경 없는 report ---> 수신 시각만 반영
+    같은 railEdge 에 머무는 경우의 _setRailEdgeVelocity 와 같이, 이동 중 상태면 수신 시각을 유지하여 이후 이동 시 실제 속도를 반영
+     */
+    private void _touchVehicle(Vhl vehicle) {
+        vehicle.touchReceivedTime(receivedMilli);
+
+        if (this._checkVehicleMovement(vehicle)) {
+            vehicle.setReceivedTime(vehicle.getLastUdpState().receivedTime);
         }
     }
 
+    /**
+     * fast path 로 처리한 report 수
+     */
+    public static long getUnchangedReportCount() {
+        return unchangedReportCount.sum();
+    }
+
+    /**
+     * fast path 사용 시 전체 과정으로 처리한 report 수
+     */
+    public static long getChangedReportCount() {
+        return changedReportCount.sum();
+    }
+
     /*
     vehicle 초기화
      */
-    private void _updateRemovingVehicle(String[] tokens, Vhl vehicle) {
+    private void _updateRemovingVehicle(OhtReportDecoder report, Vhl vehicle) {
         vehicle.copyCurrentVhlUdpStateToLast();
 
         vehicle.setRailNodeId("");
@@ -136,8 +611,8 @@ public class OhtMsgWorkerRunnable implements Runnable {
         vehicle.setVhlCycle(VHL_CYCLE.NONE);
         vehicle.setState(VHL_STATE.REMOVING);
         vehicle.setReceivedTime(receivedMilli);
-        vehicle.setEmStatus(Util.binaryStringToByte(tokens[VHL_STATE_REPORT.EM_STATUS_IDX]));
-        vehicle.setGroupId(tokens[VHL_STATE_REPORT.GROUP_ID_IDX]);
+        vehicle.setEmStatus(Util.binaryStringToByte(report.getEmStatus()));
+        vehicle.setGroupId(report.getGroupId());
         vehicle.setSourcePortId("");
         vehicle.setDestPortId("");
         vehicle.setPriority(0);
@@ -147,7 +622,7 @@ public class OhtMsgWorkerRunnable implements Runnable {
         vehicle.setCommandId("");
 
         if (StringUtils.isNotEmpty(vehicle.getLastUdpState().railEdgeId)) {
-            RailEdge lastRailEdge = DataService.getDataSet().getRailEdgeMap().get(vehicle.getLastUdpState().railEdgeId);
+            RailEdge lastRailEdge = this.dataSet.getRailEdgeMap().get(vehicle.getLastUdpState().railEdgeId);
             lastRailEdge.removeVhlId(vehicle.getId());
             lastRailEdge.addHistory();
         }
@@ -156,44 +631,54 @@ public class OhtMsgWorkerRunnable implements Runnable {
     /**
      * vehicle 정보의 업데이트 & udp 메세지 를 통해 railEdge 정보 획득
      *
-     * @param tokens  Data obtained by udp message
+     * @param report  Data obtained by udp message
      * @param vehicle vehicle to reflect message information
+     * @param fingerprint report 지문 (fast path 미사용 시 0)
      */
-    private void _updateVehicle(String[] tokens, Vhl vehicle, long systemsDateTime) {
-        RailEdge railEdge;
-        VHL_DET_STATE detailStatus = VHL_DET_STATE.getValue(Util.getTokenSafely(tokens, VHL_STATE_REPORT.DET_STATUS_IDX, ""));
-        int address = Util.getIntOrZero(tokens[VHL_STATE_REPORT.ADDRESS_IDX]);
-        String railNodeId = address != 0
-                ? DataSet.address2RailNodeId(this.fabId, this.mcpName, address)
-                : "";
-        int nextAddress = Util.getIntOrZero(tokens[VHL_STATE_REPORT.NEXT_ADDRESS_IDX]);
-        String nextRailNodeId = nextAddress != 0
-                ? DataSet.address2RailNodeId(this.fabId, this.mcpName, nextAddress)
-                : "";
-        String destinationPortId = Util.getTokenSafely(tokens, VHL_STATE_REPORT.DEST_PORT_IDX, "");
-        String railEdgeId = DataSet.address2RailEdgeId(
-                this.fabId,
-                this.mcpName,
-                railNodeId,
-                nextRailNodeId
-        );
+    private void _updateVehicle(OhtReportDecoder report, Vhl vehicle, long fingerprint, long systemsDateTime) {
+        long startNanos = this.startLatency();
+        VHL_DET_STATE detailStatus = report.getDetailState();
+        int address = report.getAddress();
+        int nextAddress = report.getNextAddress();
+        RailTopologyIndex topologyIndex = this.dataSet.getRailTopologyIndex(this.fabId, this.mcpName);
+        // address 로 바로 조회, 문자열 ID 는 조회한 RailEdge 의 것을 그대로 사용
+        RailEdge railEdge = topologyIndex != null && address != 0 && nextAddress != 0
+                ? topologyIndex.getRailEdge(address, nextAddress)
+                : null;
+        String railNodeId;
+        String nextRailNodeId;
+        String railEdgeId;
+
+        if (railEdge != null) {
+            railNodeId = railEdge.getFromNodeId();
+            nextRailNodeId = railEdge.getToNodeId();
+            railEdgeId = railEdge.getId();
+        } else {
+            railNodeId = this._getRailNodeId(topologyIndex, address);
+            nextRailNodeId = this._getRailNodeId(topologyIndex, nextAddress);
+            railEdgeId = DataSet.address2RailEdgeId(
+                    this.fabId,
+                    this.mcpName,
+                    railNodeId,
+                    nextRailNodeId
+            );
+        }
+
+        String destinationPortId = report.getDestPortId();
 //        String carrierId = StringUtils.isNotEmpty(tokens[VHL_STATE_REPORT.CARRIER_ID_IDX])
 //                ? DataSet.CARRIER_PREFIX + ":" + tokens[VHL_STATE_REPORT.CARRIER_ID_IDX]
 //                : "";
 //        String destinationStationId = StringUtils.isNotEmpty(tokens[VHL_STATE_REPORT.DESTINATION_IDX])
 //                ? this.fabId + ":" + DataSet.STATION_PREFIX + ":" + mcpName + ":" + String.format("%05d", Util.getIntOrZero(tokens[VHL_STATE_REPORT.DESTINATION_IDX]))
 //                : "";
-        double distance = Util.getDoubleOrZero(StringUtils.isNotEmpty(tokens[VHL_STATE_REPORT.DISTANCE_IDX])
-                ? tokens[VHL_STATE_REPORT.DISTANCE_IDX]
-                : ""
-        ) * 100L;
-        String errorCode = Util.getTokenSafely(tokens, VHL_STATE_REPORT.ERROR_CODE_IDX, "");
+        double distance = report.getDistance() * 100L;
+        String errorCode = report.getErrorCode();
 
 //        boolean isFull = 0 < Util.getIntOrZero(tokens[VHL_STATE_REPORT.FULL_IDX]);
 //        boolean isOnline = "1".equals(tokens[VHL_STATE_REPORT.ONLINE_IDX]);
-        RUN_CYCLE runCycle = RUN_CYCLE.getValue(tokens[VHL_STATE_REPORT.RUN_CYCLE_IDX]);
-        VHL_CYCLE vhlCycle = VHL_CYCLE.getValue(tokens[VHL_STATE_REPORT.VHL_CYCLE_IDX]);
-        VHL_STATE vhlState = VHL_STATE.getValue(tokens[VHL_STATE_REPORT.STATE_IDX]);
+        RUN_CYCLE runCycle = report.getRunCycle();
+        VHL_CYCLE vhlCycle = report.getVhlCycle();
+        VHL_STATE vhlState = report.getVhlState();
 //        String sourcePortId = StringUtils.isNotEmpty(tokens[VHL_STATE_REPORT.SOURCE_PORT_IDX])
 //                ? DataService.getDataSet().getCarrierContainableByCarrierLoc(tokens[VHL_STATE_REPORT.SOURCE_PORT_IDX], fabId).getId()
 //                : "";
@@ -205,7 +690,7 @@ public class OhtMsgWorkerRunnable implements Runnable {
 //        int priority = StringUtils.isNotEmpty(tokens[VHL_STATE_REPORT.PRIORITY_IDX])
 //                ? Util.getIntOrZero(tokens[VHL_STATE_REPORT.PRIORITY_IDX])
 //                : -1;
-        long runDistance = Long.parseLong(tokens[VHL_STATE_REPORT.RUN_DISTANCE_IDX]);
+        long runDistance = report.getRunDistance();
 
         // setter
         vehicle.copyCurrentVhlUdpStateToLast();
@@ -233,96 +718,147 @@ public class OhtMsgWorkerRunnable implements Runnable {
         vehicle.setRailEdgeId(railEdgeId);
         //~setter
 
-        ConcurrentMap<String, AbstractEdge> edgeMap = DataService.getDataSet().getEdgeMap();
+        if (railEdge == null) {
+            // index 에 없는 경우 (index 구성 전 등) 기존 방식으로 조회
+            AbstractEdge edge = this.dataSet.getEdgeMap().get(railEdgeId);
 
-        if (edgeMap.get(railEdgeId) instanceof RailEdge) {
-            railEdge = (RailEdge) edgeMap.get(railEdgeId);
+            if (edge instanceof RailEdge) {
+                railEdge = (RailEdge) edge;
+            } else {
+                logger.error("... `railEdgeId` selected is not supported [rail edge id: {}]", railEdgeId);
 
-            this._buildRailVelocity(vehicle, railEdge);
-        } else {
-            logger.error("... `railEdgeId` selected is not supported [rail edge id: {}]", railEdgeId);
+                vehicle.resetReportFingerprint();
 
-            return;
+                return;
+            }
         }
 
-        int hidId = railEdge.getHIDId();
-        String machineId = vehicle.getName();
-        String requiredKey = this.fabId + ":" + this.mcpName;
-        String hidOffKey = requiredKey + ":" + String.format("%03d", hidId);
-        String machineKey = requiredKey + ":" + machineId;
-        List<Map<String, String>> messageDataList = new ArrayList<>();
-        FunctionItem functionItem = Env.getSwitchMap().get(requiredKey);
+        vehicle.updateReportFingerprint(fingerprint);
 
-        // HID 구간 별 VHL 수 계산
-        if (functionItem.getUseFunction(FunctionType.VHL_CNT)) {
-            this._calculatedVhlCnt(
-                    hidId,
-                    requiredKey,
-                    vehicle
-            );
-        }
-        //~HID 구간 별 VHL 수 계산
+        startNanos = this.recordLatency(OhtStageLatencyMetrics.STAGE.VEHICLE_UPDATE, startNanos);
 
-        // Stage Command Monitoring
-        if (functionItem.getUseFunction(FunctionType.MAP_FILE_REFRESH)) {
-            this._processStageCommandMonitoring(
-                    detailStatus,
-                    machineKey,
-                    machineId,
-                    destinationPortId,
-                    systemsDateTime
-            );
-        }
-        //~Stage Command Monitoring
+        this._buildRailVelocity(vehicle, railEdge);
 
-        // HIDOFF
-        if (functionItem.getUseFunction(FunctionType.HID_OFF)) {
-            messageDataList.add(
-                    this._processHidOff(
-                            hidId,
-                            hidOffKey,
-                            errorCode,
-                            address,
-                            nextAddress,
-                            systemsDateTime
-                    )
-            );
-        }
-        //~HIDOFF
+        this.recordLatency(OhtStageLatencyMetrics.STAGE.RAIL_VELOCITY, startNanos);
 
-        // VHLOFF
-        if (functionItem.getUseFunction(FunctionType.VHL_OFF)) {
-            messageDataList.addAll(
-                    this._processVhlOff(
-                            machineKey,
-                            vehicle,
-                            errorCode,
-                            address,
-                            nextAddress,
-                            railEdge,
-                            systemsDateTime
-                    )
-            );
+        // switch 반영 시 구성된 단계만 실행 (사용하지 않는 기능은 확인하지 않음)
+        OhtVhlPipeline pipeline = OhtVhlPipeline.get(this.fabId, this.mcpName);
+
+        if (pipeline == null) {
+            logger.error("... pipeline of vehicle report is not built [fab: {} | mcp: {}]", this.fabId, this.mcpName);
+
+            return;
         }
-        //~VHLOFF
+
+        if (pipeline.isEmpty()) return;
+
+        OhtVhlPipeline.Context context = new OhtVhlPipeline.Context(
+                pipeline,
+                vehicle,
+                railEdge,
+                address,
+                nextAddress,
+                errorCode,
+                detailStatus,
+                destinationPortId,
+                systemsDateTime
+        );
+
+        pipeline.apply(this, context, this._getLatencyRecorder());
+
+        List<Map<String, String>> messageDataList = context.getMessageDataList();
 
         if (!messageDataList.isEmpty()) {
-            for (String tibrvKey : DataService.getInstance().getTibrvSenderLikeMap(fabId + ":send:").keySet()) {
-                // 위의 과정을 통해 구성한 Map 데이터로 tib/rv 메세지를 만든 후 송신
-                for (Map<String, String> messageData : messageDataList) {
-                    if (messageData != null && !messageData.isEmpty()) {
-                        String type = messageData.get(LayoutUtil.LAYOUT_MEMBER.DEVICE_TYPE);
+            startNanos = this.startLatency();
 
-                        if (type == null) continue;
+            Set<String> tibrvKeys = DataService.getInstance().getTibrvSenderLikeMap(fabId + ":send:").keySet();
+            OhtEndToEndLatencyMetrics endToEndLatencyMetrics = DataService.getInstance().getOhtEndToEndLatencyMetrics();
 
-                        DataService.getInstance().addTibrvMessageQueue(tibrvKey, type, messageData);
-                    }
+            // 처리 시작 ---> queue 구간은 report 당 한 번 기록 (tib/rv key 수만큼 중복 기록하지 않음)
+            if (endToEndLatencyMetrics != null && this.processStartNanos != 0L && !tibrvKeys.isEmpty()) {
+                endToEndLatencyMetrics.onEnqueued(this.processStartNanos);
+            }
+
+            for (String tibrvKey : tibrvKeys) {
+                // 위의 과정을 통해 구성한 Map 데이터로 tib/rv 메세지를 만든 후 송신
+                for (Map<String, String> messageData : messageDataList) {
+                    String type = messageData.get(LayoutUtil.LAYOUT_MEMBER.DEVICE_TYPE);
+
+                    if (type == null) continue;
+
+                    DataService.getInstance().addTibrvMessageQueue(
+                            tibrvKey,
+                            type,
+                            messageData,
+                            this.fabId,
+                            this.mcpName,
+                            this.receivedMilli,
+                            this.processStartNanos
+                    );
                 }
             }
+
+            this.recordLatency(OhtStageLatencyMetrics.STAGE.TIBRV_ENQUEUE, startNanos);
         }
 
     }
 
+    private static Map<FunctionType, OhtVhlPipeline.Stage> _buildVhlReportStages() {
+        Map<FunctionType, OhtVhlPipeline.Stage> stages = new LinkedHashMap<>();
+
+        // HID 구간 별 VHL 수 계산
+        stages.put(FunctionType.VHL_CNT, (worker, context) -> worker._calculatedVhlCnt(
+                context.getHidId(),
+                context.getPipeline().getRequiredKey(),
+                context.getVehicle()
+        ));
+
+        // Stage Command Monitoring
+        stages.put(FunctionType.MAP_FILE_REFRESH, (worker, context) -> worker._processStageCommandMonitoring(
+                context.getDetailState(),
+                context.getMachineKey(),
+                context.getMachineId(),
+                context.getDestinationPortId(),
+                context.getSystemsDateTime()
+        ));
+
+        // HIDOFF
+        stages.put(FunctionType.HID_OFF, (worker, context) -> context.addMessageData(worker._processHidOff(
+                context.getHidId(),
+                context.getHidOffKey(),
+                context.getErrorCode(),
+                context.getAddress(),
+                context.getNextAddress(),
+                context.getSystemsDateTime()
+        )));
+
+        // VHLOFF
+        stages.put(FunctionType.VHL_OFF, (worker, context) -> context.addMessageDataList(worker._processVhlOff(
+                context.getMachineKey(),
+                context.getVehicle(),
+                context.getErrorCode(),
+                context.getAddress(),
+                context.getNextAddress(),
+                context.getRailEdge(),
+                context.getSystemsDateTime()
+        )));
+
+        return Collections.unmodifiableMap(stages);
+    }
+
+    /*
+    address 의 railNodeId (address 가 0 인 경우 "")
+     */
+    private String _getRailNodeId(RailTopologyIndex topologyIndex, int address) {
+        if (address == 0) return "";
+
+        RailNode railNode = topologyIndex != null ? topologyIndex.getRailNode(address) : null;
+
+        return railNode != null
+                ? railNode.getId()
+                : DataSet.address2RailNodeId(this.fabId, this.mcpName, address);
+    }
+
     /*
      Stage Command Monitoring
      `작업 상태 상세` 값이 103 인 경우 적재 <-> 그외 치유 혹은 생략
@@ -335,7 +871,7 @@ public class OhtMsgWorkerRunnable implements Runnable {
             String portId,
             long systemsDateTime
     ) {
-        ConcurrentMap<String, StageCommandRecordItem> recordMap = DataService.getDataSet().getStageCommandMap();
+        ConcurrentMap<String, StageCommandRecordItem> recordMap = this.dataSet.getStageCommandMap();
         String deviceId = "";
 
         if (recordMap.containsKey(key)) {
@@ -381,13 +917,13 @@ public class OhtMsgWorkerRunnable implements Runnable {
             if (currentHidId > 0) {
                 String v = String.format("%03d", currentHidId);
 
-                DataService.getDataSet().increaseHidVehicleCnt(key + ":" + v);
+                this.dataSet.increaseHidVehicleCnt(key + ":" + v);
             }
 
             if (previousHidId > 0) {
                 String v = String.format("%03d", previousHidId);
 
-                DataService.getDataSet().decreaseHidVehicleCnt(key + ":" + v);
+                this.dataSet.decreaseHidVehicleCnt(key + ":" + v);
             }
             // ===== 기존 코드 유지 끝 =====
 
@@ -808,7 +1344,7 @@ public class OhtMsgWorkerRunnable implements Runnable {
         if (hidId < 0) return new HashMap<>();
 
         Map<String, String> dataMap = new HashMap<>();
-        ConcurrentMap<String, HidOffRecordItem> hidOffRecordMap = DataService.getDataSet().getHidOffRecordMap(); // HID OFF 에 대한 기록 호출, 참조
+        ConcurrentMap<String, HidOffRecordItem> hidOffRecordMap = this.dataSet.getHidOffRecordMap(); // HID OFF 에 대한 기록 호출, 참조
         HidOffRecordItem recordItem;
         ConcurrentMap<String, List<String>> errorCodeList = DataService.getInstance().getOhtAlarmCodeListMap();
 
@@ -817,7 +1353,7 @@ public class OhtMsgWorkerRunnable implements Runnable {
                 logger.info("[HID OFF] The fault has occurred [fab: {} | mcp: {} | error code: {} | hid: {}]", this.fabId, this.mcpName, errorCode, hidId);
 
                 Set<String> addressSet = this._getAddressSet(hidOffKey);
-                ConcurrentMap<String, List<String>> hid2PortMap = DataService.getDataSet().getHid2PortMap();
+                ConcurrentMap<String, List<String>> hid2PortMap = this.dataSet.getHid2PortMap();
                 List<String> portList = hid2PortMap.getOrDefault(hidOffKey, Collections.emptyList());
                 String deviceId = String.valueOf(hidId);
                 String alarmCode = String.format("HID%03d", hidId);
@@ -876,8 +1412,8 @@ public class OhtMsgWorkerRunnable implements Runnable {
     }
 
     private Set<String> _getAddressSet(String hidOffKey) {
-        ConcurrentMap<String, RailEdge> railEdgeMap = DataService.getDataSet().getRailEdgeMap();
-        ConcurrentMap<String, List<String>> railEdge4HidMap = DataService.getDataSet().getRailEdge4HidMap();
+        ConcurrentMap<String, RailEdge> railEdgeMap = this.dataSet.getRailEdgeMap();
+        ConcurrentMap<String, List<String>> railEdge4HidMap = this.dataSet.getRailEdge4HidMap();
         List<String> addressList = new ArrayList<>();
 
         try {
@@ -940,8 +1476,8 @@ public class OhtMsgWorkerRunnable implements Runnable {
         List<VhlOffRecordItem> bufferList = new ArrayList<>();
         List<Map<String, String>> dataList = new ArrayList<>();
 
-        ConcurrentMap<String, VhlOffRecordItem> vhlOffRecordMap = DataService.getDataSet().getVhlOffRecordMap();
-        ConcurrentMap<String, VhlOffRecordItem> vhlOffMonitoringMap = DataService.getDataSet().getVhlOffMonitoringMap();
+        ConcurrentMap<String, VhlOffRecordItem> vhlOffRecordMap = this.dataSet.getVhlOffRecordMap();
+        ConcurrentMap<String, VhlOffRecordItem> vhlOffMonitoringMap = this.dataSet.getVhlOffMonitoringMap();
         ConcurrentMap<String, List<String>> errorCodeList = DataService.getInstance().getOhtAlarmCodeListMap();
         String machineId = vehicle.getName();   // "V00001"
 //        VHL_STATE vehicleState = vehicle.getState();
@@ -1088,7 +1624,7 @@ public class OhtMsgWorkerRunnable implements Runnable {
         String lastRailEdgeId = vehicle.getLastUdpState().railEdgeId;
 
         if (StringUtils.isNotEmpty(lastRailEdgeId)) {
-            lastRailEdge = DataService.getDataSet().getRailEdgeMap().get(lastRailEdgeId);
+            lastRailEdge = this.dataSet.getRailEdgeMap().get(lastRailEdgeId);
             String fromNodeId = railEdge.getFromNodeId();
             String toNodeId = railEdge.getToNodeId();
             String lastFromNodeId = lastRailEdge.getFromNodeId();
@@ -1098,7 +1634,7 @@ public class OhtMsgWorkerRunnable implements Runnable {
                 lastRailEdge.removeVhlId(vehicleId);
 
                 vehicle.getLastUdpState().railEdgeId = railEdgeId;
-                lastRailEdge = DataService.getDataSet().getRailEdgeMap().get(railEdgeId);
+                lastRailEdge = this.dataSet.getRailEdgeMap().get(railEdgeId);
 
                 if (!lastRailEdgeId.equals(vehicle.getRailEdgeId())) {
                     lastRailEdge.removeVhlId(vehicleId);
@@ -1139,10 +1675,7 @@ public class OhtMsgWorkerRunnable implements Runnable {
             railEdge.addVhlId(vehicleId);
 
             if (this._checkVehicleMovement(vehicle)) {
-                ConcurrentLinkedQueue<RailEdge> predictedEdges;
-                RailNode sourceNode = (RailNode) DataService.getDataSet().getNodeMap().get(lastRailEdge.getFromNodeId());
-                RailNode destinationNode = (RailNode) DataService.getDataSet().getNodeMap().get(railEdge.getFromNodeId());
-                predictedEdges = new DijkstraVhlRouteFind(vehicle, sourceNode, destinationNode).getRailEdgeList();
+                ConcurrentLinkedQueue<RailEdge> predictedEdges = this._getPassedRailEdges(vehicle, lastRailEdge, railEdge);
 
                 if(!predictedEdges.isEmpty()) {
                     double currentSumSpeed = this._getCurrentSumSpeed(vehicle, predictedEdges);
@@ -1156,10 +1689,7 @@ public class OhtMsgWorkerRunnable implements Runnable {
                     }
                 }
             } else {
-                ConcurrentLinkedQueue<RailEdge> predictedEdges;
-                RailNode source = (RailNode)DataService.getDataSet().getNodeMap().get(lastRailEdge.getFromNodeId());
-                RailNode dest = (RailNode)DataService.getDataSet().getNodeMap().get(railEdge.getFromNodeId());
-                predictedEdges = new DijkstraVhlRouteFind(vehicle, source, dest).getRailEdgeList();
+                ConcurrentLinkedQueue<RailEdge> predictedEdges = this._getPassedRailEdges(vehicle, lastRailEdge, railEdge);
 
                 if (!predictedEdges.isEmpty()) {
                     for(RailEdge pre : predictedEdges) {
@@ -1179,6 +1709,125 @@ public class OhtMsgWorkerRunnable implements Runnable {
         }
     }
 
+    /**
+     * 직전 railEdge 의 fromNode 부터 현재 railEdge 의 fromNode 까지 지나간 railEdge
+     * - VHL_ROUTE_REPORT 로 받은 계획 경로에 해당 구간이 있으면 경로를 그대로 사용
+     * - 경로가 없거나 오래되었거나 맞지 않는 경우에만 최소 비용 경로로 추정
+     *   (OhtRouteEngine=INDEXED: RailRouteEngine, ASTAR: RailRouteEngine A*, CORRIDOR: RailRouteEngine corridor 탐색,
+     *    HIERARCHY: RailRouteEngine contraction hierarchy, 그 외 또는 index / hierarchy 에 없는 경우: DijkstraVhlRouteFind)
+     * - RailRouteCache 사용 시 같은 구간의 최근 추정 경로를 재사용 (추정 경로는 vehicle / carrier 와 무관 ---> CARRIER_CLASS_ANY)
+     */
+    private ConcurrentLinkedQueue<RailEdge> _getPassedRailEdges(Vhl vehicle, RailEdge lastRailEdge, RailEdge railEdge) {
+        long startNanos = this.startLatency();
+        VhlRoute route = vehicle.getPlannedRoute();
+        RailTopologyIndex topologyIndex = this.dataSet.getRailTopologyIndex(this.fabId, this.mcpName);
+
+        if (route != null && !route.isExpired(this.receivedMilli)) {
+            ConcurrentLinkedQueue<RailEdge> routeEdges = route.resolve(
+                    topologyIndex,
+                    lastRailEdge.getFromAddress(),
+                    railEdge.getFromAddress()
+            );
+
+            if (routeEdges != null) {
+                routeResolvedCount.increment();
+                this.recordLatency(OhtStageLatencyMetrics.STAGE.ROUTE_INFERENCE, startNanos);
+
+                return routeEdges;
+            }
+        }
+
+        ConcurrentLinkedQueue<RailEdge> predictedEdges = null;
+        OhtIngestProperties ingestProperties = DataService.getInstance().getOhtIngestProperties();
+        RailRouteCache routeCache = topologyIndex != null ? DataService.getInstance().getRailRouteCache() : null;
+        long topologyVersion = RailTopologyIndex.getTopologyVersion();    // 탐색 전 version (탐색 중 변경된 경우 cache 된 경로는 다음 조회 시 제외)
+
+        if (routeCache != null) {
+            predictedEdges = routeCache.get(
+                    topologyIndex,
+                    lastRailEdge.getFromAddress(),
+                    railEdge.getFromAddress(),
+                    RailRouteCache.CARRIER_CLASS_ANY,
+                    this.receivedMilli
+            );
+
+            if (predictedEdges != null) {
+                routeCachedCount.increment();
+                this.recordLatency(OhtStageLatencyMetrics.STAGE.ROUTE_INFERENCE, startNanos);
+
+                return predictedEdges;
+            }
+        }
+
+        if (topologyIndex != null && ingestProperties.isHierarchyRouteEngine()) {
+            predictedEdges = RailRouteEngine.forCurrentThread().getHierarchyRailEdgeList(
+                    topologyIndex,
+                    lastRailEdge.getFromAddress(),
+                    railEdge.getFromAddress(),
+                    this.receivedMilli
+            );
+        } else if (topologyIndex != null && ingestProperties.isCorridorRouteEngine()) {
+            predictedEdges = RailRouteEngine.forCurrentThread().getCorridorRailEdgeList(
+                    topologyIndex,
+                    lastRailEdge.getFromAddress(),
+                    railEdge.getFromAddress(),
+                    this.receivedMilli
+            );
+        } else if (topologyIndex != null && (ingestProperties.isIndexedRouteEngine() || ingestProperties.isAStarRouteEngine())) {
+            predictedEdges = RailRouteEngine.forCurrentThread().getRailEdgeList(
+                    topologyIndex,
+                    lastRailEdge.getFromAddress(),
+                    railEdge.getFromAddress(),
+                    ingestProperties.isAStarRouteEngine()
+            );
+        }
+
+        if (predictedEdges == null) {
+            RailNode sourceNode = (RailNode) this.dataSet.getNodeMap().get(lastRailEdge.getFromNodeId());
+            RailNode destinationNode = (RailNode) this.dataSet.getNodeMap().get(railEdge.getFromNodeId());
+
+            predictedEdges = new DijkstraVhlRouteFind(vehicle, sourceNode, destinationNode).getRailEdgeList();
+        }
+
+        if (routeCache != null) {
+            routeCache.put(
+                    topologyIndex,
+                    lastRailEdge.getFromAddress(),
+                    railEdge.getFromAddress(),
+                    RailRouteCache.CARRIER_CLASS_ANY,
+                    predictedEdges,
+                    topologyVersion,
+                    this.receivedMilli
+            );
+        }
+
+        routeInferredCount.increment();
+        this.recordLatency(OhtStageLatencyMetrics.STAGE.ROUTE_INFERENCE, startNanos);
+
+        return predictedEdges;
+    }
+
+    /**
+     * 지나간 railEdge 를 VHL_ROUTE_REPORT 경로로 구한 수
+     */
+    public static long getRouteResolvedCount() {
+        return routeResolvedCount.sum();
+    }
+
+    /**
+     * 지나간 railEdge 를 RailRouteCache 의 추정 경로로 구한 수
+     */
+    public static long getRouteCachedCount() {
+        return routeCachedCount.sum();
+    }
+
+    /**
+     * 지나간 railEdge 를 최소 비용 경로로 추정한 수 (RailRouteEngine / DijkstraVhlRouteFind)
+     */
+    public static long getRouteInferredCount() {
+        return routeInferredCount.sum();
+    }
+
     private double _getCurrentSumSpeed(Vhl vehicle, ConcurrentLinkedQueue<RailEdge> predictedEdges) {
         double distanceSum = 0;
         long lastReceivedMilli = vehicle.getLastUdpState().receivedTime;
@@ -1224,6 +1873,51 @@ public class OhtMsgWorkerRunnable implements Runnable {
         public static final String STATE_REQUEST = "51";
     }
 
+    /**
+     * STATION_STATE_REPORT token 위치
+     */
+    public static class STATION_STATE_REPORT {
+        public static final int TXT_ID_IDX = 0;             // 텍스트 id
+        public static final int MCP_NM_IDX = 1;             // mcp 명칭
+        public static final int STATION_NO_IDX = 2;         // station 번호
+        public static final int AVAILABLE_IDX = 3;          // 사용 가능 여부
+        public static final int CARRIER_STATE_IDX = 4;      // carrier 상태 (Station.STATION_CARRIER_STATE code)
+        public static final int CARRIER_ID_IDX = 5;         // carrier id
+        public static final String AVAILABLE = "1";
+    }
+
+    /**
+     * MACHINE_STATE_REPORT token 위치
+     */
+    public static class MACHINE_STATE_REPORT {
+        public static final int TXT_ID_IDX = 0;             // 텍스트 id
+        public static final int MCP_NM_IDX = 1;             // mcp 명칭
+        public static final int MACHINE_ID_IDX = 2;         // 설비 명
+        public static final int AVAILABLE_IDX = 3;          // 사용 가능 여부
+        public static final String AVAILABLE = "1";
+    }
+
+    /**
+     * POWER_STATE_REPORT token 위치
+     */
+    public static class POWER_STATE_REPORT {
+        public static final int TXT_ID_IDX = 0;             // 텍스트 id
+        public static final int MCP_NM_IDX = 1;             // mcp 명칭
+        public static final int POWER_ID_IDX = 2;           // 급전 구역 id
+        public static final int STATE_IDX = 3;              // 급전 상태
+    }
+
+    /**
+     * VHL_ROUTE_REPORT token 위치
+     * - ADDRESS_START_IDX 부터 마지막 token 까지 주행 순서대로의 address
+     */
+    public static class VHL_ROUTE_REPORT {
+        public static final int TXT_ID_IDX = 0;             // 텍스트 id
+        public static final int MCP_NM_IDX = 1;             // mcp 명칭
+        public static final int VHL_ID_IDX = 2;             // vehicle 명
+        public static final int ADDRESS_START_IDX = 3;      // 경로 address 시작
+    }
+
     public static class VHL_STATE_REPORT {
         public static final int TXT_ID_IDX = 0;             // 텍스트 id
         public static final int MCP_NM_IDX = 1;             // mcp 명칭
@@ -0,0 +1,159 @@
+/**
+ * 적체 시 vehicle 별 VHL_STATE_REPORT conflation
+ * - 전달(offer) 시 vehicle 별 마지막 worker 를 기록하고, 실행 직전에 같은 vehicle 의 더 새로운 report 가 대기 중이면 현재 report 를 생략
+ * - 상태 관련 token(상태, error code, cycle, 상세 상태, 목적 port) 이 새 report 와 모두 같은 경우에만 생략 ---> 상태 전이 / alarm 판단은 그대로 유지
+ * - REMOVING report 는 생략하지 않음
+ * - 생략된 report 구간에서 지나간 rail edge 의 history / 점유 / 속도는 다음 report 처리 시
+ *   _setRailEdgeVelocity 의 경로 보간(DijkstraVhlRouteFind) 으로 반영됨 (직전 처리 edge 와 현재 edge 가 인접하지 않은 경우)
+ * - vehicle 별 순서가 보장되는 VhlPartitionedExecutor 와 함께 사용
+ * - OhtMsgBatchConsumer 는 batch 안의 vehicle 묶음에서 isSameState 로 직접 판단 (onOffered / onConflated 로 지표만 기록)
+ */
+public class OhtReportConflator implements OhtReportConflatorMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(OhtReportConflator.class);
+    private static final int[] STATE_TOKEN_INDICES = {
+            OhtMsgWorkerRunnable.VHL_STATE_REPORT.STATE_IDX,
+            OhtMsgWorkerRunnable.VHL_STATE_REPORT.ERROR_CODE_IDX,
+            OhtMsgWorkerRunnable.VHL_STATE_REPORT.RUN_CYCLE_IDX,
+            OhtMsgWorkerRunnable.VHL_STATE_REPORT.VHL_CYCLE_IDX,
+            OhtMsgWorkerRunnable.VHL_STATE_REPORT.DET_STATUS_IDX,
+            OhtMsgWorkerRunnable.VHL_STATE_REPORT.DEST_PORT_IDX
+    };
+
+    // key: vehicle key ({fabId}:VHL:{mcpName}:{vhlName}), value: 마지막으로 전달된 worker
+    private final ConcurrentMap<String, OhtMsgWorkerRunnable> latestWorkerMap = new ConcurrentHashMap<>();
+    private final LongAdder offeredCount = new LongAdder();
+    private final LongAdder conflatedCount = new LongAdder();
+
+    /**
+     * 실행기에 전달하기 전에 호출 (전달 쓰레드)
+     */
+    public void offer(OhtMsgWorkerRunnable worker) {
+        String vehicleKey = worker.getVehicleKey();
+
+        if (vehicleKey == null) return;
+
+        latestWorkerMap.put(vehicleKey, worker);
+        offeredCount.increment();
+    }
+
+    /**
+     * 실행기 전달에 실패한 경우 기록 제거
+     */
+    public void cancel(OhtMsgWorkerRunnable worker) {
+        String vehicleKey = worker.getVehicleKey();
+
+        if (vehicleKey != null) {
+            latestWorkerMap.remove(vehicleKey, worker);
+        }
+    }
+
+    /**
+     * 실행 직전 호출 (worker 쓰레드)
+     * @param report worker 의 message 를 wrap 한 decoder
+     * @return true: 같은 vehicle 의 더 새로운 report 가 대기 중이고 상태가 같으므로 생략
+     */
+    public boolean isSuperseded(OhtMsgWorkerRunnable worker, OhtReportDecoder report) {
+        String vehicleKey = worker.getVehicleKey();
+
+        if (vehicleKey == null) return false;
+
+        OhtMsgWorkerRunnable latest = latestWorkerMap.get(vehicleKey);
+
+        if (latest == null || latest == worker) {
+            latestWorkerMap.remove(vehicleKey, worker);
+
+            return false;
+        }
+
+        if (!isSameState(report, latest.getMessage())) return false;
+
+        conflatedCount.increment();
+
+        return true;
+    }
+
+    /**
+     * 새 report 와 상태 token 이 모두 같아 현재 report 를 생략할 수 있는지 여부
+     * @param report 현재 report 를 wrap 한 decoder
+     */
+    public boolean isSameState(OhtReportDecoder report, String newerMessage) {
+        if (!OhtMsgWorkerRunnable.isVhlStateReport(report) || report.getVhlState() == VHL_STATE.REMOVING) return false;
+
+        OhtReportDecoder latestReport = OhtReportDecoder.secondaryForCurrentThread().wrap(newerMessage);
+
+        // VHL_ROUTE_REPORT 와는 비교하지 않음
+        if (!OhtMsgWorkerRunnable.isVhlStateReport(latestReport)) return false;
+
+        for (int index : STATE_TOKEN_INDICES) {
+            if (!report.tokenEquals(index, latestReport)) return false;
+        }
+
+        return true;
+    }
+
+    public void onOffered(int count) {
+        offeredCount.add(count);
+    }
+
+    public void onConflated() {
+        conflatedCount.increment();
+    }
+
+    @Override
+    public long getOfferedCount() {
+        return offeredCount.sum();
+    }
+
+    @Override
+    public long getConflatedCount() {
+        return conflatedCount.sum();
+    }
+
+    /**
+     * 생략한 report 비율 (생략 수 / 전달 수)
+     */
+    @Override
+    public double getConflationRatio() {
+        long offered = offeredCount.sum();
+
+        return offered > 0 ? (double) conflatedCount.sum() / offered : 0.0;
+    }
+
+    @Override
+    public int getPendingVehicleCount() {
+        return latestWorkerMap.size();
+    }
+
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, _getObjectName());
+        } catch (InstanceAlreadyExistsException e) {
+            logger.warn("... oht report conflator is already registered");
+        } catch (Exception e) {
+            logger.error("... failed to register oht report conflator", e);
+        }
+    }
+
+    public void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = _getObjectName();
+
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (Exception e) {
+            logger.error("... failed to unregister oht report conflator", e);
+        }
+    }
+
+    private ObjectName _getObjectName() throws MalformedObjectNameException {
+        return new ObjectName("OHT:type=OhtReportConflator");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[conflation] offered: %d | conflated: %d | ratio: %.3f | pending vehicle: %d",
+                getOfferedCount(), getConflatedCount(), getConflationRatio(), getPendingVehicleCount());
+    }
+}
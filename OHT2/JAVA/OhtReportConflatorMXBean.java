@@ -0,0 +1,12 @@
+/**
+ * VHL_STATE_REPORT conflation 지표 JMX 조회용 (ObjectName: OHT:type=OhtReportConflator)
+ */
+public interface OhtReportConflatorMXBean {
+    long getOfferedCount();
+
+    long getConflatedCount();
+
+    double getConflationRatio();
+
+    int getPendingVehicleCount();
+}
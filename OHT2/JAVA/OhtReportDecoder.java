@@ -0,0 +1,355 @@
+/**
+ * OHT UDP message(',' 구분) flyweight decoder
+ * - message 를 token String 배열로 나누지 않고, token 의 시작/끝 위치만 기록한 뒤 필요한 값만 변환
+ * - 숫자 token 은 문자열 생성 없이 바로 int / long / double 로 변환
+ * - String 이 필요한 token(errorCode, destPortId 등) 만 호출 시점에 생성
+ * - Vhl 상태 enum 은 VhlCodeTable 로 token 구간에서 바로 조회
+ * - 쓰레드마다 하나의 instance 를 재사용 (forCurrentThread)
+ *
+ * 변환 규칙은 기존 방식과 동일
+ * - getInt / getDouble : Util.getIntOrZero / Util.getDoubleOrZero 와 같이 비어 있거나 숫자가 아니면 0
+ * - getString(index, defaultValue) : Util.getTokenSafely 와 같이 token 이 없으면 defaultValue
+ */
+public final class OhtReportDecoder {
+    private static final int MAX_TOKEN_COUNT = 64;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+    private static final ThreadLocal<OhtReportDecoder> DECODER = ThreadLocal.withInitial(OhtReportDecoder::new);
+    private static final ThreadLocal<OhtReportDecoder> SECONDARY_DECODER = ThreadLocal.withInitial(OhtReportDecoder::new);
+
+    private final int[] tokenStarts = new int[MAX_TOKEN_COUNT];
+    private final int[] tokenEnds = new int[MAX_TOKEN_COUNT];
+    private CharSequence source = "";
+    private int tokenCount = 0;
+
+    public static OhtReportDecoder forCurrentThread() {
+        return DECODER.get();
+    }
+
+    // 다른 message 와 비교할 때 사용 (forCurrentThread 의 instance 를 덮어쓰지 않도록 별도 instance)
+    public static OhtReportDecoder secondaryForCurrentThread() {
+        return SECONDARY_DECODER.get();
+    }
+
+    /**
+     * message 의 token 위치 확인 (StringUtils.splitPreserveAllTokens 와 같이 빈 token 도 유지)
+     */
+    public OhtReportDecoder wrap(CharSequence message) {
+        this.source = message == null ? "" : message;
+        this.tokenCount = 0;
+
+        int length = source.length();
+        int start = 0;
+
+        if (length == 0) {
+            return this;
+        }
+
+        for (int i = 0; i < length && tokenCount < MAX_TOKEN_COUNT - 1; i++) {
+            if (source.charAt(i) == ',') {
+                tokenStarts[tokenCount] = start;
+                tokenEnds[tokenCount] = i;
+                tokenCount++;
+                start = i + 1;
+            }
+        }
+
+        tokenStarts[tokenCount] = start;
+        tokenEnds[tokenCount] = length;
+        tokenCount++;
+
+        return this;
+    }
+
+    public CharSequence getSource() {
+        return source;
+    }
+
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    public boolean hasToken(int index) {
+        return index >= 0 && index < tokenCount;
+    }
+
+    public int getTokenStart(int index) {
+        return tokenStarts[index];
+    }
+
+    public int getTokenEnd(int index) {
+        return tokenEnds[index];
+    }
+
+    public boolean isEmpty(int index) {
+        return !hasToken(index) || tokenStarts[index] == tokenEnds[index];
+    }
+
+    public boolean tokenEquals(int index, String value) {
+        if (!hasToken(index)) return false;
+
+        int start = tokenStarts[index];
+        int length = tokenEnds[index] - start;
+
+        if (length != value.length()) return false;
+
+        for (int i = 0; i < length; i++) {
+            if (source.charAt(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 다른 decoder 의 같은 index token 과 비교 (둘 다 없는 경우 true)
+     */
+    public boolean tokenEquals(int index, OhtReportDecoder other) {
+        if (!hasToken(index) || !other.hasToken(index)) {
+            return hasToken(index) == other.hasToken(index);
+        }
+
+        int start = tokenStarts[index];
+        int length = tokenEnds[index] - start;
+        int otherStart = other.tokenStarts[index];
+
+        if (length != other.tokenEnds[index] - otherStart) return false;
+
+        for (int i = 0; i < length; i++) {
+            if (source.charAt(start + i) != other.source.charAt(otherStart + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * token 의 String.hashCode 와 같은 값 (문자열 생성 없이 계산)
+     * @return token 이 없는 경우 0
+     */
+    public int tokenHashCode(int index) {
+        if (!hasToken(index)) return 0;
+
+        int hash = 0;
+
+        for (int i = tokenStarts[index], end = tokenEnds[index]; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+
+        return hash;
+    }
+
+    /**
+     * 여러 token 의 64bit 지문 (FNV-1a, token 구분자 포함) ---> 직전 report 와 내용이 같은지 비교할 때 사용
+     * - 없는 token 과 빈 token 은 다른 값
+     * @return 0 이 아닌 값 (0 은 "지문 없음" 으로 사용)
+     */
+    public long fingerprint(int[] indices) {
+        long hash = 0xCBF29CE484222325L;
+
+        for (int index : indices) {
+            if (hasToken(index)) {
+                for (int i = tokenStarts[index], end = tokenEnds[index]; i < end; i++) {
+                    hash = (hash ^ source.charAt(i)) * 0x100000001B3L;
+                }
+
+                hash = (hash ^ ',') * 0x100000001B3L;
+            } else {
+                hash = (hash ^ 0xFFFF) * 0x100000001B3L;
+            }
+        }
+
+        return hash == 0L ? 1L : hash;
+    }
+
+    public String getString(int index) {
+        return getString(index, "");
+    }
+
+    public String getString(int index, String defaultValue) {
+        if (!hasToken(index)) return defaultValue;
+
+        return source.subSequence(tokenStarts[index], tokenEnds[index]).toString();
+    }
+
+    public int getInt(int index) {
+        long value = getLong(index);
+
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? 0 : (int) value;
+    }
+
+    /**
+     * 부호 있는 10진 정수 변환
+     * @return 비어 있거나 숫자가 아닌 경우 0
+     */
+    public long getLong(int index) {
+        if (isEmpty(index)) return 0L;
+
+        int position = tokenStarts[index];
+        int end = tokenEnds[index];
+        boolean isNegative = false;
+        char first = source.charAt(position);
+
+        if (first == '-' || first == '+') {
+            isNegative = first == '-';
+            position++;
+
+            if (position == end) return 0L;
+        }
+
+        if (end - position > 18) {
+            // long 범위를 넘을 수 있는 경우
+            try {
+                return Long.parseLong(getString(index));
+            } catch (NumberFormatException e) {
+                return 0L;
+            }
+        }
+
+        long value = 0L;
+
+        for (; position < end; position++) {
+            int digit = source.charAt(position) - '0';
+
+            if (digit < 0 || digit > 9) return 0L;
+
+            value = value * 10 + digit;
+        }
+
+        return isNegative ? -value : value;
+    }
+
+    /**
+     * 10진 소수 변환 ("12", "12.5", "-0.25")
+     * - 정수부+소수부 자릿수가 15 이하인 경우 두 값 모두 double 로 정확히 표현되므로 나눗셈 결과가 Double.parseDouble 과 동일
+     * - 그 외 형식(지수 표기 등)은 Double.parseDouble 로 변환
+     * @return 비어 있거나 숫자가 아닌 경우 0
+     */
+    public double getDouble(int index) {
+        if (isEmpty(index)) return 0.0;
+
+        int position = tokenStarts[index];
+        int end = tokenEnds[index];
+        boolean isNegative = false;
+        char first = source.charAt(position);
+
+        if (first == '-' || first == '+') {
+            isNegative = first == '-';
+            position++;
+        }
+
+        long mantissa = 0L;
+        int digitCount = 0;
+        int fractionDigitCount = -1;
+
+        for (; position < end; position++) {
+            char c = source.charAt(position);
+
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digitCount++;
+
+                if (fractionDigitCount >= 0) {
+                    fractionDigitCount++;
+                }
+            } else if (c == '.' && fractionDigitCount < 0) {
+                fractionDigitCount = 0;
+            } else {
+                return this._parseDoubleSlowly(index);
+            }
+        }
+
+        if (digitCount == 0) return 0.0;
+
+        if (digitCount > 15) return this._parseDoubleSlowly(index);
+
+        double value = fractionDigitCount > 0 ? mantissa / POWERS_OF_TEN[fractionDigitCount] : mantissa;
+
+        return isNegative ? -value : value;
+    }
+
+    private double _parseDoubleSlowly(int index) {
+        try {
+            return Double.parseDouble(getString(index));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    // VHL_STATE_REPORT 항목 ---------------------------------------------------------------
+
+    public String getVhlName() {
+        return getString(OhtMsgWorkerRunnable.VHL_STATE_REPORT.VHL_ID_IDX);
+    }
+
+    public int getAddress() {
+        return getInt(OhtMsgWorkerRunnable.VHL_STATE_REPORT.ADDRESS_IDX);
+    }
+
+    public int getNextAddress() {
+        return getInt(OhtMsgWorkerRunnable.VHL_STATE_REPORT.NEXT_ADDRESS_IDX);
+    }
+
+    public double getDistance() {
+        return getDouble(OhtMsgWorkerRunnable.VHL_STATE_REPORT.DISTANCE_IDX);
+    }
+
+    public int getStateCode() {
+        return getInt(OhtMsgWorkerRunnable.VHL_STATE_REPORT.STATE_IDX);
+    }
+
+    // enum code 는 문자열 생성 없이 token 구간으로 바로 조회 (token 이 없으면 각 enum 의 기본값)
+    public VHL_STATE getVhlState() {
+        int index = OhtMsgWorkerRunnable.VHL_STATE_REPORT.STATE_IDX;
+
+        return hasToken(index) ? VHL_STATE.getValue(source, tokenStarts[index], tokenEnds[index]) : VHL_STATE.REMOVING;
+    }
+
+    public VHL_DET_STATE getDetailState() {
+        int index = OhtMsgWorkerRunnable.VHL_STATE_REPORT.DET_STATUS_IDX;
+
+        return hasToken(index) ? VHL_DET_STATE.getValue(source, tokenStarts[index], tokenEnds[index]) : VHL_DET_STATE.NONE;
+    }
+
+    public RUN_CYCLE getRunCycle() {
+        int index = OhtMsgWorkerRunnable.VHL_STATE_REPORT.RUN_CYCLE_IDX;
+
+        return hasToken(index) ? RUN_CYCLE.getValue(source, tokenStarts[index], tokenEnds[index]) : RUN_CYCLE.NONE;
+    }
+
+    public VHL_CYCLE getVhlCycle() {
+        int index = OhtMsgWorkerRunnable.VHL_STATE_REPORT.VHL_CYCLE_IDX;
+
+        return hasToken(index) ? VHL_CYCLE.getValue(source, tokenStarts[index], tokenEnds[index]) : VHL_CYCLE.NONE;
+    }
+
+    public long getRunDistance() {
+        return getLong(OhtMsgWorkerRunnable.VHL_STATE_REPORT.RUN_DISTANCE_IDX);
+    }
+
+    public String getErrorCode() {
+        return getString(OhtMsgWorkerRunnable.VHL_STATE_REPORT.ERROR_CODE_IDX, "");
+    }
+
+    public String getDestPortId() {
+        return getString(OhtMsgWorkerRunnable.VHL_STATE_REPORT.DEST_PORT_IDX, "");
+    }
+
+    public String getGroupId() {
+        return getString(OhtMsgWorkerRunnable.VHL_STATE_REPORT.GROUP_ID_IDX);
+    }
+
+    public String getEmStatus() {
+        return getString(OhtMsgWorkerRunnable.VHL_STATE_REPORT.EM_STATUS_IDX);
+    }
+    //~VHL_STATE_REPORT 항목
+
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+}
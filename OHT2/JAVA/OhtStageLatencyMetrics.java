@@ -0,0 +1,356 @@
+/**
+ * OhtMsgWorkerRunnable 처리 단계별 소요 시간 (fab, mcp 별)
+ * - nano 단위 log-linear histogram (HdrHistogram 과 같은 방식: 2의 거듭제곱 구간을 8개 sub bucket 으로 나눔 ---> 상대 오차 12.5% 이하)
+ * - 기록 시에는 AtomicLongArray / LongAdder 증가만 수행하고, percentile 은 조회 시 계산
+ * - RAIL_VELOCITY 는 그 안에서 수행되는 ROUTE_INFERENCE 시간을 포함
+ * - JMX(OhtStageLatencyMetricsMXBean) 또는 DataService.getOhtStageLatencyMetrics() 로 조회 / 초기화
+ * - OhtStageLatencyEnabled=true 인 경우에만 생성 ---> 미사용 시 worker 는 null 확인만 수행
+ */
+public class OhtStageLatencyMetrics implements OhtStageLatencyMetricsMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(OhtStageLatencyMetrics.class);
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;    // 2^40 ns (약 18분) 이상은 마지막 bucket
+    public static final int BUCKET_COUNT = 2 * SUB_BUCKET_COUNT + (MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    public enum STAGE {
+        DECODE,             // message token 위치 확인
+        VEHICLE_UPDATE,     // token 변환, vehicle 반영, rail edge 조회
+        RAIL_VELOCITY,      // _buildRailVelocity (ROUTE_INFERENCE 포함)
+        ROUTE_INFERENCE,    // 인접하지 않은 edge 사이 경로 추정 (DijkstraVhlRouteFind)
+        VHL_CNT,            // _calculatedVhlCnt
+        STAGE_COMMAND,      // _processStageCommandMonitoring
+        HID_OFF,            // _processHidOff
+        VHL_OFF,            // _processVhlOff
+        TIBRV_ENQUEUE;      // tib/rv message queue 전달
+
+        /**
+         * OhtVhlPipeline 단계의 FunctionType 에 대응하는 STAGE
+         * @return 대응하는 STAGE 가 없는 경우 null (기록하지 않음)
+         */
+        public static STAGE of(FunctionType functionType) {
+            switch (functionType) {
+                case VHL_CNT:
+                    return VHL_CNT;
+                case MAP_FILE_REFRESH:
+                    return STAGE_COMMAND;
+                case HID_OFF:
+                    return HID_OFF;
+                case VHL_OFF:
+                    return VHL_OFF;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    // fabId -> mcpName -> recorder
+    private final ConcurrentMap<String, ConcurrentMap<String, Recorder>> recorderMap = new ConcurrentHashMap<>();
+    private volatile long resetTimeMillis = System.currentTimeMillis();
+
+    public Recorder getRecorder(String fabId, String mcpName) {
+        ConcurrentMap<String, Recorder> mcpRecorderMap = recorderMap.get(fabId);
+
+        if (mcpRecorderMap == null) {
+            mcpRecorderMap = recorderMap.computeIfAbsent(fabId, k -> new ConcurrentHashMap<>());
+        }
+
+        Recorder recorder = mcpRecorderMap.get(mcpName);
+
+        if (recorder == null) {
+            recorder = mcpRecorderMap.computeIfAbsent(mcpName, k -> new Recorder(fabId, mcpName));
+        }
+
+        return recorder;
+    }
+
+    public Map<String, ConcurrentMap<String, Recorder>> getRecorderMap() {
+        return recorderMap;
+    }
+
+    /**
+     * 전체 histogram 초기화 (기록 중인 값 일부는 초기화 전후 어느 쪽에든 포함될 수 있음)
+     */
+    @Override
+    public void reset() {
+        for (ConcurrentMap<String, Recorder> mcpRecorderMap : recorderMap.values()) {
+            for (Recorder recorder : mcpRecorderMap.values()) {
+                recorder.reset();
+            }
+        }
+
+        resetTimeMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public long getResetTimeMillis() {
+        return resetTimeMillis;
+    }
+
+    @Override
+    public Map<String, Long> getStageCounts() {
+        Map<String, Long> result = new TreeMap<>();
+
+        _forEachHistogram((key, histogram) -> result.put(key, histogram.getCount()));
+
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getStageTotalMillis() {
+        Map<String, Double> result = new TreeMap<>();
+
+        _forEachHistogram((key, histogram) -> result.put(key, histogram.getTotalNanos() / 1e6));
+
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getStageMeanMicros() {
+        Map<String, Double> result = new TreeMap<>();
+
+        _forEachHistogram((key, histogram) -> result.put(key, histogram.getMeanNanos() / 1e3));
+
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getStageP50Micros() {
+        return _getPercentileMicros(0.5);
+    }
+
+    @Override
+    public Map<String, Double> getStageP99Micros() {
+        return _getPercentileMicros(0.99);
+    }
+
+    @Override
+    public Map<String, Double> getStageP999Micros() {
+        return _getPercentileMicros(0.999);
+    }
+
+    @Override
+    public Map<String, Double> getStageMaxMicros() {
+        Map<String, Double> result = new TreeMap<>();
+
+        _forEachHistogram((key, histogram) -> result.put(key, histogram.getMaxNanos() / 1e3));
+
+        return result;
+    }
+
+    private Map<String, Double> _getPercentileMicros(double quantile) {
+        Map<String, Double> result = new TreeMap<>();
+
+        _forEachHistogram((key, histogram) -> result.put(key, histogram.getValueAtQuantile(quantile) / 1e3));
+
+        return result;
+    }
+
+    // 기록이 있는 histogram 만 ({fabId}:{mcpName}:{STAGE})
+    private void _forEachHistogram(BiConsumer<String, Histogram> consumer) {
+        for (ConcurrentMap<String, Recorder> mcpRecorderMap : recorderMap.values()) {
+            for (Recorder recorder : mcpRecorderMap.values()) {
+                for (STAGE stage : STAGE.values()) {
+                    Histogram histogram = recorder.getHistogram(stage);
+
+                    if (histogram.getCount() > 0) {
+                        consumer.accept(recorder.fabId + ":" + recorder.mcpName + ":" + stage.name(), histogram);
+                    }
+                }
+            }
+        }
+    }
+
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, _getObjectName());
+        } catch (InstanceAlreadyExistsException e) {
+            logger.warn("... oht stage latency metrics is already registered");
+        } catch (Exception e) {
+            logger.error("... failed to register oht stage latency metrics", e);
+        }
+    }
+
+    public void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = _getObjectName();
+
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (Exception e) {
+            logger.error("... failed to unregister oht stage latency metrics", e);
+        }
+    }
+
+    private ObjectName _getObjectName() throws MalformedObjectNameException {
+        return new ObjectName("OHT:type=OhtStageLatencyMetrics");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[stage latency]");
+
+        _forEachHistogram((key, histogram) -> builder.append(String.format(
+                " | %s(count: %d, p50: %.1fus, p99: %.1fus, max: %.1fus)",
+                key,
+                histogram.getCount(),
+                histogram.getValueAtQuantile(0.5) / 1e3,
+                histogram.getValueAtQuantile(0.99) / 1e3,
+                histogram.getMaxNanos() / 1e3
+        )));
+
+        return builder.toString();
+    }
+
+    public static int bucketOf(long nanos) {
+        if (nanos < 2 * SUB_BUCKET_COUNT) return nanos <= 0L ? 0 : (int) nanos;
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+
+        if (magnitude >= MAX_MAGNITUDE) return BUCKET_COUNT - 1;
+
+        int subBucket = (int) (nanos >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+        return 2 * SUB_BUCKET_COUNT + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * bucket 에 속하는 값의 상한 (percentile 조회 시 사용)
+     */
+    public static long highestValueOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKET_COUNT) return bucket;
+
+        int offset = bucket - 2 * SUB_BUCKET_COUNT;
+        int magnitude = offset / SUB_BUCKET_COUNT + SUB_BUCKET_BITS + 1;
+        int subBucket = offset % SUB_BUCKET_COUNT;
+        int shift = magnitude - SUB_BUCKET_BITS;
+
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * (fab, mcp) 의 단계별 histogram
+     */
+    public static class Recorder {
+        private final String fabId;
+        private final String mcpName;
+        private final Histogram[] histograms = new Histogram[STAGE.values().length];
+
+        private Recorder(String fabId, String mcpName) {
+            this.fabId = fabId;
+            this.mcpName = mcpName;
+
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new Histogram();
+            }
+        }
+
+        /**
+         * startNanos 부터 현재까지의 시간 기록
+         * @return 현재 시각 (다음 단계의 startNanos 로 사용)
+         */
+        public long record(STAGE stage, long startNanos) {
+            long now = System.nanoTime();
+
+            histograms[stage.ordinal()].record(now - startNanos);
+
+            return now;
+        }
+
+        public Histogram getHistogram(STAGE stage) {
+            return histograms[stage.ordinal()];
+        }
+
+        public String getFabId() {
+            return fabId;
+        }
+
+        public String getMcpName() {
+            return mcpName;
+        }
+
+        private void reset() {
+            for (Histogram histogram : histograms) {
+                histogram.reset();
+            }
+        }
+    }
+
+    public static class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong(0L);
+
+        public void record(long nanos) {
+            counts.incrementAndGet(bucketOf(nanos));
+            count.increment();
+            totalNanos.add(nanos);
+
+            long max;
+
+            while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+                // 최대값 갱신
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public double getMeanNanos() {
+            long total = count.sum();
+
+            return total > 0 ? (double) totalNanos.sum() / total : 0.0;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * @param quantile 0.0 ~ 1.0
+         * @return 해당 순위 값이 속한 bucket 의 상한 (최대값을 넘지 않음), 기록이 없으면 0
+         */
+        public long getValueAtQuantile(double quantile) {
+            long[] snapshot = new long[BUCKET_COUNT];
+            long total = 0L;
+
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                snapshot[i] = counts.get(i);
+                total += snapshot[i];
+            }
+
+            if (total == 0L) return 0L;
+
+            long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+            long cumulative = 0L;
+
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                cumulative += snapshot[i];
+
+                if (cumulative >= rank) {
+                    return Math.min(highestValueOf(i), maxNanos.get());
+                }
+            }
+
+            return maxNanos.get();
+        }
+
+        public void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts.set(i, 0L);
+            }
+
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0L);
+        }
+    }
+}
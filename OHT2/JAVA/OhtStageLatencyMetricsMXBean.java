@@ -0,0 +1,23 @@
+/**
+ * OhtMsgWorkerRunnable 단계별 소요 시간 JMX 조회용 (ObjectName: OHT:type=OhtStageLatencyMetrics)
+ * - key: {fabId}:{mcpName}:{STAGE}
+ */
+public interface OhtStageLatencyMetricsMXBean {
+    Map<String, Long> getStageCounts();
+
+    Map<String, Double> getStageTotalMillis();
+
+    Map<String, Double> getStageMeanMicros();
+
+    Map<String, Double> getStageP50Micros();
+
+    Map<String, Double> getStageP99Micros();
+
+    Map<String, Double> getStageP999Micros();
+
+    Map<String, Double> getStageMaxMicros();
+
+    long getResetTimeMillis();
+
+    void reset();
+}
@@ -0,0 +1,93 @@
+/**
+ * UDP 수신용 direct ByteBuffer pool
+ * - 수신 쓰레드가 packet 마다 byte[] / DatagramPacket 을 새로 만들지 않도록 미리 할당한 buffer 를 재사용
+ * - pool 이 비어 있는 경우에만 추가 할당하며, 그 횟수는 overflowAllocationCount 로 확인
+ * - 수신 쓰레드 하나가 소유 (acquire / release 는 해당 쓰레드에서만 호출) ---> 잠금 없는 free list
+ */
+public class OhtUdpBufferPool {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final ArrayDeque<ByteBuffer> pool;
+    private final int poolSize;
+    private final int bufferSize;
+    private volatile long overflowAllocationCount = 0L;    // 수신 쓰레드만 변경
+
+    public OhtUdpBufferPool(int poolSize, int bufferSize) {
+        this.poolSize = Math.max(1, poolSize);
+        this.pool = new ArrayDeque<>(this.poolSize);
+        this.bufferSize = bufferSize;
+
+        for (int i = 0; i < poolSize; i++) {
+            pool.push(ByteBuffer.allocateDirect(bufferSize));
+        }
+    }
+
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+
+        if (buffer == null) {
+            overflowAllocationCount++;
+
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        buffer.clear();
+
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (buffer == null) return;
+
+        buffer.clear();
+
+        if (pool.size() < poolSize) {
+            pool.push(buffer);
+        } else {
+            // pool 이 가득 찬 경우(추가 할당분) 는 GC 에 맡김
+            logger.debug("... udp buffer pool is full, the buffer is discarded [capacity: {}]", bufferSize);
+        }
+    }
+
+    /**
+     * 수신한 길이(position ~ limit) 만큼만 읽어 앞뒤 공백/NUL 을 제외한 문자열로 변환
+     * - 기존 `new String(packet.getData()).trim()` 과 동일한 결과 (1500 byte 전체를 변환하지 않음)
+     * @param buffer flip 된 수신 buffer
+     * @param scratch 수신 쓰레드 전용 작업 배열 (buffer 크기 이상)
+     * @return 변환된 message, 내용이 없는 경우 ""
+     */
+    public static String decodeTrimmed(ByteBuffer buffer, byte[] scratch) {
+        int length = buffer.remaining();
+
+        buffer.get(scratch, 0, length);
+
+        int start = 0;
+        int end = length;
+
+        while (start < end && (scratch[start] & 0xFF) <= ' ') {
+            start++;
+        }
+
+        while (end > start && (scratch[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+
+        if (start == end) {
+            return "";
+        }
+
+        return new String(scratch, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    // 수신 쓰레드 외에서 조회하는 경우 근사값
+    public int getAvailableCount() {
+        return pool.size();
+    }
+
+    public long getOverflowAllocationCount() {
+        return overflowAllocationCount;
+    }
+}
@@ -4,16 +4,24 @@ public class OhtUdpListener {
     private static final String PORT_OPEN_LOG = "> opened port : {} [fab: {} | mcp: {}]";
     boolean isMultiListener = false;
     Map<String,String[]> ipFabMcpNameMap = new HashMap<>();
+    final OhtUdpSourceTable sourceTable = new OhtUdpSourceTable();    // IPv4(int) ---> 송신지, addListenMcpIp 시점에 구성
+    private OhtIngestMetrics metrics = new OhtIngestMetrics(0);    // start() 시 port 기준으로 생성, JMX 등록
     String fabId = "";
     String mcpName  = "";
     int port;
     boolean isRunning = false;
     Thread receiveThread = null;
     DatagramSocket socket = null;
+    DatagramChannel channel = null;
+    final List<OhtUdpReceiveShard> shards = new CopyOnWriteArrayList<>();
+    // port 전환 후 grace 기간 동안 남은 datagram 을 수신 중인 이전 socket / shard
+    private final List<DatagramSocket> retiringSockets = new CopyOnWriteArrayList<>();
+    private final List<OhtUdpReceiveShard> retiringShards = new CopyOnWriteArrayList<>();
+    private OhtUdpSource localSource = null;
 
     // UDP 수신 모니터링 (30초 간격 로그)
     private volatile long lastUdpRecvTime = 0L;
-    private volatile long udpRecvCount = 0L;
+    private final LongAdder udpRecvCount = new LongAdder();
     private volatile long lastUdpLogTime = System.currentTimeMillis();
     private static final long UDP_LOG_INTERVAL = 30_000L;
 
@@ -36,6 +44,8 @@ public class OhtUdpListener {
         if (ips.length > 1) {
             for (String ip : ips) {
                 ipFabMcpNameMap.put(ip.trim(), new String[] {fabId, mcpName});
+
+                this._addSource(fabId, mcpName, ip.trim());
             }
 
             isMultiListener = true;
@@ -48,143 +58,459 @@ public class OhtUdpListener {
         }
     }
 
-    public void start() {
+    // 수신 시 문자열 변환 없이 조회할 수 있도록 IPv4 주소를 int 로 변환하여 등록
+    private void _addSource(String fabId, String mcpName, String ip) {
+        try {
+            InetAddress address = InetAddress.getByName(ip);
+
+            if (!(address instanceof Inet4Address)) {
+                logger.warn("[fab: {} | mcp: {}] only IPv4 address is supported for the shared port [ip: {}]", fabId, mcpName, ip);
+
+                return;
+            }
+
+            sourceTable.put(new OhtUdpSource(OhtUdpSource.toIpv4Key(address.getAddress()), ip, fabId, mcpName));
+        } catch (UnknownHostException e) {
+            logger.error("[fab: {} | mcp: {}] invalid ip address [ip: {}]", fabId, mcpName, ip, e);
+        }
+    }
+
+    public synchronized void start() {
         isRunning = true;
 
         logger.info("[fab: {} | mcp: {}] the thread for udp listener is started !!!", fabId, mcpName);
 
-        if (!isMultiListener) {
+        metrics = new OhtIngestMetrics(port);
+        metrics.registerMBean();
+
+        try {
+            this._startReceiving(DataService.getInstance().getOhtIngestProperties(), port);
+        } catch (IOException e) {
+            logger.error("An Error while opening [fab: {} | mcp: {}] OHT DatagramSocket [{}] ", fabId, mcpName, port, e);
+        }
+
+        // UDP 수신 상태 모니터링 쓰레드 (30초 간격)
+        Thread udpMonitor = new Thread(() -> {
+            long reportedUnknownSourceCount = 0L;
+
+            while (isRunning) {
+                try {
+                    Thread.sleep(UDP_LOG_INTERVAL);
+                } catch (InterruptedException e) {
+                    break;
+                }
+
+                long now = System.currentTimeMillis();
+                long elapsed = lastUdpRecvTime > 0 ? now - lastUdpRecvTime : -1;
+
+                if (lastUdpRecvTime == 0) {
+                    logger.warn("[UDP Monitor] NO DATA YET [fab: {} | mcp: {} | port: {}] - waiting for first packet",
+                            fabId, mcpName, port);
+                } else if (elapsed > UDP_LOG_INTERVAL) {
+                    logger.warn("[UDP Monitor] NO DATA [fab: {} | mcp: {} | port: {} | last recv: {}s ago]",
+                            fabId, mcpName, port, elapsed / 1000);
+                }
+
+                metrics.updateRates();
+
+                long unknownCount = metrics.getUnknownSourceCount();
+
+                if (unknownCount > reportedUnknownSourceCount) {
+                    logger.warn("[UDP Monitor] UNKNOWN SOURCE [fab: {} | mcp: {} | port: {} | count: {}] - check ip address of mcp",
+                            fabId, mcpName, port, unknownCount - reportedUnknownSourceCount);
+                    reportedUnknownSourceCount = unknownCount;
+                }
+            }
+        }, "UDP-Monitor-" + fabId + "-" + mcpName);
+        udpMonitor.setDaemon(true);
+        udpMonitor.start();
+    }
+
+    /**
+     * listenPort 로 수신 시작
+     * - 호출한 쓰레드에서 socket / channel 을 bind 한 뒤 수신 쓰레드를 시작 (bind 실패 시 예외, 기존 socket / shard 는 변경하지 않음)
+     * - 수신 쓰레드는 자신이 받은 socket / channel 만 사용 ---> port 전환 시 이전 socket 과 동시에 수신 가능
+     */
+    private void _startReceiving(OhtIngestProperties ingestProperties, final int listenPort) throws IOException {
+        final Thread thread;
+
+        if (ingestProperties.isShardedReceiveMode()) {
+            // 동일 port 를 공유하는 N 개의 수신 shard (shard 별 쓰레드)
+            this._startShards(ingestProperties, listenPort);
+
+            receiveThread = null;
+            socket = null;
+            channel = null;
+
+            return;
+        } else if (ingestProperties.isNioReceiveMode()) {
+            // DatagramChannel + direct ByteBuffer pool 을 통한 수신 (single / multi 공용)
+            final DatagramChannel receiveChannel = DatagramChannel.open(StandardProtocolFamily.INET);
+
+            try {
+                receiveChannel.configureBlocking(true);
+                receiveChannel.bind(new InetSocketAddress(listenPort));
+            } catch (IOException e) {
+                receiveChannel.close();
+
+                throw e;
+            }
+
+            thread = this._buildNioReceiveThread(ingestProperties, receiveChannel);
+
+            // stop() 에서 기존과 동일하게 socket 을 닫으면 channel 도 함께 닫힘
+            channel = receiveChannel;
+            socket = receiveChannel.socket();
+        } else if (!isMultiListener) {
             // 하나의 fab 에 두 개 이상의 ip 를 갖지 아니한 경우
-            receiveThread = new Thread("OhtMessageQueuing") {
+            final DatagramSocket receiveSocket = new DatagramSocket(listenPort);
+
+            thread = new Thread("OhtMessageQueuing") {
                 public void run(){
                     DatagramPacket packet     = null;
                     byte[] buffer;
 
-                    try {
-                        socket = new DatagramSocket(port);
-
-                        _logPortOpened(port);
+                    while (isRunning && !receiveSocket.isClosed()) {
+                        try {
+                            buffer     = new byte[1500];
+                            packet     = new DatagramPacket(buffer, buffer.length);
 
-                        while (isRunning) {
-                            try {
-                                buffer     = new byte[1500];
-                                packet     = new DatagramPacket(buffer, buffer.length);
+                            receiveSocket.receive(packet);
 
-                                socket.receive(packet);
+                            String message = (new String(packet.getData()).trim());
 
-                                String message = (new String(packet.getData()).trim());
+                            _addMessageInAtlasMemory(fabId, mcpName, message, packet.getLength());
+                        } catch (Exception e) {
+                            // stop() / port 전환에 의해 socket 이 닫힌 경우
+                            if (receiveSocket.isClosed()) break;
 
-                                _addMessageInAtlasMemory(fabId, mcpName, message);
-                            } catch (Exception e) {
-                                logger.error("An Error while processing [fab: {} | mcp: {}] OHT Message [packet: {}]", fabId, mcpName, packet, e);
-                            }
+                            logger.error("An Error while processing [fab: {} | mcp: {}] OHT Message [packet: {}]", fabId, mcpName, packet, e);
                         }
-                    } catch (SocketException e1) {
-                        logger.error("An Error while opening [fab: {} | mcp: {}] OHT DatagramSocket [{}] ", fabId, mcpName, port, e1);
                     }
                 }
             };
+
+            channel = null;
+            socket = receiveSocket;
         } else {
-            receiveThread = new Thread("MultiOhtMessageQueuing") {
+            final DatagramSocket receiveSocket = new DatagramSocket(listenPort);
+
+            thread = new Thread("MultiOhtMessageQueuing") {
                 public void run(){
                     DatagramPacket packet     = null;
                     byte[] buffer;
 
-                    try {
-                        socket = new DatagramSocket(port);
+                    while(isRunning && !receiveSocket.isClosed()) {
+                        String fabId    = "";
+                        String mcpName    = "";
+
+                        try {
+                            buffer     = new byte[1500];
+                            packet     = new DatagramPacket(buffer, buffer.length);
 
-                        _logPortOpened(port);
+                            receiveSocket.receive(packet);
 
-                        while(isRunning) {
-                            String fabId    = "";
-                            String mcpName    = "";
+                            String message     = (new String(packet.getData()).trim());
+                            OhtUdpSource source = _resolveSource(packet.getAddress());
 
-                            try {
-                                buffer     = new byte[1500];
-                                packet     = new DatagramPacket(buffer, buffer.length);
+                            if (source == null) continue;
 
-                                socket.receive(packet);
+                            fabId         = source.getFabId();
+                            mcpName     = source.getMcpName();
 
-                                String message     = (new String(packet.getData()).trim());
-                                String ip     = packet.getAddress().getHostAddress();
-                                fabId         = ipFabMcpNameMap.get(ip)[0];
-                                mcpName     = ipFabMcpNameMap.get(ip)[1];
+                            _addMessageInAtlasMemory(fabId, mcpName, message, packet.getLength());
+                        } catch (Exception e) {
+                            // stop() / port 전환에 의해 socket 이 닫힌 경우
+                            if (receiveSocket.isClosed()) break;
 
-                                _addMessageInAtlasMemory(fabId, mcpName, message);
-                            } catch (Exception e) {
-                                logger.error("An Error while processing [fab: {} | mcp: {}] OHT Message [packet: {}] ", fabId, mcpName, packet, e);
-                            }
+                            logger.error("An Error while processing [fab: {} | mcp: {}] OHT Message [packet: {}] ", fabId, mcpName, packet, e);
                         }
-                    } catch (SocketException e1) {
-                        logger.error("An Error while opening [port: {}] OHT DatagramSocket [{}] ", port, e1);
                     }
                 }
             };
+
+            channel = null;
+            socket = receiveSocket;
         }
 
-        receiveThread.start();
+        receiveThread = thread;
 
-        // UDP 수신 상태 모니터링 쓰레드 (30초 간격)
-        Thread udpMonitor = new Thread(() -> {
-            while (isRunning) {
-                try {
-                    Thread.sleep(UDP_LOG_INTERVAL);
-                } catch (InterruptedException e) {
-                    break;
-                }
+        _logPortOpened(listenPort);
 
-                long now = System.currentTimeMillis();
-                long elapsed = lastUdpRecvTime > 0 ? now - lastUdpRecvTime : -1;
+        thread.start();
+    }
 
-                if (lastUdpRecvTime == 0) {
-                    logger.warn("[UDP Monitor] NO DATA YET [fab: {} | mcp: {} | port: {}] - waiting for first packet",
-                            fabId, mcpName, port);
-                } else if (elapsed > UDP_LOG_INTERVAL) {
-                    logger.warn("[UDP Monitor] NO DATA [fab: {} | mcp: {} | port: {} | last recv: {}s ago]",
-                            fabId, mcpName, port, elapsed / 1000);
+    /**
+     * NIO 수신 쓰레드
+     * - packet 마다 byte[1500] / DatagramPacket 을 생성하지 않고 pool 의 direct buffer 를 재사용
+     * - 수신한 길이만큼만 문자열로 변환
+     */
+    private Thread _buildNioReceiveThread(OhtIngestProperties ingestProperties, final DatagramChannel receiveChannel) {
+        final OhtUdpBufferPool bufferPool = new OhtUdpBufferPool(ingestProperties.getBufferPoolSize(), ingestProperties.getBufferSize());
+
+        return new Thread(isMultiListener ? "MultiOhtMessageQueuing-NIO" : "OhtMessageQueuing-NIO") {
+            public void run() {
+                final byte[] scratch = new byte[bufferPool.getBufferSize()];
+
+                while (isRunning) {
+                    String fabId = OhtUdpListener.this.fabId;
+                    String mcpName = OhtUdpListener.this.mcpName;
+                    SocketAddress source = null;
+                    ByteBuffer buffer = bufferPool.acquire();
+
+                    try {
+                        source = receiveChannel.receive(buffer);
+
+                        if (source == null) continue;
+
+                        buffer.flip();
+
+                        int receivedBytes = buffer.remaining();
+                        String message = OhtUdpBufferPool.decodeTrimmed(buffer, scratch);
+
+                        OhtUdpSource udpSource = _resolveSource(((InetSocketAddress) source).getAddress());
+
+                        if (udpSource == null) continue;
+
+                        fabId = udpSource.getFabId();
+                        mcpName = udpSource.getMcpName();
+
+                        _addMessageInAtlasMemory(fabId, mcpName, message, receivedBytes);
+                    } catch (ClosedChannelException e) {
+                        // stop() / port 전환에 의해 channel 이 닫힌 경우
+                        break;
+                    } catch (Exception e) {
+                        logger.error("An Error while processing [fab: {} | mcp: {}] OHT Message [source: {}] ", fabId, mcpName, source, e);
+                    } finally {
+                        bufferPool.release(buffer);
+                    }
                 }
             }
-        }, "UDP-Monitor-" + fabId + "-" + mcpName);
-        udpMonitor.setDaemon(true);
-        udpMonitor.start();
+        };
+    }
+
+    /**
+     * SHARDED 수신
+     * - SO_REUSEPORT 를 지원하는 경우(Linux) 동일 port 에 N 개의 channel 을 bind 하고 shard 별 쓰레드로 수신
+     * - 지원하지 않는 경우 shard 1 개(=NIO 방식과 동일)로 동작
+     */
+    private void _startShards(OhtIngestProperties ingestProperties, final int listenPort) throws IOException {
+        boolean reusePort = OhtUdpReceiveShard.isReusePortSupported();
+        int shardCount = reusePort ? ingestProperties.getShardCount() : 1;
+        ConcurrentMap<InetAddress, OhtUdpReceiveShard> sourceOwnerMap = new ConcurrentHashMap<>();
+        List<OhtUdpReceiveShard> openedShards = new ArrayList<>(shardCount);
+
+        if (!reusePort) {
+            logger.warn("[fab: {} | mcp: {}] SO_REUSEPORT is not supported on this platform, the listener runs with a single shard [port: {}]", fabId, mcpName, listenPort);
+        }
+
+        for (int i = 0; i < shardCount; i++) {
+            // shard 별 buffer pool (shard 끼리 pool 을 공유하지 않음)
+            OhtUdpBufferPool bufferPool = new OhtUdpBufferPool(ingestProperties.getBufferPoolSize(), ingestProperties.getBufferSize());
+            OhtUdpReceiveShard shard = new OhtUdpReceiveShard(this, i, bufferPool, sourceOwnerMap);
+
+            try {
+                shard.open(listenPort, reusePort);
+            } catch (IOException e) {
+                logger.error("An Error while opening [port: {} | shard: {}] OHT DatagramChannel", listenPort, i, e);
+
+                shard.close();
+
+                continue;
+            }
+
+            openedShards.add(shard);
+        }
+
+        if (openedShards.isEmpty()) {
+            throw new IOException("no udp receive shard is opened [port: " + listenPort + "]");
+        }
+
+        // 하나 이상 bind 된 경우에만 현재 shard 로 교체 (이전 shard 는 호출한 쪽에서 정리)
+        shards.clear();
+        shards.addAll(openedShards);
+
+        for (OhtUdpReceiveShard shard : openedShards) {
+            shard.start(isMultiListener ? "MultiOhtMessageQueuing-Shard" : "OhtMessageQueuing-Shard");
+        }
+
+        logger.info("[fab: {} | mcp: {}] udp receive shards are started [port: {} | shard: {} | reuse port: {}]", fabId, mcpName, listenPort, shards.size(), reusePort);
+
+        _logPortOpened(listenPort);
+    }
+
+    /**
+     * 송신 주소로 fab, mcp 를 확인 (문자열 변환 / 객체 생성 없음)
+     * @return 송신지, 등록되지 않은 주소인 경우 null (unknownSourceCount 증가, 모니터링 쓰레드에서 로그)
+     */
+    OhtUdpSource _resolveSource(InetAddress address) {
+        if (!isMultiListener) {
+            if (localSource == null) {
+                localSource = new OhtUdpSource(0, "", fabId, mcpName);
+            }
+
+            return localSource;
+        }
+
+        OhtUdpSource source = sourceTable.get(address);
+
+        if (source == null) {
+            metrics.onUnknownSource();
+        }
+
+        return source;
+    }
+
+    public long getUnknownSourceCount() {
+        return metrics.getUnknownSourceCount();
     }
 
-    private void _addMessageInAtlasMemory(String fabId, String mcpName, String message) {
+    public OhtIngestMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @param receivedBytes 수신한 datagram 길이 (trim 전)
+     */
+    void _addMessageInAtlasMemory(String fabId, String mcpName, String message, int receivedBytes) {
         long now = System.currentTimeMillis();
 
         // UDP 수신 모니터링
         lastUdpRecvTime = now;
-        udpRecvCount++;
+        udpRecvCount.increment();
+
+        // VHL_STATE_REPORT 등은 ',' 로 구분된 token 이 2개 이상 (OhtMsgWorkerRunnable 과 동일 기준)
+        metrics.onReceived(fabId, mcpName, receivedBytes, message.indexOf(',') < 0, System.nanoTime());
 
         if (now - lastUdpLogTime >= UDP_LOG_INTERVAL) {
             logger.info("[UDP Monitor] RECEIVING [fab: {} | mcp: {} | port: {} | count: {} | last: {}ms ago]",
-                    fabId, mcpName, port, udpRecvCount, now - lastUdpRecvTime);
-            udpRecvCount = 0L;
+                    fabId, mcpName, port, udpRecvCount.sumThenReset(), now - lastUdpRecvTime);
             lastUdpLogTime = now;
         }
 
         Msg data = new Msg(
                 fabId,
                 MSG_TYP.OHT,
-                System.currentTimeMillis(),
+                now,
                 mcpName,
                 message
         );
 
-        // 실제 사용되는 message
-        DataService.getInstance().queue.add(data);
+        // ring buffer 에 한 번만 기록
+        // - queue       : 실제 사용되는 message
+        // - recordQueue : 기록용으로 남겨두는 message, 단 monitoringControlBatch 에서 호출 후 해당 데이터 초기화
+        // - journal     : journal 사용 시 writer 쓰레드가 읽어 mmap journal 에 기록
+        DataService.getInstance().publishOhtMessage(data);
+    }
+
+    /**
+     * 수신 중단 없이 port 전환 (handover)
+     * - 새 port 로 bind 하여 수신을 시작한 뒤, 이전 port 는 graceMillis 동안 남은 datagram 을 계속 수신하고 닫음
+     * - 새 port 의 bind 에 실패한 경우 이전 port 로 계속 수신 (전환하지 않음)
+     * - 두 port 로 수신한 message 는 모두 같은 ring buffer(queue) 로 전달됨
+     * - stop() 후 start() 하는 방식은 close ~ bind 사이에 수신한 datagram 이 유실됨
+     * @param newPort 전환할 port
+     * @param graceMillis 이전 port 를 유지할 시간
+     * @return 전환 여부 (bind 실패 시 false)
+     */
+    public synchronized boolean switchPort(int newPort, long graceMillis) {
+        if (newPort == port) {
+            logger.info("[fab: {} | mcp: {}] udp port is not changed [port: {}]", fabId, mcpName, port);
+
+            return false;
+        }
+
+        if (!isRunning) {
+            this.port = newPort;
+
+            return true;
+        }
+
+        // start() / switchPort() 는 bind 후 socket / shard 를 교체하므로 여기서 읽는 값이 현재 수신 중인 socket / shard
+        final int oldPort = port;
+        final DatagramSocket oldSocket = socket;
+        final List<OhtUdpReceiveShard> oldShards = new ArrayList<>(shards);
+
+        try {
+            this._startReceiving(DataService.getInstance().getOhtIngestProperties(), newPort);
+        } catch (IOException e) {
+            logger.error("[fab: {} | mcp: {}] failed to open the new udp port, the previous port is kept [port: {} ---> {}]", fabId, mcpName, oldPort, newPort, e);
+
+            return false;
+        }
+
+        if (oldSocket != null) {
+            retiringSockets.add(oldSocket);
+        }
+
+        retiringShards.addAll(oldShards);
+
+        this.port = newPort;
+
+        metrics.unregisterMBean();
+        metrics.setPort(newPort);
+        metrics.registerMBean();
+
+        logger.info("[fab: {} | mcp: {}] udp port handover is started [port: {} ---> {} | grace: {}ms]", fabId, mcpName, oldPort, newPort, graceMillis);
+
+        Thread handover = new Thread(() -> {
+            try {
+                Thread.sleep(Math.max(0L, graceMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            this._closeRetiring(oldSocket, oldShards);
+
+            logger.info("[fab: {} | mcp: {}] udp port handover is completed, the previous port is closed [port: {}]", fabId, mcpName, oldPort);
+        }, "UDP-Handover-" + fabId + "-" + mcpName);
+        handover.setDaemon(true);
+        handover.start();
+
+        return true;
+    }
+
+    private void _closeRetiring(DatagramSocket oldSocket, List<OhtUdpReceiveShard> oldShards) {
+        if (oldSocket != null && retiringSockets.remove(oldSocket) && !oldSocket.isClosed()) {
+            oldSocket.close();
+        }
 
-        // 기록용으로 남겨두는 message, 단 monitoringControlBatch 에서 호출 후 해당 데이터 초기화
-        DataService.getInstance().recordQueue.add(data);
+        for (OhtUdpReceiveShard shard : oldShards) {
+            if (retiringShards.remove(shard)) {
+                shard.close();
+            }
+        }
     }
 
     // 동작 중인 socket 을 중지 ---> port 스위칭 기능을 위해 추가
-    public void stop() {
-        if (this.socket != null) {
+    public synchronized void stop() {
+        if (this.socket != null || !this.shards.isEmpty()) {
             isRunning = false;
 
             this._closeSocket();
+            this._closeShards();
         }
+
+        // handover 중인 이전 port 도 함께 중지
+        this._closeRetiring(null, new ArrayList<>(retiringShards));
+
+        for (DatagramSocket retiringSocket : retiringSockets) {
+            this._closeRetiring(retiringSocket, Collections.emptyList());
+        }
+
+        metrics.unregisterMBean();
+    }
+
+    private void _closeShards() {
+        for (OhtUdpReceiveShard shard : shards) {
+            shard.close();
+        }
+
+        if (!shards.isEmpty()) {
+            logger.info(UDP_LISTENER_STOP_LOG, fabId, mcpName);
+        }
+
+        shards.clear();
     }
 
     private void _closeSocket () {
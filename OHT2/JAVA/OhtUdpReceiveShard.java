@@ -0,0 +1,258 @@
+/**
+ * 동일 port 를 SO_REUSEPORT 로 공유하는 UDP 수신 shard
+ * - shard 별 DatagramChannel + 전용 쓰레드로 수신하며, 커널은 송신 주소(4-tuple) 기준으로 shard 를 분배
+ * - 송신 IP(=MCP) 는 처음 수신한 shard 가 소유하고, 다른 shard 로 들어온 packet 은 소유 shard 로 넘겨 MCP 별 순서를 유지
+ *   (넘길 때 소유 shard 의 selector 를 깨워 바로 처리)
+ * - 한 번에 MAX_RECEIVE_PER_PASS 개까지 수신한 뒤 넘겨받은 message 를 처리 ---> 부하가 계속되어도 넘겨받은 message 가 밀리지 않고 수신 순서에 가깝게 처리
+ * - 소유 shard 의 handoff queue 가 가득 찬 경우 자신의 handoff queue 를 비우면서 HANDOFF_BLOCK_MILLIS 까지 대기 (서로 넘기는 shard 간 교착 방지)
+ *   ---> 그래도 넘기지 못한 경우에만 버리고 handoffDroppedCount 증가 (로그는 HANDOFF_DROP_LOG_INTERVAL 마다)
+ * - buffer pool 은 shard 전용 (shard 쓰레드에서만 사용)
+ */
+public class OhtUdpReceiveShard implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private static final long HANDOFF_POLL_MILLIS = 5L;
+    private static final int HANDOFF_CAPACITY = 4096;
+    private static final int MAX_RECEIVE_PER_PASS = 64;
+    private static final long HANDOFF_BLOCK_MILLIS = 100L;
+    private static final long HANDOFF_DROP_LOG_INTERVAL = 1000L;
+    private final OhtUdpListener listener;
+    private final int shardIndex;
+    private final OhtUdpBufferPool bufferPool;
+    private final ConcurrentMap<InetAddress, OhtUdpReceiveShard> sourceOwnerMap;
+    private final BlockingQueue<Handoff> handoffQueue = new ArrayBlockingQueue<>(HANDOFF_CAPACITY);
+    private final AtomicLong receivedCount = new AtomicLong(0);
+    private final AtomicLong handedOffCount = new AtomicLong(0);
+    private final AtomicLong handoffDroppedCount = new AtomicLong(0);
+    private DatagramChannel channel = null;
+    private volatile Selector selector = null;    // 다른 shard 쓰레드에서 wakeup
+    private Thread thread = null;
+    private volatile boolean isRunning = false;
+
+    public OhtUdpReceiveShard(
+            OhtUdpListener listener,
+            int shardIndex,
+            OhtUdpBufferPool bufferPool,
+            ConcurrentMap<InetAddress, OhtUdpReceiveShard> sourceOwnerMap
+    ) {
+        this.listener       = listener;
+        this.shardIndex     = shardIndex;
+        this.bufferPool     = bufferPool;
+        this.sourceOwnerMap = sourceOwnerMap;
+    }
+
+    /**
+     * SO_REUSEPORT 지원 여부 (Linux 3.9 이상)
+     */
+    public static boolean isReusePortSupported() {
+        try (DatagramChannel probe = DatagramChannel.open(StandardProtocolFamily.INET)) {
+            return probe.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public void open(int port, boolean reusePort) throws IOException {
+        channel = DatagramChannel.open(StandardProtocolFamily.INET);
+
+        if (reusePort) {
+            channel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+        }
+
+        channel.configureBlocking(false);
+        channel.bind(new InetSocketAddress(port));
+
+        selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_READ);
+    }
+
+    public void start(String threadNamePrefix) {
+        isRunning = true;
+        thread = new Thread(this, threadNamePrefix + "-" + shardIndex);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        final byte[] scratch = new byte[bufferPool.getBufferSize()];
+
+        boolean isBacklogged = false;
+
+        while (isRunning) {
+            try {
+                // 이전 수신에서 다 읽지 못한 경우 대기하지 않음
+                if (isBacklogged) {
+                    selector.selectNow();
+                } else {
+                    selector.select(HANDOFF_POLL_MILLIS);
+                }
+
+                selector.selectedKeys().clear();
+
+                this._drainHandoff();
+                isBacklogged = this._receiveBatch(scratch) >= MAX_RECEIVE_PER_PASS;
+            } catch (ClosedSelectorException | ClosedChannelException e) {
+                // close() 에 의해 종료
+                break;
+            } catch (Exception e) {
+                logger.error("An Error while processing OHT Message [shard: {} | port: {}]", shardIndex, listener.getPort(), e);
+            }
+        }
+
+        logger.info(">>> the shard for UDP Listener is stopped [shard: {} | port: {}]", shardIndex, listener.getPort());
+    }
+
+    /**
+     * @return 수신한 datagram 수 (MAX_RECEIVE_PER_PASS 인 경우 socket 에 남은 datagram 이 있을 수 있음)
+     */
+    private int _receiveBatch(byte[] scratch) throws IOException {
+        int count = 0;
+
+        while (isRunning && count < MAX_RECEIVE_PER_PASS) {
+            ByteBuffer buffer = bufferPool.acquire();
+
+            try {
+                SocketAddress source = channel.receive(buffer);
+
+                if (source == null) break;
+
+                count++;
+                receivedCount.incrementAndGet();
+                buffer.flip();
+
+                int receivedBytes = buffer.remaining();
+                String message = OhtUdpBufferPool.decodeTrimmed(buffer, scratch);
+                InetAddress address = ((InetSocketAddress) source).getAddress();
+                OhtUdpSource udpSource = listener._resolveSource(address);
+
+                if (udpSource == null) continue;
+
+                OhtUdpReceiveShard owner = sourceOwnerMap.get(address);
+
+                if (owner == null) {
+                    OhtUdpReceiveShard previous = sourceOwnerMap.putIfAbsent(address, this);
+
+                    owner = previous == null ? this : previous;
+                }
+
+                if (owner == this) {
+                    listener._addMessageInAtlasMemory(udpSource.getFabId(), udpSource.getMcpName(), message, receivedBytes);
+                } else {
+                    owner._handoff(this, new Handoff(udpSource.getFabId(), udpSource.getMcpName(), message, receivedBytes));
+                    handedOffCount.incrementAndGet();
+                }
+            } finally {
+                bufferPool.release(buffer);
+            }
+        }
+
+        return count;
+    }
+
+    // 다른 shard 로 들어온 소유 MCP 의 message 를 수신 순서대로 처리
+    private void _drainHandoff() {
+        Handoff item;
+
+        while ((item = handoffQueue.poll()) != null) {
+            listener._addMessageInAtlasMemory(item.fabId, item.mcpName, item.message, item.receivedBytes);
+        }
+    }
+
+    /**
+     * @param sender 넘기는 shard (대기하는 동안 자신의 handoff queue 를 비움)
+     */
+    private void _handoff(OhtUdpReceiveShard sender, Handoff item) {
+        if (!handoffQueue.offer(item) && !this._offerWithBackpressure(sender, item)) {
+            long dropped = handoffDroppedCount.incrementAndGet();
+
+            if (dropped % HANDOFF_DROP_LOG_INTERVAL == 1) {
+                logger.warn("... handoff queue of udp shard is full, messages are dropped [shard: {} | fab: {} | mcp: {} | dropped: {}]", shardIndex, item.fabId, item.mcpName, dropped);
+            }
+        }
+
+        // select 대기 중인 소유 shard 를 깨움 (HANDOFF_POLL_MILLIS 까지 기다리지 않음)
+        Selector ownerSelector = selector;
+
+        if (ownerSelector != null) {
+            ownerSelector.wakeup();
+        }
+    }
+
+    // 소유 shard 가 비울 때까지 대기 ---> 그 동안 넘기는 shard 도 자신에게 넘겨진 message 를 처리
+    private boolean _offerWithBackpressure(OhtUdpReceiveShard sender, Handoff item) {
+        long deadline = System.currentTimeMillis() + HANDOFF_BLOCK_MILLIS;
+
+        while (isRunning && sender.isRunning && System.currentTimeMillis() < deadline) {
+            Selector ownerSelector = selector;
+
+            if (ownerSelector != null) {
+                ownerSelector.wakeup();
+            }
+
+            sender._drainHandoff();
+
+            try {
+                if (handoffQueue.offer(item, 1L, TimeUnit.MILLISECONDS)) return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    public void close() {
+        isRunning = false;
+
+        try {
+            if (selector != null) {
+                selector.close();
+            }
+
+            if (channel != null && channel.isOpen()) {
+                channel.close();
+            }
+        } catch (Exception e) {
+            logger.error("An Error Occurred While Closing UDP Shard [shard: {}] !", shardIndex, e);
+        }
+
+        // 소유하던 송신 IP 를 해제하여 남은 shard 가 다시 소유할 수 있도록 함
+        sourceOwnerMap.values().removeIf(owner -> owner == this);
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    public long getHandedOffCount() {
+        return handedOffCount.get();
+    }
+
+    public long getHandoffDroppedCount() {
+        return handoffDroppedCount.get();
+    }
+
+    public int getHandoffQueueSize() {
+        return handoffQueue.size();
+    }
+
+    // 소유 shard 로 넘기는 message (수신 길이 포함)
+    private static final class Handoff {
+        private final String fabId;
+        private final String mcpName;
+        private final String message;
+        private final int receivedBytes;
+
+        private Handoff(String fabId, String mcpName, String message, int receivedBytes) {
+            this.fabId          = fabId;
+            this.mcpName        = mcpName;
+            this.message        = message;
+            this.receivedBytes  = receivedBytes;
+        }
+    }
+}
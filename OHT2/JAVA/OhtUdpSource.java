@@ -0,0 +1,73 @@
+/**
+ * UDP 송신지(MCP) 정보
+ * - addListenMcpIp 시점에 미리 만들어 두고, 수신 시에는 IPv4 주소(int) 로 조회만 함
+ * - fabId, mcpName 은 intern 된 참조를 사용
+ */
+public class OhtUdpSource {
+    private final int ipv4;
+    private final String ip;
+    private final String fabId;
+    private final String mcpName;
+
+    public OhtUdpSource(int ipv4, String ip, String fabId, String mcpName) {
+        this.ipv4    = ipv4;
+        this.ip      = ip;
+        this.fabId   = fabId.intern();
+        this.mcpName = mcpName.intern();
+    }
+
+    // OpenJDK 의 Inet4Address.hashCode() 는 주소 값(big-endian int) 을 그대로 반환 ---> 명세가 아닌 구현 사항이므로 시작 시 확인
+    private static final boolean IS_HASH_CODE_ADDRESS = _isHashCodeAddress();
+
+    private static boolean _isHashCodeAddress() {
+        byte[] probe = {(byte) 10, (byte) 172, (byte) 31, (byte) 254};
+
+        try {
+            return InetAddress.getByAddress(probe).hashCode() == toIpv4Key(probe);
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    /**
+     * IPv4 주소 byte 를 int 로 변환 (big-endian) ---> 등록 시(addListenMcpIp) 사용
+     * @return IPv4 가 아닌 경우 0
+     */
+    public static int toIpv4Key(byte[] address) {
+        if (address == null || address.length != 4) return 0;
+
+        return ((address[0] & 0xFF) << 24) | ((address[1] & 0xFF) << 16) | ((address[2] & 0xFF) << 8) | (address[3] & 0xFF);
+    }
+
+    /**
+     * 수신 주소를 int 로 변환
+     * - hashCode 가 주소 값인 JDK(OpenJDK) 에서는 객체 생성 없이 hashCode 사용, 아닌 경우 getAddress() 로 변환 (byte[] 복사)
+     * @return IPv4 가 아닌 경우 0
+     */
+    public static int toIpv4Key(InetAddress address) {
+        if (!(address instanceof Inet4Address)) return 0;
+
+        return IS_HASH_CODE_ADDRESS ? address.hashCode() : toIpv4Key(address.getAddress());
+    }
+
+    public int getIpv4() {
+        return ipv4;
+    }
+
+    public String getIp() {
+        return ip;
+    }
+
+    public String getFabId() {
+        return fabId;
+    }
+
+    public String getMcpName() {
+        return mcpName;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[fab: %s | mcp: %s | ip: %s]", fabId, mcpName, ip);
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * IPv4 주소(int) ---> OhtUdpSource 조회 table (open addressing)
+ * - 등록은 listener 구성 시에만 발생하므로 등록 시 배열을 새로 만들어 교체하고, 조회는 lock / 객체 생성 없이 수행
+ * - key 0(0.0.0.0) 은 빈 slot 으로 사용
+ */
+public class OhtUdpSourceTable {
+    private static final class Table {
+        private final int[] keys;
+        private final OhtUdpSource[] values;
+        private final int mask;
+        private final int size;
+
+        private Table(int capacity, int size) {
+            this.keys   = new int[capacity];
+            this.values = new OhtUdpSource[capacity];
+            this.mask   = capacity - 1;
+            this.size   = size;
+        }
+    }
+
+    private volatile Table table = new Table(16, 0);
+
+    public synchronized void put(OhtUdpSource source) {
+        Table current = table;
+        int capacity = current.keys.length;
+
+        // load factor 0.5 이하 유지
+        while (capacity < (current.size + 1) * 2) {
+            capacity <<= 1;
+        }
+
+        Table next = new Table(capacity, current.size + (get(source.getIpv4()) == null ? 1 : 0));
+
+        for (int i = 0; i < current.keys.length; i++) {
+            if (current.keys[i] != 0 && current.keys[i] != source.getIpv4()) {
+                _insert(next, current.keys[i], current.values[i]);
+            }
+        }
+
+        _insert(next, source.getIpv4(), source);
+
+        table = next;
+    }
+
+    private static void _insert(Table target, int key, OhtUdpSource value) {
+        int index = _hash(key) & target.mask;
+
+        while (target.keys[index] != 0) {
+            index = (index + 1) & target.mask;
+        }
+
+        target.keys[index]   = key;
+        target.values[index] = value;
+    }
+
+    public OhtUdpSource get(int ipv4) {
+        if (ipv4 == 0) return null;
+
+        Table current = table;
+        int index = _hash(ipv4) & current.mask;
+        int key;
+
+        while ((key = current.keys[index]) != 0) {
+            if (key == ipv4) {
+                return current.values[index];
+            }
+
+            index = (index + 1) & current.mask;
+        }
+
+        return null;
+    }
+
+    public OhtUdpSource get(InetAddress address) {
+        return get(OhtUdpSource.toIpv4Key(address));
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    // 주소 하위 byte 가 연속된 경우가 많으므로 섞어서 사용
+    private static int _hash(int key) {
+        int h = key * 0x9E3779B9;
+
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * (fab, mcp) 별 VHL_STATE_REPORT 처리 단계 목록
+ * - message 마다 Env.getSwitchMap() 조회 / FunctionItem.getUseFunction() 확인을 하지 않도록, switch 반영 시점에 사용하는 단계만 모아 둔 불변 객체
+ * - Util.reflectSwitch 이후 rebuild 로 전체를 새로 만들어 volatile 참조를 교체 ---> worker 는 message 당 한 번 get 으로 읽음
+ * - 사용하지 않는 단계는 목록에 없으므로 비용 없음
+ * - 단계 추가 시 OhtMsgWorkerRunnable.VHL_REPORT_STAGES 에 FunctionType 과 함께 등록 (등록 순서 = 실행 순서)
+ */
+public final class OhtVhlPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(OhtVhlPipeline.class);
+    private static final int HID_KEY_CACHE_SIZE = 1024;
+
+    // fabId -> mcpName -> pipeline
+    private static volatile Map<String, Map<String, OhtVhlPipeline>> pipelineMap = Collections.emptyMap();
+
+    private final String fabId;
+    private final String mcpName;
+    private final String requiredKey;    // {fabId}:{mcpName}
+    private final List<FunctionType> functionTypes;
+    private final Stage[] stages;
+    private final OhtStageLatencyMetrics.STAGE[] latencyStages;    // stages 와 같은 순서 (대응하는 STAGE 가 없으면 null)
+    private final String[] hidKeys = new String[HID_KEY_CACHE_SIZE];    // {fabId}:{mcpName}:{hidId(%03d)}, 조회 시 채움
+
+    private OhtVhlPipeline(String fabId, String mcpName, Map<FunctionType, Stage> enabledStages) {
+        this.fabId          = fabId;
+        this.mcpName        = mcpName;
+        this.requiredKey    = fabId + ":" + mcpName;
+        this.functionTypes  = Collections.unmodifiableList(new ArrayList<>(enabledStages.keySet()));
+        this.stages         = enabledStages.values().toArray(new Stage[0]);
+        this.latencyStages  = new OhtStageLatencyMetrics.STAGE[this.stages.length];
+
+        for (int i = 0; i < this.functionTypes.size(); i++) {
+            this.latencyStages[i] = OhtStageLatencyMetrics.STAGE.of(this.functionTypes.get(i));
+        }
+    }
+
+    /**
+     * @return 구성되지 않은 (fab, mcp) 인 경우 null
+     */
+    public static OhtVhlPipeline get(String fabId, String mcpName) {
+        Map<String, OhtVhlPipeline> mcpPipelineMap = pipelineMap.get(fabId);
+
+        return mcpPipelineMap != null ? mcpPipelineMap.get(mcpName) : null;
+    }
+
+    /**
+     * switch 설정으로 전체 pipeline 을 다시 구성하여 교체
+     * @param switchMap Env.getSwitchMap() ({fabId}:{mcpName} -> FunctionItem)
+     * @param registeredStages 등록된 전체 단계 (실행 순서대로)
+     */
+    public static void rebuild(Map<String, FunctionItem> switchMap, Map<FunctionType, Stage> registeredStages) {
+        Map<String, Map<String, OhtVhlPipeline>> newPipelineMap = new HashMap<>();
+
+        for (Map.Entry<String, FunctionItem> entry : switchMap.entrySet()) {
+            FunctionItem functionItem = entry.getValue();
+
+            if (functionItem == null) continue;
+
+            Map<FunctionType, Stage> enabledStages = new LinkedHashMap<>();
+
+            for (Map.Entry<FunctionType, Stage> stageEntry : registeredStages.entrySet()) {
+                if (functionItem.getUseFunction(stageEntry.getKey())) {
+                    enabledStages.put(stageEntry.getKey(), stageEntry.getValue());
+                }
+            }
+
+            OhtVhlPipeline pipeline = new OhtVhlPipeline(functionItem.getFabId(), functionItem.getMcpName(), enabledStages);
+
+            newPipelineMap.computeIfAbsent(pipeline.fabId, k -> new HashMap<>()).put(pipeline.mcpName, pipeline);
+
+            logger.info("... oht vhl pipeline is built {}", pipeline);
+        }
+
+        pipelineMap = newPipelineMap;
+    }
+
+    /**
+     * 단계 순서대로 실행
+     * @param latencyRecorder 단계별 소요 시간 기록 (미사용 시 null)
+     */
+    public void apply(OhtMsgWorkerRunnable worker, Context context, OhtStageLatencyMetrics.Recorder latencyRecorder) {
+        if (latencyRecorder == null) {
+            for (Stage stage : stages) {
+                stage.apply(worker, context);
+            }
+
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+
+        for (int i = 0; i < stages.length; i++) {
+            stages[i].apply(worker, context);
+
+            startNanos = latencyStages[i] != null
+                    ? latencyRecorder.record(latencyStages[i], startNanos)
+                    : System.nanoTime();
+        }
+    }
+
+    public boolean isEmpty() {
+        return stages.length == 0;
+    }
+
+    public String getFabId() {
+        return fabId;
+    }
+
+    public String getMcpName() {
+        return mcpName;
+    }
+
+    public String getRequiredKey() {
+        return requiredKey;
+    }
+
+    public List<FunctionType> getFunctionTypes() {
+        return functionTypes;
+    }
+
+    /**
+     * HID 구간 key ({fabId}:{mcpName}:{hidId(%03d)})
+     * - 같은 값을 여러 쓰레드가 동시에 채울 수 있으나 결과가 같으므로 잠금 없이 사용
+     */
+    public String getHidKey(int hidId) {
+        if (hidId < 0 || hidId >= HID_KEY_CACHE_SIZE) {
+            return requiredKey + ":" + String.format("%03d", hidId);
+        }
+
+        String hidKey = hidKeys[hidId];
+
+        if (hidKey == null) {
+            hidKey = requiredKey + ":" + String.format("%03d", hidId);
+            hidKeys[hidId] = hidKey;
+        }
+
+        return hidKey;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[fab: %s | mcp: %s] stages: %s", fabId, mcpName, functionTypes);
+    }
+
+    /**
+     * 처리 단계 (worker 의 기능별 처리 method 를 호출)
+     */
+    @FunctionalInterface
+    public interface Stage {
+        void apply(OhtMsgWorkerRunnable worker, Context context);
+    }
+
+    /**
+     * 한 report 를 처리하는 동안 단계 간에 공유하는 값
+     */
+    public static class Context {
+        private final OhtVhlPipeline pipeline;
+        private final Vhl vehicle;
+        private final RailEdge railEdge;
+        private final int address;
+        private final int nextAddress;
+        private final String errorCode;
+        private final VHL_DET_STATE detailState;
+        private final String destinationPortId;
+        private final long systemsDateTime;
+        private String machineKey = null;
+        private List<Map<String, String>> messageDataList = null;
+
+        public Context(
+                OhtVhlPipeline pipeline,
+                Vhl vehicle,
+                RailEdge railEdge,
+                int address,
+                int nextAddress,
+                String errorCode,
+                VHL_DET_STATE detailState,
+                String destinationPortId,
+                long systemsDateTime
+        ) {
+            this.pipeline           = pipeline;
+            this.vehicle            = vehicle;
+            this.railEdge           = railEdge;
+            this.address            = address;
+            this.nextAddress        = nextAddress;
+            this.errorCode          = errorCode;
+            this.detailState        = detailState;
+            this.destinationPortId  = destinationPortId;
+            this.systemsDateTime    = systemsDateTime;
+        }
+
+        public OhtVhlPipeline getPipeline() {
+            return pipeline;
+        }
+
+        public Vhl getVehicle() {
+            return vehicle;
+        }
+
+        public RailEdge getRailEdge() {
+            return railEdge;
+        }
+
+        public int getHidId() {
+            return railEdge.getHIDId();
+        }
+
+        public int getAddress() {
+            return address;
+        }
+
+        public int getNextAddress() {
+            return nextAddress;
+        }
+
+        public String getErrorCode() {
+            return errorCode;
+        }
+
+        public VHL_DET_STATE getDetailState() {
+            return detailState;
+        }
+
+        public String getDestinationPortId() {
+            return destinationPortId;
+        }
+
+        public long getSystemsDateTime() {
+            return systemsDateTime;
+        }
+
+        public String getMachineId() {
+            return vehicle.getName();
+        }
+
+        // {fabId}:{mcpName}:{machineId}
+        public String getMachineKey() {
+            if (machineKey == null) {
+                machineKey = pipeline.requiredKey + ":" + vehicle.getName();
+            }
+
+            return machineKey;
+        }
+
+        public String getHidOffKey() {
+            return pipeline.getHidKey(getHidId());
+        }
+
+        /**
+         * tib/rv 로 송신할 message 데이터 추가 (null / 빈 값은 제외)
+         */
+        public void addMessageData(Map<String, String> messageData) {
+            if (messageData == null || messageData.isEmpty()) return;
+
+            if (messageDataList == null) {
+                messageDataList = new ArrayList<>();
+            }
+
+            messageDataList.add(messageData);
+        }
+
+        public void addMessageDataList(List<Map<String, String>> dataList) {
+            for (Map<String, String> messageData : dataList) {
+                this.addMessageData(messageData);
+            }
+        }
+
+        public List<Map<String, String>> getMessageDataList() {
+            return messageDataList != null ? messageDataList : Collections.emptyList();
+        }
+    }
+}
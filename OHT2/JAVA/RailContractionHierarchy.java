@@ -0,0 +1,779 @@
+/**
+ * RailCorridorGraph 의 corridor node 에 대한 contraction hierarchy (비용과 무관한 순서로 축약 + 비용 적용(customize) 분리)
+ * - 축약 순서는 layout 좌표로 node 집합을 반씩 나누는 nested dissection 순서 (나눈 경계 node 를 나중에 축약) 로 비용과 무관하게 정하고,
+ *   축약 시 생기는 shortcut 은 witness 탐색 없이 모두 추가
+ *   ---> 어떤 비용을 적용해도 경로가 맞으므로 속도가 바뀌어도 다시 축약하지 않고 customize(삼각형 순회) 만 수행
+ * - customize: 낮은 순서 node 부터 (u -> v -> w) 삼각형으로 shortcut (u -> w) 비용을 갱신 ---> Metric (불변, 경로 조회 시 그대로 사용)
+ * - 최초 Metric 은 자유 주행 비용 (RailEdge.getMinVhlCountCost: 최대 속도, penalty 없음)
+ * - getMetric: customizeMillis 가 지났거나 RailTopologyIndex.getTopologyVersion 이 바뀐 경우 한 쓰레드가 현재 비용(RailCorridorGraph.getCorridorCostSnapshot) 으로 다시 customize
+ *   (customizeMillis <= 0 인 경우 topology 변경 시 자유 주행 비용으로만 다시 계산), 나머지 쓰레드는 이전 Metric 사용
+ *   ---> Metric 의 topology version 은 비용 계산 전에 읽은 값 (계산 중 RailEdge.setAvailable 이 있으면 다음 getMetric 에서 다시 customize)
+ * - topology version 은 모든 fab / mcp 공용 static counter ---> 한 fab 의 RailEdge.setAvailable 도 모든 hierarchy 를 다시 customize
+ *   (customizeMillis 주기 외에 추가되는 customize 이며 결과 경로는 같음)
+ * - 경로 조회: 출발 / 도착 node 에서 축약 tree 의 상위 node 방향으로만 비용 전파 (우선순위 queue 없음) ---> 두 방향이 만나는 최소 비용 node
+ * - 가정 비용(what-if) 은 customize(corridorCosts) 로 만든 Metric 으로 조회 (현재 Metric 은 바뀌지 않음)
+ * - (fab, mcp) 의 RailTopologyIndex 별로 생성 (OhtRouteHierarchyEnabled=true 인 경우 DataService._createNewDataSet 에서 생성)
+ */
+public final class RailContractionHierarchy {
+    private static final Logger logger = LoggerFactory.getLogger(RailContractionHierarchy.class);
+    private static final ThreadLocal<SearchSpace> SEARCH_SPACE = ThreadLocal.withInitial(SearchSpace::new);
+    private static final int[] EMPTY_CORRIDORS = new int[0];
+    private static final int LEAF_SIZE = 8;    // 이하의 node 집합은 더 나누지 않음
+    private static final double[][] DIRECTIONS = {{1.0, 0.0}, {0.0, 1.0}, {1.0, 1.0}, {1.0, -1.0}};    // 좌표를 나누는 방향
+
+    private final RailCorridorGraph graph;
+    private final long customizeMillis;
+
+    // node 별 상위(나중에 축약된) 이웃 edge (upperOffsets[v] ~ upperOffsets[v + 1] - 1, 축약 순서 오름차순)
+    // edge e 의 arc: 2e = 하위 node -> 상위 node, 2e + 1 = 상위 node -> 하위 node
+    private final int[] upperOffsets;
+    private final int[] edgeLowers;
+    private final int[] edgeUppers;
+    private final int[] parents;    // 축약 tree 의 부모 (상위 이웃 중 가장 먼저 축약된 node, 없으면 -1)
+    private final int[] ranks;    // 축약 순서
+
+    // 축약 순서로 나열한 삼각형 (v 의 edge (v, u), (v, w), (u, w), u 가 w 보다 먼저 축약)
+    private final int[] triangles;
+
+    // corridor -> arc (자기 자신으로 돌아오는 corridor 는 -1)
+    private final int[] corridorArcs;
+
+    private final int depth;    // 축약 tree 의 최대 깊이 (경로 조회 시 방향별 최대 방문 node 수)
+
+    private volatile Metric metric;
+    private final AtomicBoolean isCustomizing = new AtomicBoolean(false);
+
+    private RailContractionHierarchy(
+            RailCorridorGraph graph,
+            long customizeMillis,
+            int[] upperOffsets,
+            int[] edgeLowers,
+            int[] edgeUppers,
+            int[] parents,
+            int[] ranks,
+            int[] triangles,
+            int[] corridorArcs,
+            int depth
+    ) {
+        this.graph              = graph;
+        this.customizeMillis    = customizeMillis;
+        this.upperOffsets       = upperOffsets;
+        this.edgeLowers         = edgeLowers;
+        this.edgeUppers         = edgeUppers;
+        this.parents            = parents;
+        this.ranks              = ranks;
+        this.triangles          = triangles;
+        this.corridorArcs       = corridorArcs;
+        this.depth              = depth;
+    }
+
+    /**
+     * corridor graph 축약 후 자유 주행 비용으로 customize
+     * @param topologyIndex corridor graph 와 corridor node 의 layout 좌표
+     * @param customizeMillis 현재 비용으로 다시 customize 하는 주기 (0 이하: 자유 주행 비용만 사용)
+     */
+    public static RailContractionHierarchy build(RailTopologyIndex topologyIndex, long customizeMillis) {
+        RailCorridorGraph graph = topologyIndex.getCorridorGraph();
+        int nodeCount = graph.getCorridorNodeCount();
+        List<Set<Integer>> neighbours = new ArrayList<>(nodeCount);
+
+        for (int node = 0; node < nodeCount; node++) {
+            neighbours.add(new HashSet<>());
+        }
+
+        for (int corridor = 0; corridor < graph.getCorridorCount(); corridor++) {
+            int source = graph.getCorridorSource(corridor);
+            int target = graph.getCorridorTarget(corridor);
+
+            if (source == target) continue;
+
+            neighbours.get(source).add(target);
+            neighbours.get(target).add(source);
+        }
+
+        int[] order = new Dissection(topologyIndex, graph, neighbours).getOrder();
+        int[] ranks = new int[nodeCount];
+        int[][] uppers = new int[nodeCount][];
+
+        for (int rank = 0; rank < nodeCount; rank++) {
+            ranks[order[rank]] = rank;
+        }
+
+        // 순서대로 축약, 남은 이웃끼리 연결 (fill-in)
+        for (int node : order) {
+            Set<Integer> nodeNeighbours = neighbours.get(node);
+            int[] upper = new int[nodeNeighbours.size()];
+            int count = 0;
+
+            for (int neighbour : nodeNeighbours) {
+                upper[count++] = neighbour;
+                neighbours.get(neighbour).remove(node);
+            }
+
+            for (int i = 0; i < upper.length; i++) {
+                for (int j = i + 1; j < upper.length; j++) {
+                    if (neighbours.get(upper[i]).add(upper[j])) {
+                        neighbours.get(upper[j]).add(upper[i]);
+                    }
+                }
+            }
+
+            uppers[node] = upper;
+            nodeNeighbours.clear();
+        }
+
+        // 상위 이웃을 축약 순서로 정렬하여 edge 번호 부여
+        int[] upperOffsets = new int[nodeCount + 1];
+
+        for (int node = 0; node < nodeCount; node++) {
+            upperOffsets[node + 1] = upperOffsets[node] + uppers[node].length;
+        }
+
+        int edgeCount = upperOffsets[nodeCount];
+        int[] edgeLowers = new int[edgeCount];
+        int[] edgeUppers = new int[edgeCount];
+        int[] parents = new int[nodeCount];
+        Map<Long, Integer> edgeMap = new HashMap<>(edgeCount * 2);
+
+        for (int node = 0; node < nodeCount; node++) {
+            int[] upper = uppers[node];
+            Integer[] sorted = new Integer[upper.length];
+
+            for (int i = 0; i < upper.length; i++) {
+                sorted[i] = upper[i];
+            }
+
+            Arrays.sort(sorted, Comparator.comparingInt(neighbour -> ranks[neighbour]));
+
+            for (int i = 0; i < sorted.length; i++) {
+                int edge = upperOffsets[node] + i;
+
+                upper[i] = sorted[i];
+                edgeLowers[edge] = node;
+                edgeUppers[edge] = sorted[i];
+                edgeMap.put(_pairKey(node, sorted[i]), edge);
+            }
+
+            parents[node] = upper.length > 0 ? upper[0] : -1;
+        }
+
+        // 삼각형 (축약 순서로 customize)
+        int triangleCount = 0;
+
+        for (int node = 0; node < nodeCount; node++) {
+            int degree = uppers[node].length;
+
+            triangleCount += degree * (degree - 1) / 2;
+        }
+
+        int[] triangles = new int[triangleCount * 3];
+        int position = 0;
+
+        for (int r = 0; r < nodeCount; r++) {
+            int node = order[r];
+            int[] upper = uppers[node];
+
+            for (int i = 0; i < upper.length; i++) {
+                for (int j = i + 1; j < upper.length; j++) {
+                    triangles[position++] = upperOffsets[node] + i;
+                    triangles[position++] = upperOffsets[node] + j;
+                    triangles[position++] = edgeMap.get(_pairKey(upper[i], upper[j]));
+                }
+            }
+        }
+
+        int[] corridorArcs = new int[graph.getCorridorCount()];
+
+        for (int corridor = 0; corridor < corridorArcs.length; corridor++) {
+            int source = graph.getCorridorSource(corridor);
+            int target = graph.getCorridorTarget(corridor);
+
+            if (source == target) {
+                corridorArcs[corridor] = -1;
+            } else if (ranks[source] < ranks[target]) {
+                corridorArcs[corridor] = 2 * edgeMap.get(_pairKey(source, target));
+            } else {
+                corridorArcs[corridor] = 2 * edgeMap.get(_pairKey(target, source)) + 1;
+            }
+        }
+
+        // 축약 tree 깊이 (부모는 항상 나중에 축약되므로 역순으로 계산)
+        int[] depths = new int[nodeCount];
+        int depth = 0;
+
+        for (int r = nodeCount - 1; r >= 0; r--) {
+            int node = order[r];
+
+            depths[node] = parents[node] >= 0 ? depths[parents[node]] + 1 : 1;
+            depth = Math.max(depth, depths[node]);
+        }
+
+        RailContractionHierarchy hierarchy = new RailContractionHierarchy(
+                graph,
+                customizeMillis,
+                upperOffsets,
+                edgeLowers,
+                edgeUppers,
+                parents,
+                ranks,
+                triangles,
+                corridorArcs,
+                depth
+        );
+
+        long topologyVersion = RailTopologyIndex.getTopologyVersion();
+
+        hierarchy.metric = hierarchy.customize(hierarchy._getFreeFlowCosts(), topologyVersion, System.currentTimeMillis());
+
+        return hierarchy;
+    }
+
+    /*
+    nested dissection 축약 순서
+    - node 집합을 4 방향 중 분리 node 가 가장 적은 방향의 좌표 중앙값으로 나누고, 두 쪽을 잇는 edge 를 모두 덮는 최소 node 집합을 분리
+      (이분 graph 최대 matching ---> König 정리로 최소 vertex cover)
+    - 두 부분을 각각 나눈 순서 뒤에 경계 node 를 둠 ---> 상위 node 로 갈수록 fill-in 이 경계 안에서만 생김
+    - 좌표가 없는 경우(모두 0) 에도 순서는 유효 (corridor node id 순으로 나뉨)
+     */
+    private static final class Dissection {
+        private final int[][] adjacency;
+        private final double[] xs;
+        private final double[] ys;
+        private final int[] positions;    // 현재 나누는 집합 안에서의 위치
+        private final int[] positionStamps;
+        private final int[] order;
+        private int orderSize = 0;
+        private int stamp = 0;
+
+        private Dissection(RailTopologyIndex topologyIndex, RailCorridorGraph graph, List<Set<Integer>> neighbours) {
+            int nodeCount = graph.getCorridorNodeCount();
+
+            this.adjacency      = new int[nodeCount][];
+            this.xs             = new double[nodeCount];
+            this.ys             = new double[nodeCount];
+            this.positions      = new int[nodeCount];
+            this.positionStamps = new int[nodeCount];
+            this.order          = new int[nodeCount];
+
+            for (int node = 0; node < nodeCount; node++) {
+                RailNode railNode = topologyIndex.getRailNodeAt(graph.getCorridorNodeAt(node));
+
+                adjacency[node] = neighbours.get(node).stream().mapToInt(Integer::intValue).toArray();
+                xs[node] = railNode.getDrawX();
+                ys[node] = railNode.getDrawY();
+            }
+        }
+
+        private int[] getOrder() {
+            Integer[] nodes = new Integer[adjacency.length];
+
+            for (int node = 0; node < nodes.length; node++) {
+                nodes[node] = node;
+            }
+
+            this._dissect(nodes);
+
+            return order;
+        }
+
+        private void _dissect(Integer[] nodes) {
+            if (nodes.length <= LEAF_SIZE) {
+                for (int node : nodes) {
+                    order[orderSize++] = node;
+                }
+
+                return;
+            }
+
+            Integer[] bestNodes = null;
+            boolean[] bestSeparators = null;
+            int bestSize = Integer.MAX_VALUE;
+
+            for (double[] direction : DIRECTIONS) {
+                Integer[] sorted = nodes.clone();
+
+                Arrays.sort(sorted, Comparator.comparingDouble((Integer node) -> direction[0] * xs[node] + direction[1] * ys[node]).thenComparingInt(node -> node));
+
+                boolean[] separators = this._getSeparators(sorted, sorted.length / 2);
+                int size = 0;
+
+                for (boolean isSeparator : separators) {
+                    if (isSeparator) size++;
+                }
+
+                if (size < bestSize) {
+                    bestSize = size;
+                    bestNodes = sorted;
+                    bestSeparators = separators;
+                }
+            }
+
+            int half = bestNodes.length / 2;
+            List<Integer> front = new ArrayList<>(half);
+            List<Integer> back = new ArrayList<>(bestNodes.length - half);
+            List<Integer> separators = new ArrayList<>(bestSize);
+
+            for (int i = 0; i < bestNodes.length; i++) {
+                if (bestSeparators[i]) {
+                    separators.add(bestNodes[i]);
+                } else if (i < half) {
+                    front.add(bestNodes[i]);
+                } else {
+                    back.add(bestNodes[i]);
+                }
+            }
+
+            this._dissect(front.toArray(new Integer[0]));
+            this._dissect(back.toArray(new Integer[0]));
+
+            for (int node : separators) {
+                order[orderSize++] = node;
+            }
+        }
+
+        /*
+        sorted[0 ~ half - 1] 과 sorted[half ~] 를 잇는 edge 의 최소 vertex cover (위치별 분리 여부)
+         */
+        private boolean[] _getSeparators(Integer[] sorted, int half) {
+            stamp++;
+
+            for (int i = 0; i < sorted.length; i++) {
+                positions[sorted[i]] = i;
+                positionStamps[sorted[i]] = stamp;
+            }
+
+            // 앞쪽 위치 -> 연결된 뒤쪽 위치
+            int[][] crossings = new int[half][];
+
+            for (int i = 0; i < half; i++) {
+                int[] neighbours = adjacency[sorted[i]];
+                int[] targets = new int[neighbours.length];
+                int count = 0;
+
+                for (int neighbour : neighbours) {
+                    if (positionStamps[neighbour] == stamp && positions[neighbour] >= half) {
+                        targets[count++] = positions[neighbour];
+                    }
+                }
+
+                crossings[i] = Arrays.copyOf(targets, count);
+            }
+
+            int[] frontMatches = new int[half];
+            int[] backMatches = new int[sorted.length];
+            boolean[] isVisited = new boolean[sorted.length];
+
+            Arrays.fill(frontMatches, -1);
+            Arrays.fill(backMatches, -1);
+
+            for (int i = 0; i < half; i++) {
+                if (crossings[i].length == 0) continue;
+
+                Arrays.fill(isVisited, false);
+                _augment(i, crossings, frontMatches, backMatches, isVisited);
+            }
+
+            // matching 되지 않은 앞쪽 위치에서 교대 경로로 도달하는 위치 ---> cover = (도달하지 않은 앞쪽) + (도달한 뒤쪽)
+            boolean[] isReached = new boolean[sorted.length];
+            Deque<Integer> queue = new ArrayDeque<>();
+
+            for (int i = 0; i < half; i++) {
+                if (crossings[i].length > 0 && frontMatches[i] < 0) {
+                    isReached[i] = true;
+                    queue.add(i);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                int front = queue.poll();
+
+                for (int back : crossings[front]) {
+                    if (isReached[back]) continue;
+
+                    isReached[back] = true;
+
+                    int next = backMatches[back];
+
+                    if (next >= 0 && !isReached[next]) {
+                        isReached[next] = true;
+                        queue.add(next);
+                    }
+                }
+            }
+
+            boolean[] separators = new boolean[sorted.length];
+
+            for (int i = 0; i < half; i++) {
+                separators[i] = crossings[i].length > 0 && !isReached[i];
+            }
+
+            for (int i = half; i < sorted.length; i++) {
+                separators[i] = isReached[i];
+            }
+
+            return separators;
+        }
+
+        // 앞쪽 위치 front 에서 시작하는 증가 경로
+        private static boolean _augment(int front, int[][] crossings, int[] frontMatches, int[] backMatches, boolean[] isVisited) {
+            for (int back : crossings[front]) {
+                if (isVisited[back]) continue;
+
+                isVisited[back] = true;
+
+                if (backMatches[back] < 0 || _augment(backMatches[back], crossings, frontMatches, backMatches, isVisited)) {
+                    frontMatches[front] = back;
+                    backMatches[back] = front;
+
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    private static long _pairKey(int lower, int upper) {
+        return ((long) lower << 32) | (upper & 0xFFFFFFFFL);
+    }
+
+    private double[] _getFreeFlowCosts() {
+        return graph.computeCorridorCosts(RailEdge::getMinVhlCountCost);
+    }
+
+    /**
+     * corridor 별 비용으로 shortcut 비용 계산 (현재 Metric 은 바꾸지 않음)
+     * @param corridorCosts RailCorridorGraph corridor 순서의 비용 (사용 불가: Double.POSITIVE_INFINITY)
+     */
+    public Metric customize(double[] corridorCosts, long nowMillis) {
+        return this.customize(corridorCosts, RailTopologyIndex.getTopologyVersion(), nowMillis);
+    }
+
+    /**
+     * @param topologyVersion corridorCosts 계산 전에 읽은 RailTopologyIndex.getTopologyVersion (계산 후 읽으면 그 사이 변경을 놓침)
+     */
+    private Metric customize(double[] corridorCosts, long topologyVersion, long nowMillis) {
+        int arcCount = edgeLowers.length * 2;
+        double[] weights = new double[arcCount];
+        int[] firstArcs = new int[arcCount];
+        int[] secondArcs = new int[arcCount];
+        int[] arcCorridors = new int[arcCount];
+
+        Arrays.fill(weights, Double.POSITIVE_INFINITY);
+        Arrays.fill(firstArcs, -1);
+        Arrays.fill(secondArcs, -1);
+        Arrays.fill(arcCorridors, -1);
+
+        // 원래 corridor (같은 두 node 사이 corridor 가 여럿이면 비용이 작은 것)
+        for (int corridor = 0; corridor < corridorArcs.length; corridor++) {
+            int arc = corridorArcs[corridor];
+
+            if (arc >= 0 && corridorCosts[corridor] < weights[arc]) {
+                weights[arc] = corridorCosts[corridor];
+                arcCorridors[arc] = corridor;
+            }
+        }
+
+        // 하위 node v 를 거치는 경로로 (u, w) 비용 갱신 ---> v 보다 먼저 축약된 node 의 삼각형은 이미 반영됨
+        for (int i = 0; i < triangles.length; i += 3) {
+            int vu = triangles[i];
+            int vw = triangles[i + 1];
+            int uw = triangles[i + 2];
+
+            // u -> v -> w
+            double weight = weights[2 * vu + 1] + weights[2 * vw];
+
+            if (weight < weights[2 * uw]) {
+                weights[2 * uw] = weight;
+                firstArcs[2 * uw] = 2 * vu + 1;
+                secondArcs[2 * uw] = 2 * vw;
+            }
+
+            // w -> v -> u
+            weight = weights[2 * vw + 1] + weights[2 * vu];
+
+            if (weight < weights[2 * uw + 1]) {
+                weights[2 * uw + 1] = weight;
+                firstArcs[2 * uw + 1] = 2 * vw + 1;
+                secondArcs[2 * uw + 1] = 2 * vu;
+            }
+        }
+
+        return new Metric(weights, firstArcs, secondArcs, arcCorridors, topologyVersion, nowMillis);
+    }
+
+    /**
+     * 경로 조회에 사용할 현재 Metric (필요 시 다시 customize)
+     */
+    public Metric getMetric(long nowMillis) {
+        Metric current = this.metric;
+        boolean isTopologyChanged = current.topologyVersion != RailTopologyIndex.getTopologyVersion();
+        boolean isExpired = customizeMillis > 0 && nowMillis - current.customizedMillis >= customizeMillis;
+
+        if ((isTopologyChanged || isExpired) && isCustomizing.compareAndSet(false, true)) {
+            try {
+                long startMillis = System.currentTimeMillis();
+
+                if (customizeMillis > 0) {
+                    RailCorridorGraph.CostSnapshot costSnapshot = graph.getCorridorCostSnapshot(nowMillis);
+
+                    current = this.customize(costSnapshot.getCosts(), costSnapshot.getTopologyVersion(), nowMillis);
+                } else {
+                    long topologyVersion = RailTopologyIndex.getTopologyVersion();
+
+                    current = this.customize(this._getFreeFlowCosts(), topologyVersion, nowMillis);
+                }
+
+                this.metric = current;
+
+                logger.debug("... rail contraction hierarchy has been customized [elapsed time: {}ms]", System.currentTimeMillis() - startMillis);
+            } catch (Exception e) {
+                logger.error("... failed to customize rail contraction hierarchy", e);
+            } finally {
+                isCustomizing.set(false);
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * corridor node start 에서 goal 까지 최소 비용
+     * @return 경로가 없으면 Double.POSITIVE_INFINITY
+     */
+    public double getCost(int start, int goal, Metric metric) {
+        if (start == goal) return 0.0;
+
+        SearchSpace space = SEARCH_SPACE.get();
+        int meeting = this._search(space, start, goal, metric);
+
+        return meeting >= 0 ? space.forwardCosts[meeting] + space.backwardCosts[meeting] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * corridor node start 에서 goal 까지 최소 비용 경로
+     * @return 경로의 corridor 순서 (RailCorridorGraph), start == goal 이면 빈 배열, 경로가 없으면 null
+     */
+    public int[] findCorridors(int start, int goal, Metric metric) {
+        if (start == goal) return EMPTY_CORRIDORS;
+
+        SearchSpace space = SEARCH_SPACE.get();
+        int meeting = this._search(space, start, goal, metric);
+
+        if (meeting < 0) return null;
+
+        // start -> meeting (상향 arc), meeting -> goal (하향 arc)
+        int[] arcs = space.arcs;
+        int arcCount = 0;
+
+        for (int node = meeting; node != start; node = edgeLowers[space.forwardArcs[node] >> 1]) {
+            arcs[arcCount++] = space.forwardArcs[node];
+        }
+
+        for (int i = 0, j = arcCount - 1; i < j; i++, j--) {
+            int arc = arcs[i];
+
+            arcs[i] = arcs[j];
+            arcs[j] = arc;
+        }
+
+        for (int node = meeting; node != goal; node = edgeLowers[space.backwardArcs[node] >> 1]) {
+            arcs[arcCount++] = space.backwardArcs[node];
+        }
+
+        // shortcut 을 원래 corridor 로 펼침
+        int[] stack = space.stack;
+        int[] corridors = space.corridors;
+        int corridorCount = 0;
+
+        for (int i = 0; i < arcCount; i++) {
+            int top = 0;
+
+            stack = _ensure(stack, top + 1);
+            stack[top++] = arcs[i];
+
+            while (top > 0) {
+                int arc = stack[--top];
+
+                if (metric.firstArcs[arc] >= 0) {
+                    stack = _ensure(stack, top + 2);
+                    stack[top++] = metric.secondArcs[arc];
+                    stack[top++] = metric.firstArcs[arc];
+                } else {
+                    corridors = _ensure(corridors, corridorCount + 1);
+                    corridors[corridorCount++] = metric.arcCorridors[arc];
+                }
+            }
+        }
+
+        space.stack = stack;
+        space.corridors = corridors;
+
+        return Arrays.copyOf(corridors, corridorCount);
+    }
+
+    /*
+    출발 / 도착 node 에서 각각 축약 tree 의 부모 방향으로 올라가며 상위 arc 로 비용 전파 (두 경로는 축약 순서로 번갈아 진행)
+    - 상위 이웃은 모두 축약 tree 의 조상 ---> 두 경로의 공통 조상 중 (정방향 + 역방향) 비용이 최소인 node 에서 만남
+    - 공통 조상부터는 현재까지의 최소 비용 이상인 node 에서 전파하지 않음
+    - 만나는 node, 경로가 없으면 -1
+     */
+    private int _search(SearchSpace space, int start, int goal, Metric metric) {
+        space.prepare(parents.length, depth);
+
+        int stamp = space.generation;
+        int meeting = -1;
+        double best = Double.POSITIVE_INFINITY;
+        int forward = start;
+        int backward = goal;
+
+        space.forwardCosts[start] = 0.0;
+        space.forwardStamps[start] = stamp;
+        space.backwardCosts[goal] = 0.0;
+        space.backwardStamps[goal] = stamp;
+
+        while (forward >= 0 || backward >= 0) {
+            if (forward >= 0 && (backward < 0 || ranks[forward] < ranks[backward])) {
+                this._relax(space.forwardCosts, space.forwardArcs, space.forwardStamps, stamp, forward, metric.weights, 0, best);
+                forward = parents[forward];
+            } else if (forward < 0 || ranks[backward] < ranks[forward]) {
+                this._relax(space.backwardCosts, space.backwardArcs, space.backwardStamps, stamp, backward, metric.weights, 1, best);
+                backward = parents[backward];
+            } else {
+                int node = forward;
+
+                if (
+                        space.forwardStamps[node] == stamp
+                                && space.backwardStamps[node] == stamp
+                                && space.forwardCosts[node] + space.backwardCosts[node] < best
+                ) {
+                    best = space.forwardCosts[node] + space.backwardCosts[node];
+                    meeting = node;
+                }
+
+                this._relax(space.forwardCosts, space.forwardArcs, space.forwardStamps, stamp, node, metric.weights, 0, best);
+                this._relax(space.backwardCosts, space.backwardArcs, space.backwardStamps, stamp, node, metric.weights, 1, best);
+                forward = backward = parents[node];
+            }
+        }
+
+        return meeting;
+    }
+
+    // direction 0: 정방향 (하위 -> 상위 arc), 1: 역방향 (상위 -> 하위 arc 를 거슬러 올라감)
+    private void _relax(double[] costs, int[] arcs, int[] stamps, int stamp, int node, double[] weights, int direction, double best) {
+        if (stamps[node] != stamp) return;
+
+        double cost = costs[node];
+
+        if (cost >= best) return;
+
+        for (int edge = upperOffsets[node]; edge < upperOffsets[node + 1]; edge++) {
+            int upper = edgeUppers[edge];
+            int arc = 2 * edge + direction;
+            double newCost = cost + weights[arc];
+
+            if (stamps[upper] != stamp || newCost < costs[upper]) {
+                costs[upper] = newCost;
+                arcs[upper] = arc;
+                stamps[upper] = stamp;
+            }
+        }
+    }
+
+    private static int[] _ensure(int[] array, int size) {
+        return array.length >= size ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    public int getNodeCount() {
+        return parents.length;
+    }
+
+    // 원래 corridor 와 shortcut 을 합친 (하위, 상위) node 쌍 수
+    public int getEdgeCount() {
+        return edgeLowers.length;
+    }
+
+    public int getTriangleCount() {
+        return triangles.length / 3;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getCustomizeMillis() {
+        return customizeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[rail contraction hierarchy] node: %d | edge: %d | triangle: %d | depth: %d",
+                getNodeCount(), getEdgeCount(), getTriangleCount(), depth);
+    }
+
+    /**
+     * customize 결과 (arc 별 비용, shortcut 이 거치는 두 arc, 원래 corridor)
+     */
+    public static final class Metric {
+        private final double[] weights;
+        private final int[] firstArcs;    // shortcut 이 아니면 -1
+        private final int[] secondArcs;
+        private final int[] arcCorridors;
+        private final long topologyVersion;
+        private final long customizedMillis;
+
+        private Metric(double[] weights, int[] firstArcs, int[] secondArcs, int[] arcCorridors, long topologyVersion, long customizedMillis) {
+            this.weights            = weights;
+            this.firstArcs          = firstArcs;
+            this.secondArcs         = secondArcs;
+            this.arcCorridors       = arcCorridors;
+            this.topologyVersion    = topologyVersion;
+            this.customizedMillis   = customizedMillis;
+        }
+
+        public long getTopologyVersion() {
+            return topologyVersion;
+        }
+
+        public long getCustomizedMillis() {
+            return customizedMillis;
+        }
+    }
+
+    // 쓰레드별 조회 배열 (탐색 번호로 유효 여부 판단)
+    private static final class SearchSpace {
+        private double[] forwardCosts = new double[0];
+        private double[] backwardCosts = new double[0];
+        private int[] forwardArcs = new int[0];
+        private int[] backwardArcs = new int[0];
+        private int[] forwardStamps = new int[0];
+        private int[] backwardStamps = new int[0];
+        private int[] arcs = new int[0];
+        private int[] stack = new int[16];
+        private int[] corridors = new int[16];
+        private int generation = 0;
+
+        private void prepare(int nodeCount, int depth) {
+            if (forwardCosts.length < nodeCount) {
+                forwardCosts = new double[nodeCount];
+                backwardCosts = new double[nodeCount];
+                forwardArcs = new int[nodeCount];
+                backwardArcs = new int[nodeCount];
+                forwardStamps = new int[nodeCount];
+                backwardStamps = new int[nodeCount];
+                generation = 0;
+            }
+
+            if (arcs.length < 2 * depth) {
+                arcs = new int[2 * depth];
+            }
+
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(forwardStamps, 0);
+                Arrays.fill(backwardStamps, 0);
+                generation = 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/**
+ * RailTopologyIndex 의 분기 / 합류 node 만 남긴 경로 탐색용 graph (corridor graph)
+ * - 분기(나가는 edge != 1) 또는 합류(들어오는 edge != 1) node 를 corridor node 로 두고, 그 사이의 RailEdge 연속 구간을 하나의 corridor 로 압축
+ *   (분기 / 합류가 없는 순환 구간은 임의의 node 하나를 corridor node 로 둠)
+ * - corridor 비용은 구간 RailEdge.getVhlCountCost 의 합, 구간에 사용 불가 edge 가 있으면 무한대
+ *   ---> getCorridorCosts 에서 COST_REFRESH_MILLIS 마다 또는 RailTopologyIndex.getTopologyVersion 변경 시 한 쓰레드가 다시 계산, 나머지 쓰레드는 이전 비용 사용
+ *   (조회 시 최대 COST_REFRESH_MILLIS + 계산 시간 이전 비용)
+ * - corridor 중간 node 는 corridor 와 위치를 보관 ---> 출발 / 도착이 corridor 중간인 경우 RailRouteEngine 에서 구간 끝 / 시작 node 까지는 그대로 따라감
+ * - BranchJoinEdge 는 문자열 ID 목록으로 구간을 보관하고 비용 조회 시마다 map 을 조회하므로 사용하지 않고, RailTopologyIndex 의 edge index 로 새로 구성
+ * - RailTopologyIndex 생성 시 함께 만들며, 구조는 변경하지 않음
+ */
+public final class RailCorridorGraph {
+    public static final long COST_REFRESH_MILLIS = 1000L;
+
+    private final RailTopologyIndex topologyIndex;
+
+    // node index -> corridor node id (corridor 중간 node 는 -1), corridor node id -> node index
+    private final int[] corridorNodeIds;
+    private final int[] corridorNodes;
+
+    // corridor node id 별 나가는 corridor (corridorOffsets[i] ~ corridorOffsets[i + 1] - 1)
+    private final int[] corridorOffsets;
+    private final int[] corridorSources;    // corridor node id
+    private final int[] corridorTargets;    // corridor node id
+
+    // corridor 별 RailEdge (RailTopologyIndex edge index, memberOffsets[c] ~ memberOffsets[c + 1] - 1)
+    private final int[] memberOffsets;
+    private final int[] memberEdges;
+
+    // corridor 중간 node 의 corridor 와 node 에서 나가는 edge 의 corridor 안 위치 (corridor node 는 -1)
+    private final int[] nodeCorridors;
+    private final int[] nodePositions;
+
+    private volatile CostSnapshot costSnapshot = null;
+    private final AtomicBoolean isRefreshing = new AtomicBoolean(false);
+
+    private RailCorridorGraph(RailTopologyIndex topologyIndex, boolean[] isCorridorNode, int corridorNodeCount) {
+        int nodeCount = topologyIndex.getNodeCount();
+        int edgeCount = topologyIndex.getAdjacencyCount();
+
+        this.topologyIndex      = topologyIndex;
+        this.corridorNodeIds    = new int[nodeCount];
+        this.corridorNodes      = new int[corridorNodeCount];
+        this.corridorOffsets    = new int[corridorNodeCount + 1];
+        this.nodeCorridors      = new int[nodeCount];
+        this.nodePositions      = new int[nodeCount];
+
+        int corridorCount = 0;
+        int id = 0;
+
+        for (int node = 0; node < nodeCount; node++) {
+            if (isCorridorNode[node]) {
+                corridorNodeIds[node] = id;
+                corridorNodes[id++] = node;
+                corridorCount += topologyIndex.getAdjacencyEnd(node) - topologyIndex.getAdjacencyStart(node);
+            } else {
+                corridorNodeIds[node] = -1;
+            }
+        }
+
+        this.corridorSources    = new int[corridorCount];
+        this.corridorTargets    = new int[corridorCount];
+        this.memberOffsets      = new int[corridorCount + 1];
+        this.memberEdges        = new int[edgeCount];
+
+        Arrays.fill(nodeCorridors, -1);
+        Arrays.fill(nodePositions, -1);
+
+        int corridor = 0;
+        int memberCount = 0;
+
+        // corridor node id 순서로 나가는 edge 마다 다음 corridor node 까지 따라감
+        for (id = 0; id < corridorNodeCount; id++) {
+            int node = corridorNodes[id];
+
+            corridorOffsets[id] = corridor;
+
+            for (int edgeIndex = topologyIndex.getAdjacencyStart(node); edgeIndex < topologyIndex.getAdjacencyEnd(node); edgeIndex++) {
+                int position = 0;
+                int current = edgeIndex;
+                int next;
+
+                memberOffsets[corridor] = memberCount;
+
+                while (true) {
+                    memberEdges[memberCount++] = current;
+                    next = topologyIndex.getAdjacencyTarget(current);
+
+                    if (isCorridorNode[next]) break;
+
+                    nodeCorridors[next] = corridor;
+                    nodePositions[next] = ++position;
+                    current = topologyIndex.getAdjacencyStart(next);
+                }
+
+                corridorSources[corridor] = id;
+                corridorTargets[corridor] = corridorNodeIds[next];
+                corridor++;
+            }
+        }
+
+        corridorOffsets[corridorNodeCount] = corridor;
+        memberOffsets[corridor] = memberCount;
+    }
+
+    /**
+     * @param topologyIndex _buildAdjacency 이후의 index
+     */
+    static RailCorridorGraph build(RailTopologyIndex topologyIndex) {
+        int nodeCount = topologyIndex.getNodeCount();
+        int edgeCount = topologyIndex.getAdjacencyCount();
+        int[] inDegrees = new int[nodeCount];
+        boolean[] isCorridorNode = new boolean[nodeCount];
+        boolean[] isVisited = new boolean[edgeCount];
+        int corridorNodeCount = 0;
+
+        for (int edgeIndex = 0; edgeIndex < edgeCount; edgeIndex++) {
+            inDegrees[topologyIndex.getAdjacencyTarget(edgeIndex)]++;
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            int outDegree = topologyIndex.getAdjacencyEnd(node) - topologyIndex.getAdjacencyStart(node);
+
+            if (inDegrees[node] != 1 || outDegree != 1) {
+                isCorridorNode[node] = true;
+                corridorNodeCount++;
+            }
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            if (isCorridorNode[node]) {
+                _visitCorridors(topologyIndex, node, isCorridorNode, isVisited);
+            }
+        }
+
+        // 남은 edge 는 분기 / 합류가 없는 순환 구간 ---> 시작 node 를 corridor node 로 지정
+        for (int edgeIndex = 0; edgeIndex < edgeCount; edgeIndex++) {
+            if (isVisited[edgeIndex]) continue;
+
+            int node = topologyIndex.getAdjacencySource(edgeIndex);
+
+            isCorridorNode[node] = true;
+            corridorNodeCount++;
+            _visitCorridors(topologyIndex, node, isCorridorNode, isVisited);
+        }
+
+        return new RailCorridorGraph(topologyIndex, isCorridorNode, corridorNodeCount);
+    }
+
+    private static void _visitCorridors(RailTopologyIndex topologyIndex, int node, boolean[] isCorridorNode, boolean[] isVisited) {
+        for (int edgeIndex = topologyIndex.getAdjacencyStart(node); edgeIndex < topologyIndex.getAdjacencyEnd(node); edgeIndex++) {
+            int current = edgeIndex;
+
+            while (!isVisited[current]) {
+                isVisited[current] = true;
+
+                int next = topologyIndex.getAdjacencyTarget(current);
+
+                if (isCorridorNode[next]) break;
+
+                current = topologyIndex.getAdjacencyStart(next);
+            }
+        }
+    }
+
+    /**
+     * corridor 별 비용 (사용 불가 edge 가 있으면 Double.POSITIVE_INFINITY)
+     * - topology 가 바뀌었거나 COST_REFRESH_MILLIS 가 지난 경우 한 쓰레드가 다시 계산, 그 동안 다른 쓰레드는 이전 계산 결과 사용 (반환한 배열은 변경하지 않음)
+     */
+    public double[] getCorridorCosts(long nowMillis) {
+        return this.getCorridorCostSnapshot(nowMillis).getCosts();
+    }
+
+    /**
+     * getCorridorCosts 와 같은 비용 + 계산 전에 읽은 topology version
+     * - 비용과 version 을 함께 사용하는 경우 (RailContractionHierarchy.getMetric) ---> 이전 계산 결과인 경우 version 도 이전 값
+     */
+    public CostSnapshot getCorridorCostSnapshot(long nowMillis) {
+        CostSnapshot current = costSnapshot;
+
+        if (current != null
+                && current.topologyVersion == RailTopologyIndex.getTopologyVersion()
+                && nowMillis - current.computedMillis < COST_REFRESH_MILLIS) {
+            return current;
+        }
+
+        if (isRefreshing.compareAndSet(false, true)) {
+            try {
+                // 계산 전에 version 을 읽음 ---> 계산 중 바뀐 경우 다음 조회 시 다시 계산
+                long version = RailTopologyIndex.getTopologyVersion();
+
+                current = new CostSnapshot(this.computeCorridorCosts(RailEdge::getVhlCountCost), version, nowMillis);
+                costSnapshot = current;
+            } finally {
+                isRefreshing.set(false);
+            }
+        } else if (current == null) {
+            // 최초 계산 중인 경우 ---> 기다리지 않고 직접 계산 (저장하지 않음)
+            long version = RailTopologyIndex.getTopologyVersion();
+
+            return new CostSnapshot(this.computeCorridorCosts(RailEdge::getVhlCountCost), version, nowMillis);
+        }
+
+        return current;
+    }
+
+    /**
+     * corridor 별 RailEdge 비용(edgeCost) 의 합, 사용 불가 edge 가 있으면 Double.POSITIVE_INFINITY
+     * - 현재 비용(getCorridorCosts), RailContractionHierarchy 의 자유 주행 비용 / 가정 비용 계산에 사용
+     */
+    public double[] computeCorridorCosts(ToDoubleFunction<RailEdge> edgeCost) {
+        double[] costs = new double[corridorSources.length];
+
+        for (int corridor = 0; corridor < costs.length; corridor++) {
+            double cost = 0.0;
+
+            for (int member = memberOffsets[corridor]; member < memberOffsets[corridor + 1]; member++) {
+                RailEdge railEdge = topologyIndex.getRailEdgeAt(memberEdges[member]);
+
+                // 단절된 경로는 차단
+                if (!railEdge.isAvailable()) {
+                    cost = Double.POSITIVE_INFINITY;
+
+                    break;
+                }
+
+                cost += edgeCost.applyAsDouble(railEdge);
+            }
+
+            costs[corridor] = cost;
+        }
+
+        return costs;
+    }
+
+    /**
+     * corridor 안 fromPosition ~ toPosition - 1 번째 RailEdge 가 모두 사용 가능한지 (현재 값)
+     */
+    public boolean isMemberAvailable(int corridor, int fromPosition, int toPosition) {
+        int offset = memberOffsets[corridor];
+
+        for (int position = fromPosition; position < toPosition; position++) {
+            if (!topologyIndex.getRailEdgeAt(memberEdges[offset + position]).isAvailable()) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * 같은 시점에 계산한 corridor 비용 / 계산 전에 읽은 topology version / 계산 시각 (불변)
+     */
+    public static final class CostSnapshot {
+        private final double[] costs;
+        private final long topologyVersion;
+        private final long computedMillis;
+
+        private CostSnapshot(double[] costs, long topologyVersion, long computedMillis) {
+            this.costs              = costs;
+            this.topologyVersion    = topologyVersion;
+            this.computedMillis     = computedMillis;
+        }
+
+        public double[] getCosts() {
+            return costs;
+        }
+
+        public long getTopologyVersion() {
+            return topologyVersion;
+        }
+
+        public long getComputedMillis() {
+            return computedMillis;
+        }
+    }
+
+    public int getCorridorNodeCount() {
+        return corridorNodes.length;
+    }
+
+    public int getCorridorCount() {
+        return corridorSources.length;
+    }
+
+    /**
+     * @return corridor 중간 node 인 경우 -1
+     */
+    public int getCorridorNodeId(int nodeIndex) {
+        return corridorNodeIds[nodeIndex];
+    }
+
+    public int getCorridorNodeAt(int corridorNodeId) {
+        return corridorNodes[corridorNodeId];
+    }
+
+    // corridor node 의 첫 corridor
+    public int getCorridorStart(int corridorNodeId) {
+        return corridorOffsets[corridorNodeId];
+    }
+
+    // corridor node 의 마지막 corridor + 1
+    public int getCorridorEnd(int corridorNodeId) {
+        return corridorOffsets[corridorNodeId + 1];
+    }
+
+    public int getCorridorSource(int corridor) {
+        return corridorSources[corridor];
+    }
+
+    public int getCorridorTarget(int corridor) {
+        return corridorTargets[corridor];
+    }
+
+    public int getMemberCount(int corridor) {
+        return memberOffsets[corridor + 1] - memberOffsets[corridor];
+    }
+
+    /**
+     * @return corridor 안 position 번째 RailEdge 의 edge index (RailTopologyIndex.getRailEdgeAt)
+     */
+    public int getMemberEdge(int corridor, int position) {
+        return memberEdges[memberOffsets[corridor] + position];
+    }
+
+    /**
+     * @return corridor 중간 node 가 속한 corridor, corridor node 는 -1
+     */
+    public int getNodeCorridor(int nodeIndex) {
+        return nodeCorridors[nodeIndex];
+    }
+
+    /**
+     * @return corridor 중간 node 에서 나가는 edge 의 corridor 안 위치, corridor node 는 -1
+     */
+    public int getNodePosition(int nodeIndex) {
+        return nodePositions[nodeIndex];
+    }
+}
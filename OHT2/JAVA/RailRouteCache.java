@@ -0,0 +1,333 @@
+/**
+ * 지나간 railEdge 추정 경로 cache ((fab, mcp) 의 RailTopologyIndex 별, 출발 / 도착 address + carrier 구분)
+ * - 분기 / 합류가 많은 구간에서 연속한 vehicle 이 같은 구간을 추정하는 경우 경로 탐색 생략
+ * - (fab, mcp) 별 capacity 개 slot 의 table (잠금 없음, key 는 long 그대로 사용 ---> 조회 시 boxing / 잠금 없음)
+ *   key hash 로 정한 WAYS 개 slot 묶음(set) 안에서만 찾고 기록, 가득 찬 경우 최근 조회되지 않은 경로부터 교체 (set 단위 clock, 근사 LRU)
+ *   ---> 같은 slot 에 동시에 기록하면 하나만 남을 수 있음 (cache 이므로 다음 탐색 후 다시 기록)
+ * - RailTopologyIndex.getTopologyVersion 이 바뀌면(RailEdge.setAvailable, layout 재구성) 이전 경로는 사용하지 않음
+ * - 경로상 분기(나가는 edge 2개 이상) 가 있으면 비용(getVhlCountCost, 교통량에 따라 변함) 에 따라 달라지는 경로 ---> ttlMillis 후 만료
+ *   분기가 없으면 유일한 경로 ---> topology 변경 전까지 유지
+ * - JMX(OHT:type=RailRouteCache) 로 hit ratio 조회
+ * - OhtRouteCacheSize > 0 인 경우에만 생성
+ */
+public class RailRouteCache implements RailRouteCacheMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(RailRouteCache.class);
+    public static final int CARRIER_CLASS_ANY = 0;    // 비용이 carrier 와 무관한 경로 (지나간 railEdge 추정)
+
+    private final int capacity;
+    private volatile long ttlMillis;
+    private static final int WAYS = 4;    // set 당 slot 수
+
+    private final ConcurrentMap<RailTopologyIndex, Table> tableMap = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder staleCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+    private volatile long resetTimeMillis = System.currentTimeMillis();
+
+    /**
+     * @param capacity (fab, mcp) 별 최대 경로 수
+     * @param ttlMillis 분기가 있는 경로의 유효 시간
+     */
+    public RailRouteCache(int capacity, long ttlMillis) {
+        this.capacity = Math.max(1, capacity);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return 없거나 topology 가 바뀌었거나 만료된 경우 null (새 queue 를 반환하므로 호출한 쪽에서 변경 가능)
+     */
+    public ConcurrentLinkedQueue<RailEdge> get(RailTopologyIndex topologyIndex, int fromAddress, int toAddress, int carrierClass, long nowMillis) {
+        Table table = tableMap.get(topologyIndex);
+        Entry entry = null;
+        long key = _key(fromAddress, toAddress, carrierClass);
+
+        if (table != null) {
+            int slot = table.find(key);
+
+            if (slot >= 0) {
+                entry = table.slots.get(slot);
+
+                if (entry != null && entry.key != key) {
+                    // 찾은 뒤 다른 경로로 교체됨
+                    entry = null;
+                } else if (entry != null && entry.topologyVersion != RailTopologyIndex.getTopologyVersion()) {
+                    table.slots.compareAndSet(slot, entry, null);
+                    staleCount.increment();
+                    entry = null;
+                } else if (entry != null && entry.expireMillis < nowMillis) {
+                    table.slots.compareAndSet(slot, entry, null);
+                    expiredCount.increment();
+                    entry = null;
+                }
+            }
+        }
+
+        if (entry == null) {
+            missCount.increment();
+
+            return null;
+        }
+
+        entry.isReferenced = true;
+        hitCount.increment();
+
+        return new ConcurrentLinkedQueue<>(Arrays.asList(entry.railEdges));
+    }
+
+    /**
+     * @param topologyVersion 경로 탐색 전에 조회한 RailTopologyIndex.getTopologyVersion (탐색 중 변경된 경우 다음 조회 시 사용하지 않음)
+     */
+    public void put(
+            RailTopologyIndex topologyIndex,
+            int fromAddress,
+            int toAddress,
+            int carrierClass,
+            Collection<RailEdge> railEdges,
+            long topologyVersion,
+            long nowMillis
+    ) {
+        if (railEdges.isEmpty()) return;
+
+        RailEdge[] path = railEdges.toArray(new RailEdge[0]);
+        long expireMillis = _hasBranch(topologyIndex, path) ? nowMillis + ttlMillis : Long.MAX_VALUE;
+        long key = _key(fromAddress, toAddress, carrierClass);
+        Table table = tableMap.get(topologyIndex);
+
+        if (table == null) {
+            table = tableMap.computeIfAbsent(topologyIndex, k -> new Table(capacity));
+        }
+
+        table.put(new Entry(key, path, topologyVersion, expireMillis));
+    }
+
+    // 경로상 node 중 나가는 edge 가 2개 이상인 것이 있으면 비용에 따라 다른 경로가 선택될 수 있음
+    private static boolean _hasBranch(RailTopologyIndex topologyIndex, RailEdge[] path) {
+        for (RailEdge railEdge : path) {
+            int nodeIndex = topologyIndex.getNodeIndex(railEdge.getFromAddress());
+
+            if (nodeIndex < 0 || topologyIndex.getAdjacencyEnd(nodeIndex) - topologyIndex.getAdjacencyStart(nodeIndex) > 1) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // address 는 28 bit 이내 (MCP address 최대 5자리)
+    private static long _key(int fromAddress, int toAddress, int carrierClass) {
+        return ((long) fromAddress << 36) | ((long) (toAddress & 0x0FFFFFFF) << 8) | (carrierClass & 0xFF);
+    }
+
+    // key 의 상위 bit 까지 섞어 set 선택
+    private static int _hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * 전체 경로 삭제 (layout 재구성 시 이전 RailTopologyIndex 의 경로도 함께 제거)
+     */
+    @Override
+    public void clear() {
+        tableMap.clear();
+    }
+
+    @Override
+    public void reset() {
+        hitCount.reset();
+        missCount.reset();
+        staleCount.reset();
+        expiredCount.reset();
+        resetTimeMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long hit = hitCount.sum();
+        long total = hit + missCount.sum();
+
+        return total > 0 ? (double) hit / total : 0.0;
+    }
+
+    @Override
+    public long getStaleCount() {
+        return staleCount.sum();
+    }
+
+    @Override
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+
+        for (Table table : tableMap.values()) {
+            size += table.size();
+        }
+
+        return size;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    @Override
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public long getTopologyVersion() {
+        return RailTopologyIndex.getTopologyVersion();
+    }
+
+    @Override
+    public long getResetTimeMillis() {
+        return resetTimeMillis;
+    }
+
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, _getObjectName());
+        } catch (InstanceAlreadyExistsException e) {
+            logger.warn("... rail route cache is already registered");
+        } catch (Exception e) {
+            logger.error("... failed to register rail route cache", e);
+        }
+    }
+
+    public void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = _getObjectName();
+
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (Exception e) {
+            logger.error("... failed to unregister rail route cache", e);
+        }
+    }
+
+    private ObjectName _getObjectName() throws MalformedObjectNameException {
+        return new ObjectName("OHT:type=RailRouteCache");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[rail route cache] size: %d | hit: %d | miss: %d | hit ratio: %.3f | stale: %d | expired: %d | ttl: %dms",
+                getSize(), getHitCount(), getMissCount(), getHitRatio(), getStaleCount(), getExpiredCount(), ttlMillis);
+    }
+
+    private static final class Entry {
+        private final long key;
+        private final RailEdge[] railEdges;
+        private final long topologyVersion;
+        private final long expireMillis;
+        private volatile boolean isReferenced = false;    // 기록 / 마지막 교체 확인 이후 조회 여부 (clock)
+
+        private Entry(long key, RailEdge[] railEdges, long topologyVersion, long expireMillis) {
+            this.key                = key;
+            this.railEdges          = railEdges;
+            this.topologyVersion    = topologyVersion;
+            this.expireMillis       = expireMillis;
+        }
+    }
+
+    /**
+     * (fab, mcp) 별 경로 table ---> WAYS 개 slot 씩 묶은 set 배열 (잠금 없이 AtomicReferenceArray 로 교체)
+     */
+    private static final class Table {
+        private final AtomicReferenceArray<Entry> slots;
+        private final int setMask;
+
+        private Table(int capacity) {
+            int setCount = 1;
+
+            while (setCount * WAYS < capacity) {
+                setCount <<= 1;
+            }
+
+            this.slots      = new AtomicReferenceArray<>(setCount * WAYS);
+            this.setMask    = setCount - 1;
+        }
+
+        private int _setStart(long key) {
+            return (_hash(key) & setMask) * WAYS;
+        }
+
+        /**
+         * @return key 의 slot, 없으면 -1
+         */
+        private int find(long key) {
+            int start = this._setStart(key);
+
+            for (int slot = start; slot < start + WAYS; slot++) {
+                Entry entry = slots.get(slot);
+
+                if (entry != null && entry.key == key) return slot;
+            }
+
+            return -1;
+        }
+
+        /**
+         * 같은 key 의 slot > 빈 slot > 최근 조회되지 않은 slot 순으로 기록 (조회된 slot 은 표시를 지우고 넘어감, 모두 조회된 경우 첫 slot)
+         */
+        private void put(Entry newEntry) {
+            int start = this._setStart(newEntry.key);
+            int target = this.find(newEntry.key);
+
+            for (int slot = start; target < 0 && slot < start + WAYS; slot++) {
+                if (slots.get(slot) == null) {
+                    target = slot;
+                }
+            }
+
+            for (int slot = start; target < 0 && slot < start + WAYS; slot++) {
+                Entry entry = slots.get(slot);
+
+                if (entry == null || !entry.isReferenced) {
+                    target = slot;
+
+                    break;
+                }
+
+                entry.isReferenced = false;
+            }
+
+            slots.set(target >= 0 ? target : start, newEntry);
+        }
+
+        private int size() {
+            int size = 0;
+
+            for (int slot = 0; slot < slots.length(); slot++) {
+                if (slots.get(slot) != null) size++;
+            }
+
+            return size;
+        }
+    }
+}
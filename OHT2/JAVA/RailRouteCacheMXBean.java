@@ -0,0 +1,30 @@
+/**
+ * 지나간 railEdge 추정 경로 cache JMX 조회용 (ObjectName: OHT:type=RailRouteCache)
+ */
+public interface RailRouteCacheMXBean {
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRatio();
+
+    long getStaleCount();
+
+    long getExpiredCount();
+
+    int getSize();
+
+    int getCapacity();
+
+    long getTtlMillis();
+
+    void setTtlMillis(long ttlMillis);
+
+    long getTopologyVersion();
+
+    long getResetTimeMillis();
+
+    void clear();
+
+    void reset();
+}
@@ -0,0 +1,486 @@
+/**
+ * RailTopologyIndex 의 node index 기반 최소 비용 경로 탐색 (Dijkstra)
+ * - DijkstraVhlRouteFind 와 같은 결과: 비용 RailEdge.getVhlCountCost, 사용 불가(isAvailable=false) edge 제외, 출발 node 는 방문한 것으로 시작
+ * - PriorityQueue.remove(O(n)) 대신 index 가 있는 binary heap 으로 비용 감소 (O(log n))
+ * - node 별 비용 / 이전 edge / heap 위치 배열은 쓰레드마다 재사용하고, 탐색 번호(generation) 로 유효 여부를 판단 ---> 탐색마다 초기화 / 객체 생성 없음
+ * - 경로 복원은 이전 edge index 를 따라가며 수행 (nodeMap 문자열 조회 없음)
+ * - A*(useHeuristic=true): heap 순서를 (비용 + RailTopologyIndex.estimateCost) 로 하여 도착 방향의 node 부터 확정 ---> 경로 비용은 Dijkstra 와 같음
+ * - corridor 탐색(getCorridorRailEdgeList): RailCorridorGraph 의 분기 / 합류 node 만 확정하고, 찾은 경로만 RailEdge 로 펼침
+ *   corridor 중간의 출발 / 도착 node 는 corridor 끝 / 시작 node 까지 그대로 따라감 (다른 경로 없음)
+ *   corridor 비용은 최대 RailCorridorGraph.COST_REFRESH_MILLIS 이전 값 ---> 교통량 변화 직후에는 Dijkstra 와 다른 경로일 수 있음
+ * - hierarchy 탐색(getHierarchyRailEdgeList): corridor node 사이를 RailContractionHierarchy 로 탐색 (출발 / 도착 처리는 corridor 탐색과 같음)
+ * - 비용이 같은 경로가 여럿인 경우 선택되는 경로는 DijkstraVhlRouteFind 와 다를 수 있음
+ */
+public final class RailRouteEngine {
+    private static final Logger logger = LoggerFactory.getLogger(RailRouteEngine.class);
+    private static final ThreadLocal<RailRouteEngine> ENGINE = ThreadLocal.withInitial(RailRouteEngine::new);
+    private static final int[] EMPTY_PATH = new int[0];
+
+    // 탐색 / 확정 node 수 (Dijkstra, A*, corridor 별) ---> 탐색 당 평균 확정 node 수로 heuristic / 압축 효과 확인
+    private static final LongAdder dijkstraSearchCount = new LongAdder();
+    private static final LongAdder dijkstraSettledCount = new LongAdder();
+    private static final LongAdder aStarSearchCount = new LongAdder();
+    private static final LongAdder aStarSettledCount = new LongAdder();
+    private static final LongAdder corridorSearchCount = new LongAdder();
+    private static final LongAdder corridorSettledCount = new LongAdder();
+
+    // node 별 배열 (corridor 탐색 시에는 corridor node id 별)
+    private double[] costs = new double[0];
+    private double[] priorities = new double[0];    // heap 순서 (Dijkstra: 비용, A*: 비용 + 하한)
+    private double[] estimates = new double[0];    // 도착까지 비용 하한 (A* 에서 node 발견 시 한 번 계산)
+    private int[] predecessors = new int[0];    // 직전 edge index, corridor 탐색 시 직전 corridor (출발 node 는 -1)
+    private int[] discoveredStamps = new int[0];    // == generation: 이번 탐색에서 비용이 정해진 node
+    private int[] settledStamps = new int[0];    // == generation: 이번 탐색에서 확정된 node
+    private int[] heapPositions = new int[0];
+    private int[] heap = new int[0];
+    private int heapSize = 0;
+    private int generation = 0;
+    private int lastSettledCount = 0;
+
+    public static RailRouteEngine forCurrentThread() {
+        return ENGINE.get();
+    }
+
+    // Dijkstra
+    public ConcurrentLinkedQueue<RailEdge> getRailEdgeList(RailTopologyIndex topologyIndex, int fromAddress, int toAddress) {
+        return this.getRailEdgeList(topologyIndex, fromAddress, toAddress, false);
+    }
+
+    /**
+     * fromAddress 의 node 에서 toAddress 의 node 까지 지나는 rail edge (DijkstraVhlRouteFind.getRailEdgeList 와 같은 형식)
+     * @param useHeuristic true: A*
+     * @return 두 address 중 index 에 없는 것이 있으면 null (기존 방식으로 처리), 경로가 없으면 빈 queue
+     */
+    public ConcurrentLinkedQueue<RailEdge> getRailEdgeList(RailTopologyIndex topologyIndex, int fromAddress, int toAddress, boolean useHeuristic) {
+        int source = topologyIndex.getNodeIndex(fromAddress);
+        int destination = topologyIndex.getNodeIndex(toAddress);
+
+        if (source < 0 || destination < 0) return null;
+
+        return this._toRailEdgeList(topologyIndex, this.findEdgePath(topologyIndex, source, destination, useHeuristic), fromAddress, toAddress);
+    }
+
+    /**
+     * RailCorridorGraph 로 탐색한 fromAddress 의 node 에서 toAddress 의 node 까지 지나는 rail edge
+     * @param nowMillis corridor 비용 재계산 여부 판단 (RailCorridorGraph.getCorridorCosts)
+     * @return 두 address 중 index 에 없는 것이 있으면 null (기존 방식으로 처리), 경로가 없으면 빈 queue
+     */
+    public ConcurrentLinkedQueue<RailEdge> getCorridorRailEdgeList(RailTopologyIndex topologyIndex, int fromAddress, int toAddress, long nowMillis) {
+        int source = topologyIndex.getNodeIndex(fromAddress);
+        int destination = topologyIndex.getNodeIndex(toAddress);
+
+        if (source < 0 || destination < 0) return null;
+
+        return this._toRailEdgeList(topologyIndex, this.findCorridorPath(topologyIndex, source, destination, nowMillis), fromAddress, toAddress);
+    }
+
+    /**
+     * RailContractionHierarchy 로 탐색한 fromAddress 의 node 에서 toAddress 의 node 까지 지나는 rail edge
+     * @return hierarchy 가 없거나(OhtRouteHierarchyEnabled=false) 두 address 중 index 에 없는 것이 있으면 null (기존 방식으로 처리), 경로가 없으면 빈 queue
+     */
+    public ConcurrentLinkedQueue<RailEdge> getHierarchyRailEdgeList(RailTopologyIndex topologyIndex, int fromAddress, int toAddress, long nowMillis) {
+        RailContractionHierarchy hierarchy = topologyIndex.getContractionHierarchy();
+        int source = topologyIndex.getNodeIndex(fromAddress);
+        int destination = topologyIndex.getNodeIndex(toAddress);
+
+        if (hierarchy == null || source < 0 || destination < 0) return null;
+
+        return this._toRailEdgeList(topologyIndex, this.findHierarchyPath(topologyIndex, hierarchy, source, destination, nowMillis), fromAddress, toAddress);
+    }
+
+    private ConcurrentLinkedQueue<RailEdge> _toRailEdgeList(RailTopologyIndex topologyIndex, int[] path, int fromAddress, int toAddress) {
+        ConcurrentLinkedQueue<RailEdge> railEdges = new ConcurrentLinkedQueue<>();
+
+        if (path == null) {
+            logger.warn("... rail route could not be found [fab: {} | mcp: {}] [source: {} | destination: {}]", topologyIndex.getFabId(), topologyIndex.getMcpName(), fromAddress, toAddress);
+
+            return railEdges;
+        }
+
+        for (int edgeIndex : path) {
+            railEdges.add(topologyIndex.getRailEdgeAt(edgeIndex));
+        }
+
+        return railEdges;
+    }
+
+    /**
+     * @param source 출발 node index
+     * @param destination 도착 node index
+     * @param useHeuristic true: A* (index 의 heuristicScale 이 0 이면 Dijkstra 와 같음)
+     * @return 경로의 edge index (RailTopologyIndex.getRailEdgeAt), 출발과 도착이 같으면 빈 배열, 경로가 없으면 null
+     */
+    public int[] findEdgePath(RailTopologyIndex topologyIndex, int source, int destination, boolean useHeuristic) {
+        this._prepare(topologyIndex.getNodeCount());
+
+        int stamp = this.generation;
+        int settledCount = 0;
+
+        costs[source] = 0.0;
+        estimates[source] = useHeuristic ? topologyIndex.estimateCost(source, destination) : 0.0;
+        priorities[source] = estimates[source];
+        predecessors[source] = -1;
+        discoveredStamps[source] = stamp;
+        this._push(source);
+
+        while (heapSize > 0) {
+            int node = this._pop();
+
+            settledStamps[node] = stamp;
+            settledCount++;
+
+            if (node == destination) break;
+
+            double cost = costs[node];
+            int end = topologyIndex.getAdjacencyEnd(node);
+
+            for (int edgeIndex = topologyIndex.getAdjacencyStart(node); edgeIndex < end; edgeIndex++) {
+                int next = topologyIndex.getAdjacencyTarget(edgeIndex);
+
+                if (settledStamps[next] == stamp) continue;
+
+                RailEdge railEdge = topologyIndex.getRailEdgeAt(edgeIndex);
+
+                // 단절된 경로는 차단
+                if (!railEdge.isAvailable()) continue;
+
+                double newCost = cost + railEdge.getVhlCountCost();
+
+                if (discoveredStamps[next] != stamp) {
+                    estimates[next] = useHeuristic ? topologyIndex.estimateCost(next, destination) : 0.0;
+                    costs[next] = newCost;
+                    priorities[next] = newCost + estimates[next];
+                    predecessors[next] = edgeIndex;
+                    discoveredStamps[next] = stamp;
+                    this._push(next);
+                } else if (newCost < costs[next]) {
+                    costs[next] = newCost;
+                    priorities[next] = newCost + estimates[next];
+                    predecessors[next] = edgeIndex;
+                    this._siftUp(heapPositions[next]);
+                }
+            }
+        }
+
+        heapSize = 0;
+        lastSettledCount = settledCount;
+
+        if (useHeuristic) {
+            aStarSearchCount.increment();
+            aStarSettledCount.add(settledCount);
+        } else {
+            dijkstraSearchCount.increment();
+            dijkstraSettledCount.add(settledCount);
+        }
+
+        if (discoveredStamps[destination] != stamp) return null;
+
+        return this._buildPath(topologyIndex, source, destination);
+    }
+
+    /**
+     * RailCorridorGraph 의 corridor node 사이를 탐색한 뒤 경로의 corridor 만 RailEdge 로 펼침
+     * @param source 출발 node index
+     * @param destination 도착 node index
+     * @return 경로의 edge index (RailTopologyIndex.getRailEdgeAt), 출발과 도착이 같으면 빈 배열, 경로가 없으면 null
+     */
+    public int[] findCorridorPath(RailTopologyIndex topologyIndex, int source, int destination, long nowMillis) {
+        return this._findCorridorPath(topologyIndex, source, destination, nowMillis, null);
+    }
+
+    /**
+     * findCorridorPath 와 같으며 corridor node 사이는 RailContractionHierarchy 로 탐색 (hierarchy.getMetric(nowMillis) 의 비용)
+     * @return 경로의 edge index (RailTopologyIndex.getRailEdgeAt), 출발과 도착이 같으면 빈 배열, 경로가 없으면 null
+     */
+    public int[] findHierarchyPath(RailTopologyIndex topologyIndex, RailContractionHierarchy hierarchy, int source, int destination, long nowMillis) {
+        return this._findCorridorPath(topologyIndex, source, destination, nowMillis, hierarchy);
+    }
+
+    private int[] _findCorridorPath(RailTopologyIndex topologyIndex, int source, int destination, long nowMillis, RailContractionHierarchy hierarchy) {
+        if (source == destination) return EMPTY_PATH;
+
+        RailCorridorGraph graph = topologyIndex.getCorridorGraph();
+        int sourceCorridor = graph.getNodeCorridor(source);
+        int sourcePosition = graph.getNodePosition(source);
+        int destinationCorridor = graph.getNodeCorridor(destination);
+        int destinationPosition = graph.getNodePosition(destination);
+
+        // 같은 corridor 의 뒤쪽 node 로 가는 경우 corridor 를 따라가는 경로뿐
+        if (sourceCorridor >= 0 && sourceCorridor == destinationCorridor && sourcePosition < destinationPosition) {
+            if (!graph.isMemberAvailable(sourceCorridor, sourcePosition, destinationPosition)) return null;
+
+            int[] path = new int[destinationPosition - sourcePosition];
+
+            _copyMembers(graph, sourceCorridor, sourcePosition, destinationPosition, path, 0);
+
+            return path;
+        }
+
+        // 출발이 corridor 중간이면 corridor 끝 node 부터, 도착이 corridor 중간이면 corridor 시작 node 까지 탐색
+        if (sourceCorridor >= 0 && !graph.isMemberAvailable(sourceCorridor, sourcePosition, graph.getMemberCount(sourceCorridor))) return null;
+        if (destinationCorridor >= 0 && !graph.isMemberAvailable(destinationCorridor, 0, destinationPosition)) return null;
+
+        int start = sourceCorridor >= 0 ? graph.getCorridorTarget(sourceCorridor) : graph.getCorridorNodeId(source);
+        int goal = destinationCorridor >= 0 ? graph.getCorridorSource(destinationCorridor) : graph.getCorridorNodeId(destination);
+        int[] corridors = hierarchy != null
+                ? hierarchy.findCorridors(start, goal, hierarchy.getMetric(nowMillis))
+                : this._searchCorridors(graph, start, goal, nowMillis);
+
+        if (corridors == null) return null;
+
+        // 출발 corridor 나머지 + 경로의 corridor + 도착 corridor 앞부분
+        int length = destinationCorridor >= 0 ? destinationPosition : 0;
+
+        if (sourceCorridor >= 0) {
+            length += graph.getMemberCount(sourceCorridor) - sourcePosition;
+        }
+
+        for (int corridor : corridors) {
+            length += graph.getMemberCount(corridor);
+        }
+
+        int[] path = new int[length];
+        int position = 0;
+
+        if (sourceCorridor >= 0) {
+            position = _copyMembers(graph, sourceCorridor, sourcePosition, graph.getMemberCount(sourceCorridor), path, position);
+        }
+
+        for (int corridor : corridors) {
+            position = _copyMembers(graph, corridor, 0, graph.getMemberCount(corridor), path, position);
+        }
+
+        if (destinationCorridor >= 0) {
+            _copyMembers(graph, destinationCorridor, 0, destinationPosition, path, position);
+        }
+
+        return path;
+    }
+
+    /*
+    corridor node start 에서 goal 까지 Dijkstra (비용 RailCorridorGraph.getCorridorCosts)
+    - 경로의 corridor 순서, start == goal 이면 빈 배열, 경로가 없으면 null
+     */
+    private int[] _searchCorridors(RailCorridorGraph graph, int start, int goal, long nowMillis) {
+        double[] corridorCosts = graph.getCorridorCosts(nowMillis);
+
+        this._prepare(graph.getCorridorNodeCount());
+
+        int stamp = this.generation;
+        int settledCount = 0;
+
+        costs[start] = 0.0;
+        priorities[start] = 0.0;
+        predecessors[start] = -1;
+        discoveredStamps[start] = stamp;
+        this._push(start);
+
+        while (heapSize > 0) {
+            int node = this._pop();
+
+            settledStamps[node] = stamp;
+            settledCount++;
+
+            if (node == goal) break;
+
+            double cost = costs[node];
+            int end = graph.getCorridorEnd(node);
+
+            for (int corridor = graph.getCorridorStart(node); corridor < end; corridor++) {
+                int next = graph.getCorridorTarget(corridor);
+
+                if (settledStamps[next] == stamp) continue;
+
+                double corridorCost = corridorCosts[corridor];
+
+                // 사용 불가 edge 가 있는 corridor 는 차단
+                if (corridorCost == Double.POSITIVE_INFINITY) continue;
+
+                double newCost = cost + corridorCost;
+
+                if (discoveredStamps[next] != stamp) {
+                    costs[next] = newCost;
+                    priorities[next] = newCost;
+                    predecessors[next] = corridor;
+                    discoveredStamps[next] = stamp;
+                    this._push(next);
+                } else if (newCost < costs[next]) {
+                    costs[next] = newCost;
+                    priorities[next] = newCost;
+                    predecessors[next] = corridor;
+                    this._siftUp(heapPositions[next]);
+                }
+            }
+        }
+
+        heapSize = 0;
+        lastSettledCount = settledCount;
+        corridorSearchCount.increment();
+        corridorSettledCount.add(settledCount);
+
+        if (discoveredStamps[goal] != stamp) return null;
+
+        int length = 0;
+
+        for (int node = goal; node != start; node = graph.getCorridorSource(predecessors[node])) {
+            length++;
+        }
+
+        int[] corridors = new int[length];
+
+        for (int node = goal; node != start; node = graph.getCorridorSource(predecessors[node])) {
+            corridors[--length] = predecessors[node];
+        }
+
+        return corridors;
+    }
+
+    // corridor 의 fromPosition ~ toPosition - 1 번째 edge 를 path[begin] 부터 채움 ---> 다음 위치 반환
+    private static int _copyMembers(RailCorridorGraph graph, int corridor, int fromPosition, int toPosition, int[] path, int begin) {
+        for (int position = fromPosition; position < toPosition; position++) {
+            path[begin++] = graph.getMemberEdge(corridor, position);
+        }
+
+        return begin;
+    }
+
+    private int[] _buildPath(RailTopologyIndex topologyIndex, int source, int destination) {
+        if (source == destination) return EMPTY_PATH;
+
+        int length = 0;
+
+        for (int node = destination; node != source; node = topologyIndex.getAdjacencySource(predecessors[node])) {
+            length++;
+        }
+
+        int[] path = new int[length];
+
+        for (int node = destination; node != source; node = topologyIndex.getAdjacencySource(predecessors[node])) {
+            path[--length] = predecessors[node];
+        }
+
+        return path;
+    }
+
+    /**
+     * 이 쓰레드의 마지막 탐색에서 확정한 node 수
+     */
+    public int getLastSettledCount() {
+        return lastSettledCount;
+    }
+
+    public static long getDijkstraSearchCount() {
+        return dijkstraSearchCount.sum();
+    }
+
+    public static long getDijkstraSettledCount() {
+        return dijkstraSettledCount.sum();
+    }
+
+    public static long getAStarSearchCount() {
+        return aStarSearchCount.sum();
+    }
+
+    public static long getAStarSettledCount() {
+        return aStarSettledCount.sum();
+    }
+
+    public static long getCorridorSearchCount() {
+        return corridorSearchCount.sum();
+    }
+
+    public static long getCorridorSettledCount() {
+        return corridorSettledCount.sum();
+    }
+
+    // 다음 탐색 번호, 배열 크기가 부족하면 확장 (번호가 한 바퀴 돌면 stamp 초기화)
+    private void _prepare(int nodeCount) {
+        if (costs.length < nodeCount) {
+            costs = new double[nodeCount];
+            priorities = new double[nodeCount];
+            estimates = new double[nodeCount];
+            predecessors = new int[nodeCount];
+            discoveredStamps = new int[nodeCount];
+            settledStamps = new int[nodeCount];
+            heapPositions = new int[nodeCount];
+            heap = new int[nodeCount];
+            generation = 0;
+        }
+
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(discoveredStamps, 0);
+            Arrays.fill(settledStamps, 0);
+            generation = 1;
+        }
+
+        heapSize = 0;
+    }
+
+    //
+    // index 가 있는 binary heap (heapPositions[node] = heap 안의 위치)
+    //
+    private void _push(int node) {
+        heap[heapSize] = node;
+        heapPositions[node] = heapSize;
+        this._siftUp(heapSize++);
+    }
+
+    private int _pop() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapPositions[last] = 0;
+            this._siftDown(0);
+        }
+
+        return top;
+    }
+
+    private void _siftUp(int position) {
+        int node = heap[position];
+        double priority = priorities[node];
+
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+
+            if (priorities[parent] <= priority) break;
+
+            heap[position] = parent;
+            heapPositions[parent] = position;
+            position = parentPosition;
+        }
+
+        heap[position] = node;
+        heapPositions[node] = position;
+    }
+
+    private void _siftDown(int position) {
+        int node = heap[position];
+        double priority = priorities[node];
+        int half = heapSize >>> 1;
+
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+
+            if (rightPosition < heapSize && priorities[heap[rightPosition]] < priorities[child]) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+
+            if (priority <= priorities[child]) break;
+
+            heap[position] = child;
+            heapPositions[child] = position;
+            position = childPosition;
+        }
+
+        heap[position] = node;
+        heapPositions[node] = position;
+    }
+    //~index 가 있는 binary heap
+}
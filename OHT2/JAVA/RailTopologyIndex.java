@@ -0,0 +1,366 @@
+/**
+ * (fab, mcp) 별 rail address 조회 index
+ * - address -> RailNode, (fromAddress, toAddress) -> RailEdge 를 primitive key 의 open addressing table 로 보관
+ * - DataSet.address2RailNodeId / address2RailEdgeId 로 문자열 ID 를 만든 뒤 map 을 조회하던 과정을 대체 (조회 시 객체 생성 / 문자열 hash 없음)
+ * - 문자열 ID 는 조회한 RailNode / RailEdge 의 getId() 를 그대로 사용 (로그, 저장용)
+ * - RailNode 는 0 부터의 연속 index 를 부여하고, 나가는 RailEdge 를 index 순서의 배열(CSR)로 보관 ---> RailRouteEngine 의 경로 탐색에 사용
+ * - RailNode 의 layout 좌표(drawX, drawY) 를 index 순서로 보관 ---> A* heuristic (직선 거리 x heuristicScale)
+ * - 분기 / 합류 node 사이 구간을 압축한 RailCorridorGraph 를 함께 생성 ---> RailRouteEngine corridor 탐색
+ * - RailContractionHierarchy 는 선택 사항 (buildContractionHierarchy 호출 시에만 생성)
+ * - 생성 후 변경하지 않음 ---> layout 재구성 시 DataSet.buildRailTopologyIndex 로 새로 만들어 교체
+ * - topologyVersion: RailEdge 사용 가능 여부 변경 / index 재구성 시 증가 ---> RailRouteCache 의 경로 무효화
+ */
+public final class RailTopologyIndex {
+    private static final AtomicLong topologyVersion = new AtomicLong(0L);
+
+    private final String fabId;
+    private final String mcpName;
+
+    // address -> node index (slot 값은 index + 1, 0 은 빈 slot)
+    private final int nodeMask;
+    private final int[] nodeAddresses;
+    private final int[] nodeSlots;
+    private final RailNode[] nodesByIndex;
+    private final int[] addressesByIndex;
+    private final double[] xsByIndex;
+    private final double[] ysByIndex;
+    private int nodeCount = 0;
+
+    // (fromAddress << 32 | toAddress) -> RailEdge
+    private final int edgeMask;
+    private final long[] edgeKeys;
+    private final RailEdge[] edges;
+    private int edgeCount = 0;
+
+    // node index 별 나가는 edge (adjacencyOffsets[i] ~ adjacencyOffsets[i + 1] - 1 이 node i 의 edge index)
+    private int[] adjacencyOffsets;
+    private int[] adjacencySources;
+    private int[] adjacencyTargets;
+    private RailEdge[] adjacencyEdges;
+
+    // 직선 거리 -> 비용 하한 환산 비율 (0: heuristic 미사용)
+    private double heuristicScale = 0.0;
+
+    private RailCorridorGraph corridorGraph;
+    private volatile RailContractionHierarchy contractionHierarchy = null;
+
+    private RailTopologyIndex(String fabId, String mcpName, int expectedEdgeCount) {
+        // 부하율 0.5 이하 (node 는 edge 당 최대 2개)
+        int edgeCapacity = _tableSizeFor(Math.max(4, expectedEdgeCount * 2));
+        int nodeCapacity = edgeCapacity * 2;
+
+        this.fabId              = fabId;
+        this.mcpName            = mcpName;
+        this.nodeMask           = nodeCapacity - 1;
+        this.nodeAddresses      = new int[nodeCapacity];
+        this.nodeSlots          = new int[nodeCapacity];
+        this.nodesByIndex       = new RailNode[Math.max(4, expectedEdgeCount * 2)];
+        this.addressesByIndex   = new int[this.nodesByIndex.length];
+        this.xsByIndex          = new double[this.nodesByIndex.length];
+        this.ysByIndex          = new double[this.nodesByIndex.length];
+        this.edgeMask           = edgeCapacity - 1;
+        this.edgeKeys           = new long[edgeCapacity];
+        this.edges              = new RailEdge[edgeCapacity];
+    }
+
+    /**
+     * mcp 의 RailEdge 와 양 끝 RailNode 로 index 생성
+     * @param railEdges 같은 (fab, mcp) 의 RailEdge
+     * @param nodeMap DataSet 의 nodeMap (RailEdge 의 from/to node ID 로 조회)
+     */
+    public static RailTopologyIndex build(
+            String fabId,
+            String mcpName,
+            Collection<RailEdge> railEdges,
+            Map<String, AbstractNode> nodeMap
+    ) {
+        RailTopologyIndex index = new RailTopologyIndex(fabId, mcpName, railEdges.size());
+
+        for (RailEdge railEdge : railEdges) {
+            index._putEdge(railEdge);
+            index._putNode(railEdge.getFromAddress(), nodeMap.get(railEdge.getFromNodeId()));
+            index._putNode(railEdge.getToAddress(), nodeMap.get(railEdge.getToNodeId()));
+        }
+
+        index._buildAdjacency();
+        index._buildHeuristicScale();
+        index.corridorGraph = RailCorridorGraph.build(index);
+
+        return index;
+    }
+
+    private void _putEdge(RailEdge railEdge) {
+        long key = _edgeKey(railEdge.getFromAddress(), railEdge.getToAddress());
+        int slot = _hash(key) & edgeMask;
+
+        while (edges[slot] != null) {
+            if (edgeKeys[slot] == key) {
+                edges[slot] = railEdge;
+
+                return;
+            }
+
+            slot = (slot + 1) & edgeMask;
+        }
+
+        edgeKeys[slot] = key;
+        edges[slot] = railEdge;
+        edgeCount++;
+    }
+
+    private void _putNode(int address, AbstractNode node) {
+        if (!(node instanceof RailNode)) return;
+
+        int slot = _hash(address) & nodeMask;
+
+        while (nodeSlots[slot] != 0) {
+            if (nodeAddresses[slot] == address) return;
+
+            slot = (slot + 1) & nodeMask;
+        }
+
+        nodeAddresses[slot] = address;
+        nodesByIndex[nodeCount] = (RailNode) node;
+        addressesByIndex[nodeCount] = address;
+        xsByIndex[nodeCount] = ((RailNode) node).getDrawX();
+        ysByIndex[nodeCount] = ((RailNode) node).getDrawY();
+        nodeSlots[slot] = ++nodeCount;
+    }
+
+    /*
+    양 끝 node 가 모두 있는 edge 를 from node index 순서로 정렬 (counting sort)
+     */
+    private void _buildAdjacency() {
+        int[] offsets = new int[nodeCount + 1];
+        int count = 0;
+
+        for (RailEdge railEdge : edges) {
+            if (railEdge == null) continue;
+
+            int from = this.getNodeIndex(railEdge.getFromAddress());
+
+            if (from < 0 || this.getNodeIndex(railEdge.getToAddress()) < 0) continue;
+
+            offsets[from + 1]++;
+            count++;
+        }
+
+        for (int i = 0; i < nodeCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] positions = Arrays.copyOf(offsets, nodeCount);
+        int[] sources = new int[count];
+        int[] targets = new int[count];
+        RailEdge[] adjacency = new RailEdge[count];
+
+        for (RailEdge railEdge : edges) {
+            if (railEdge == null) continue;
+
+            int from = this.getNodeIndex(railEdge.getFromAddress());
+            int to = this.getNodeIndex(railEdge.getToAddress());
+
+            if (from < 0 || to < 0) continue;
+
+            int edgeIndex = positions[from]++;
+
+            sources[edgeIndex] = from;
+            targets[edgeIndex] = to;
+            adjacency[edgeIndex] = railEdge;
+        }
+
+        this.adjacencyOffsets = offsets;
+        this.adjacencySources = sources;
+        this.adjacencyTargets = targets;
+        this.adjacencyEdges = adjacency;
+    }
+
+    /*
+    모든 edge 에서 (비용 하한 / 양 끝 직선 거리) 의 최소값
+    - 경로 비용 >= edge 별 (scale x 직선 거리) 의 합 >= scale x 출발-도착 직선 거리 (삼각 부등식) ---> 과대 추정하지 않음 (admissible, consistent)
+    - 좌표 단위(layout draw 좌표)와 edge 길이(mm) 가 달라도 edge 로 보정되므로 그대로 사용
+    - 최대 속도가 가장 빠른 edge 가 가장 작은 비율을 만들게 되며, 좌표가 없는 경우(모두 0) 0 ---> Dijkstra 와 같음
+     */
+    private void _buildHeuristicScale() {
+        double scale = Double.POSITIVE_INFINITY;
+
+        for (int edgeIndex = 0; edgeIndex < adjacencyEdges.length; edgeIndex++) {
+            double distance = this._getDistance(adjacencySources[edgeIndex], adjacencyTargets[edgeIndex]);
+
+            if (distance <= 0.0) continue;
+
+            scale = Math.min(scale, adjacencyEdges[edgeIndex].getMinVhlCountCost() / distance);
+        }
+
+        // 부동소수 반올림으로 하한을 넘지 않도록 약간 줄임
+        this.heuristicScale = Double.isInfinite(scale) ? 0.0 : scale * (1.0 - 1e-9);
+    }
+
+    private double _getDistance(int fromIndex, int toIndex) {
+        double dx = xsByIndex[fromIndex] - xsByIndex[toIndex];
+        double dy = ysByIndex[fromIndex] - ysByIndex[toIndex];
+
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * node 에서 도착 node 까지 비용의 하한 (A* heuristic)
+     */
+    public double estimateCost(int nodeIndex, int destinationIndex) {
+        return heuristicScale > 0.0 ? heuristicScale * this._getDistance(nodeIndex, destinationIndex) : 0.0;
+    }
+
+    public double getHeuristicScale() {
+        return heuristicScale;
+    }
+
+    public RailCorridorGraph getCorridorGraph() {
+        return corridorGraph;
+    }
+
+    /**
+     * corridor graph 의 contraction hierarchy 생성
+     * @param customizeMillis 현재 비용으로 다시 customize 하는 주기 (0 이하: 자유 주행 비용만 사용)
+     */
+    public RailContractionHierarchy buildContractionHierarchy(long customizeMillis) {
+        this.contractionHierarchy = RailContractionHierarchy.build(this, customizeMillis);
+
+        return this.contractionHierarchy;
+    }
+
+    /**
+     * @return buildContractionHierarchy 를 호출하지 않은 경우 null
+     */
+    public RailContractionHierarchy getContractionHierarchy() {
+        return contractionHierarchy;
+    }
+
+    /**
+     * @return 없는 경우 null
+     */
+    public RailEdge getRailEdge(int fromAddress, int toAddress) {
+        long key = _edgeKey(fromAddress, toAddress);
+        int slot = _hash(key) & edgeMask;
+        RailEdge railEdge;
+
+        while ((railEdge = edges[slot]) != null) {
+            if (edgeKeys[slot] == key) return railEdge;
+
+            slot = (slot + 1) & edgeMask;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return 없는 경우 null
+     */
+    public RailNode getRailNode(int address) {
+        int nodeIndex = this.getNodeIndex(address);
+
+        return nodeIndex >= 0 ? nodesByIndex[nodeIndex] : null;
+    }
+
+    /**
+     * @return 없는 경우 -1
+     */
+    public int getNodeIndex(int address) {
+        int slot = _hash(address) & nodeMask;
+        int value;
+
+        while ((value = nodeSlots[slot]) != 0) {
+            if (nodeAddresses[slot] == address) return value - 1;
+
+            slot = (slot + 1) & nodeMask;
+        }
+
+        return -1;
+    }
+
+    public RailNode getRailNodeAt(int nodeIndex) {
+        return nodesByIndex[nodeIndex];
+    }
+
+    public int getAddressAt(int nodeIndex) {
+        return addressesByIndex[nodeIndex];
+    }
+
+    // node 의 첫 edge index
+    public int getAdjacencyStart(int nodeIndex) {
+        return adjacencyOffsets[nodeIndex];
+    }
+
+    // node 의 마지막 edge index + 1
+    public int getAdjacencyEnd(int nodeIndex) {
+        return adjacencyOffsets[nodeIndex + 1];
+    }
+
+    public int getAdjacencySource(int edgeIndex) {
+        return adjacencySources[edgeIndex];
+    }
+
+    public int getAdjacencyTarget(int edgeIndex) {
+        return adjacencyTargets[edgeIndex];
+    }
+
+    public RailEdge getRailEdgeAt(int edgeIndex) {
+        return adjacencyEdges[edgeIndex];
+    }
+
+    public int getAdjacencyCount() {
+        return adjacencyEdges.length;
+    }
+
+    public String getFabId() {
+        return fabId;
+    }
+
+    public String getMcpName() {
+        return mcpName;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * 경로 탐색 결과에 영향을 주는 변경(RailEdge.setAvailable, layout 재구성) 횟수 (전체 fab / mcp 공통)
+     */
+    public static long getTopologyVersion() {
+        return topologyVersion.get();
+    }
+
+    public static void increaseTopologyVersion() {
+        topologyVersion.incrementAndGet();
+    }
+
+    private static long _edgeKey(int fromAddress, int toAddress) {
+        return ((long) fromAddress << 32) | (toAddress & 0xFFFFFFFFL);
+    }
+
+    // address 가 연속된 값이므로 하위 bit 에 고르게 퍼지도록 섞음
+    private static int _hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int _tableSizeFor(int size) {
+        int capacity = 1;
+
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[fab: %s | mcp: %s] rail node: %d | rail edge: %d", fabId, mcpName, nodeCount, edgeCount);
+    }
+}
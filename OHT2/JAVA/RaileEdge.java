@@ -90,6 +90,19 @@ public class RailEdge extends AbstractEdge {
         return (long)(length / (velocity * 1000 / 60 / 1000));    // 거리(mm) / 속도(m/min) / mm변환 / min변환 / ms변환
     }
    
+    /**
+     * getVhlCountCost 의 하한 (최대 속도 주행, vehicle / station penalty 없음) ---> RailTopologyIndex 의 A* heuristic 보정에 사용
+     */
+    public long getMinVhlCountCost() {
+        double fastest = Math.max(maxVelocity, velocity);
+
+        if (fastest <= 0) {
+            fastest = 1;
+        }
+
+        return (long)(length / (fastest * 1000 / 60 / 1000));
+    }
+
     public long getVhlCountCost() {
         if (velocity <= 0) {
             velocity = 1;
@@ -263,8 +276,13 @@ public class RailEdge extends AbstractEdge {
         return isAvailable;
     }
 
+    // 사용 가능 여부가 바뀌면 추정 경로 cache 무효화 (RailRouteCache)
     public void setAvailable(boolean isAvailable) {
-        this.isAvailable = isAvailable;
+        if (this.isAvailable != isAvailable) {
+            this.isAvailable = isAvailable;
+
+            RailTopologyIndex.increaseTopologyVersion();
+        }
     }
 
     public double getMaxVelocity() {
@@ -549,6 +549,40 @@ public class Station {
 		public String code() {
 			return this.code;
 		}
+
+		/**
+		 * STATION_STATE_REPORT 의 carrier 상태 code 변환
+		 * @return 해당 code 가 없는 경우 UNKNOWN
+		 */
+		public static STATION_CARRIER_STATE of(String code) {
+			for (STATION_CARRIER_STATE state : values()) {
+				if (state.code.equals(code)) return state;
+			}
+
+			return UNKNOWN;
+		}
+	}
+
+	/**
+	 * STATION_STATE_REPORT 반영 (현재 값은 last 값으로 보관)
+	 * @return 사용 가능 여부 / carrier 상태 / carrier id 중 바뀐 것이 있으면 true
+	 */
+	public synchronized boolean applyStateReport(boolean isAvailable, STATION_CARRIER_STATE carrierState, String carrierId, long receivedTime) {
+		boolean isChanged = this.isAvailable != isAvailable
+				|| this.carrierState != carrierState
+				|| !Objects.equals(this.carrierId, carrierId);
+
+		this.lastIsAvailable 	= this.isAvailable;
+		this.lastCarrierState 	= this.carrierState;
+		this.lastCarrierId 		= this.carrierId;
+		this.lastReceivedTime 	= this.receivedTime;
+
+		this.isAvailable 		= isAvailable;
+		this.carrierState 		= carrierState;
+		this.carrierId 			= carrierId;
+		this.receivedTime 		= receivedTime;
+
+		return isChanged;
 	}
 	
 	public String getCarrierId() {
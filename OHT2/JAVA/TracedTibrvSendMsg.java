@@ -0,0 +1,52 @@
+/**
+ * 수신 시각을 함께 전달하는 tib/rv 송신 message (OHT 종단 간 지연 측정용)
+ * - receivedMilli : OhtUdpListener 수신 시각 (Msg 의 시각, OhtMsgWorkerRunnable 까지 전달된 값)
+ * - processStartNanos : worker 가 report 처리를 시작한 시각
+ * - enqueuedNanos : tibrvMessageQueue 에 넣은 시각
+ * - 송신 쓰레드는 TibrvSendMsg 와 같이 처리하고, 송신 후 OhtEndToEndLatencyMetrics.onSent 로 기록
+ */
+public class TracedTibrvSendMsg extends TibrvSendMsg {
+    private final String fabId;
+    private final String mcpName;
+    private final long receivedMilli;
+    private final long processStartNanos;
+    private final long enqueuedNanos;
+
+    public TracedTibrvSendMsg(
+            String key,
+            String type,
+            Map<String, Object> data,
+            String fabId,
+            String mcpName,
+            long receivedMilli,
+            long processStartNanos
+    ) {
+        super(key, type, data);
+
+        this.fabId              = fabId;
+        this.mcpName            = mcpName;
+        this.receivedMilli      = receivedMilli;
+        this.processStartNanos  = processStartNanos;
+        this.enqueuedNanos      = System.nanoTime();
+    }
+
+    public String getFabId() {
+        return fabId;
+    }
+
+    public String getMcpName() {
+        return mcpName;
+    }
+
+    public long getReceivedMilli() {
+        return receivedMilli;
+    }
+
+    public long getProcessStartNanos() {
+        return processStartNanos;
+    }
+
+    public long getEnqueuedNanos() {
+        return enqueuedNanos;
+    }
+}
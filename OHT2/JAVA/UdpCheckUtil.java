@@ -1,16 +1,89 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.BindException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * UDP 수신 테스트 유틸리티
- * 사용법: java UdpCheckUtil <포트번호>
- * 예시:   java UdpCheckUtil 5000
+ * UDP 수신 테스트 / capture / replay 유틸리티
+ * 사용법:
+ *   java UdpCheckUtil <포트번호>                                                  ---> 수신 내용 출력
+ *   java UdpCheckUtil capture <포트번호> <파일> [최대 개수]                          ---> 수신 packet 을 파일로 기록
+ *   java UdpCheckUtil replay <파일> <host> <포트번호> [배속|max] [최대 간격(ms)]     ---> 기록한 packet 을 재전송
+ * 예시:
+ *   java UdpCheckUtil 5000
+ *   java UdpCheckUtil capture 5000 fab1.ohtcap
+ *   java UdpCheckUtil replay fab1.ohtcap 127.0.0.1 5000 1        (실제 간격 그대로)
+ *   java UdpCheckUtil replay fab1.ohtcap 127.0.0.1 5000 10 100   (10배속, 간격은 최대 100ms 로 압축)
+ *   java UdpCheckUtil replay fab1.ohtcap 127.0.0.1 5000 max      (간격 없이 최대 속도)
+ *
+ * capture 파일 형식 (big endian)
+ *   header : "OHTCAP01" (8 byte)
+ *   record : long 수신 시각(capture 시작 기준 nano) | int IPv4 | short 송신 port | short 길이 | payload
+ *
+ * replay 시 송신 IP 는 로컬에 해당 주소가 있는 경우에만 그대로 사용 (공유 port 의 MCP 구분용), 없으면 기본 주소로 송신
  */
 public class UdpCheckUtil {
+    private static final byte[] CAPTURE_MAGIC = "OHTCAP01".getBytes();
+    private static final int MAX_PACKET_SIZE = 1500;
 
     public static void main(String[] args) {
-        int port = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        try {
+            if (args.length > 0 && "capture".equalsIgnoreCase(args[0])) {
+                if (args.length < 3) {
+                    _printUsage();
+                    return;
+                }
+
+                long maxCount = args.length > 3 ? Long.parseLong(args[3]) : Long.MAX_VALUE;
+
+                capture(Integer.parseInt(args[1]), args[2], maxCount);
+            } else if (args.length > 0 && "replay".equalsIgnoreCase(args[0])) {
+                if (args.length < 4) {
+                    _printUsage();
+                    return;
+                }
+
+                double speed = args.length > 4 && !"max".equalsIgnoreCase(args[4]) ? Double.parseDouble(args[4]) : 0;
+                long maxGapMillis = args.length > 5 ? Long.parseLong(args[5]) : 0;
+
+                if (args.length > 4 && !"max".equalsIgnoreCase(args[4]) && speed <= 0) {
+                    _printUsage();
+                    return;
+                }
+
+                replay(args[1], args[2], Integer.parseInt(args[3]), args.length > 4 ? speed : 1, maxGapMillis);
+            } else {
+                print(args.length > 0 ? Integer.parseInt(args[0]) : 5000);
+            }
+        } catch (Exception e) {
+            System.err.println("[UDP Check] ERROR: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void _printUsage() {
+        System.out.println("usage: java UdpCheckUtil <port>");
+        System.out.println("       java UdpCheckUtil capture <port> <file> [maxCount]");
+        System.out.println("       java UdpCheckUtil replay <file> <host> <port> [speed|max] [maxGapMillis]");
+    }
 
+    /**
+     * 수신 내용 출력
+     */
+    public static void print(int port) throws IOException {
         System.out.println("[UDP Check] Listening on port " + port + " ...");
 
         try (DatagramSocket socket = new DatagramSocket(port)) {
@@ -19,7 +92,7 @@ public class UdpCheckUtil {
             int count = 0;
 
             while (true) {
-                byte[] buffer = new byte[1500];
+                byte[] buffer = new byte[MAX_PACKET_SIZE];
                 DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
 
                 try {
@@ -38,9 +111,176 @@ public class UdpCheckUtil {
                     System.out.println("[UDP Check] NO DATA for 10s (total received: " + count + ")");
                 }
             }
-        } catch (Exception e) {
-            System.err.println("[UDP Check] ERROR: " + e.getMessage());
-            e.printStackTrace();
         }
     }
+
+    /**
+     * 수신 packet 을 수신 시각(nano), 송신 주소와 함께 파일로 기록
+     * - 종료(Ctrl+C) 시에도 기록한 내용이 남도록 shutdown hook 에서 flush
+     */
+    public static void capture(int port, String fileName, long maxCount) throws IOException {
+        System.out.println("[UDP Capture] Listening on port " + port + " ---> " + fileName);
+
+        try (DatagramSocket socket = new DatagramSocket(port);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), 1 << 16))) {
+            out.write(CAPTURE_MAGIC);
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    synchronized (out) {
+                        out.flush();
+                    }
+                } catch (IOException ignored) {
+                    // 종료 중
+                }
+            }));
+
+            byte[] buffer = new byte[MAX_PACKET_SIZE];
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            long startNanos = -1;
+            long count = 0;
+            long lastLogMillis = System.currentTimeMillis();
+
+            while (count < maxCount) {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+
+                long now = System.nanoTime();
+
+                if (startNanos < 0) {
+                    startNanos = now;
+                }
+
+                byte[] address = packet.getAddress().getAddress();
+
+                synchronized (out) {
+                    out.writeLong(now - startNanos);
+                    out.writeInt(address.length == 4 ? _toInt(address) : 0);
+                    out.writeShort(packet.getPort());
+                    out.writeShort(packet.getLength());
+                    out.write(packet.getData(), packet.getOffset(), packet.getLength());
+                }
+
+                count++;
+
+                if (System.currentTimeMillis() - lastLogMillis >= 10000) {
+                    lastLogMillis = System.currentTimeMillis();
+
+                    System.out.println("[UDP Capture] captured: " + count);
+                }
+            }
+
+            System.out.println("[UDP Capture] completed (total captured: " + count + ")");
+        }
+    }
+
+    /**
+     * capture 파일을 재전송
+     * @param speed 배속 (0 이하: 간격 없이 최대 속도)
+     * @param maxGapMillis packet 간 최대 간격 (0 이하: 기록된 간격 유지), 긴 공백 구간을 압축할 때 사용
+     */
+    public static void replay(String fileName, String host, int port, double speed, long maxGapMillis) throws IOException {
+        InetSocketAddress target = new InetSocketAddress(host, port);
+        Map<Integer, DatagramSocket> senderMap = new HashMap<>();
+        DatagramSocket defaultSender = new DatagramSocket();
+
+        System.out.println("[UDP Replay] " + fileName + " ---> " + target
+                + " [speed: " + (speed <= 0 ? "max" : speed + "x") + " | max gap: " + (maxGapMillis > 0 ? maxGapMillis + "ms" : "-") + "]");
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName), 1 << 16))) {
+            byte[] magic = new byte[CAPTURE_MAGIC.length];
+
+            in.readFully(magic);
+
+            if (!Arrays.equals(magic, CAPTURE_MAGIC)) {
+                throw new IOException("not a capture file of UdpCheckUtil: " + fileName);
+            }
+
+            byte[] buffer = new byte[MAX_PACKET_SIZE];
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length, target);
+            long maxGapNanos = maxGapMillis > 0 ? maxGapMillis * 1_000_000L : Long.MAX_VALUE;
+            long startNanos = System.nanoTime();
+            long previousCapturedNanos = -1;
+            long replayNanos = 0;    // 압축 / 배속이 반영된 재전송 시각 (시작 기준)
+            long count = 0;
+
+            while (true) {
+                long capturedNanos;
+
+                try {
+                    capturedNanos = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                int ipv4 = in.readInt();
+                in.readUnsignedShort();    // 송신 port (재전송 시에는 사용하지 않음)
+                int length = in.readUnsignedShort();
+
+                in.readFully(buffer, 0, length);
+
+                if (speed > 0) {
+                    long gap = previousCapturedNanos < 0 ? 0 : Math.min(capturedNanos - previousCapturedNanos, maxGapNanos);
+
+                    replayNanos += (long) (gap / speed);
+                    previousCapturedNanos = capturedNanos;
+
+                    _waitUntil(startNanos + replayNanos);
+                }
+
+                packet.setData(buffer, 0, length);
+                _getSender(senderMap, defaultSender, ipv4).send(packet);
+                count++;
+            }
+
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+            System.out.printf("[UDP Replay] completed (total sent: %d | elapsed: %.3fs | rate: %.0f msg/s)%n",
+                    count, elapsedSeconds, elapsedSeconds > 0 ? count / elapsedSeconds : 0.0);
+        } finally {
+            defaultSender.close();
+
+            for (DatagramSocket sender : senderMap.values()) {
+                sender.close();
+            }
+        }
+    }
+
+    // 기록된 송신 IP 가 로컬 주소인 경우 해당 주소로 bind 한 socket 을 사용
+    private static DatagramSocket _getSender(Map<Integer, DatagramSocket> senderMap, DatagramSocket defaultSender, int ipv4) {
+        if (ipv4 == 0) return defaultSender;
+
+        return senderMap.computeIfAbsent(ipv4, key -> {
+            InetAddress address = null;
+
+            try {
+                address = InetAddress.getByAddress(new byte[] {(byte) (key >>> 24), (byte) (key >>> 16), (byte) (key >>> 8), (byte) (int) key});
+
+                return new DatagramSocket(new InetSocketAddress(address, 0));
+            } catch (BindException e) {
+                System.out.println("[UDP Replay] source address is not local, default address is used [ip: " + address + "]");
+            } catch (IOException e) {
+                System.out.println("[UDP Replay] failed to bind source address [ip: " + address + "]: " + e.getMessage());
+            }
+
+            return defaultSender;
+        });
+    }
+
+    // 1ms 이상 남은 경우 park, 이후에는 spin 하여 간격을 맞춤
+    private static void _waitUntil(long deadlineNanos) {
+        long remaining;
+
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            if (remaining > 1_000_000L) {
+                LockSupport.parkNanos(remaining - 500_000L);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static int _toInt(byte[] address) {
+        return ((address[0] & 0xFF) << 24) | ((address[1] & 0xFF) << 16) | ((address[2] & 0xFF) << 8) | (address[3] & 0xFF);
+    }
 }
@@ -13,6 +13,11 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
     private final VhlUdpState udpState;
     private VhlUdpState lastUdpState = null;
     transient private boolean isUpdate;
+    // vehicle report 를 처리하는 쓰레드에서만 변경 (MCP 재시작은 mcpRestartEpoch 로 다음 report 처리 시 반영), 처리 쓰레드가 바뀔 수 있으므로 volatile
+    transient private volatile long reportFingerprint = 0L;     // 마지막으로 반영한 VHL_STATE_REPORT 의 지문 (0: 없음)
+    transient private volatile boolean isReportRepeated = false;    // 마지막 반영 report 가 그 직전 report 와 같은 지문인지 여부
+    transient private volatile VhlRoute plannedRoute = null;    // VHL_ROUTE_REPORT 로 받은 계획 경로 (없으면 null)
+    transient private volatile long mcpRestartEpoch = 0L;    // 지문 / 계획 경로를 기록한 시점의 MCP 재시작 epoch
 //    private boolean batchFlush = false;
 
     public Vhl(
@@ -55,6 +60,55 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
         }
     }
 
+    /**
+     * 변경 없는 report 의 수신 시각만 반영 (clone 생략)
+     * - 같은 내용의 report 를 연속 2번 이상 반영하여 lastUdpState 가 수신 시각 / 거리 외에는 현재 상태와 같은 경우에만 사용
+     * - copyCurrentVhlUdpStateToLast() 후 setReceivedTime() 한 것과 같은 결과
+     */
+    public void touchReceivedTime(long receivedTime) {
+        lastUdpState.receivedTime   = udpState.receivedTime;
+        lastUdpState.distance       = udpState.distance;
+        udpState.receivedTime       = receivedTime;
+    }
+
+    public long getReportFingerprint() {
+        return reportFingerprint;
+    }
+
+    public boolean isReportRepeated() {
+        return isReportRepeated;
+    }
+
+    /**
+     * 반영한 report 의 지문 기록
+     */
+    public void updateReportFingerprint(long fingerprint) {
+        this.isReportRepeated   = fingerprint != 0L && fingerprint == this.reportFingerprint;
+        this.reportFingerprint  = fingerprint;
+    }
+
+    public VhlRoute getPlannedRoute() {
+        return plannedRoute;
+    }
+
+    public void setPlannedRoute(VhlRoute plannedRoute) {
+        this.plannedRoute = plannedRoute;
+    }
+
+    public long getMcpRestartEpoch() {
+        return mcpRestartEpoch;
+    }
+
+    public void setMcpRestartEpoch(long mcpRestartEpoch) {
+        this.mcpRestartEpoch = mcpRestartEpoch;
+    }
+
+    // 다음 report 는 지문이 같더라도 전체 과정으로 처리
+    public void resetReportFingerprint() {
+        this.isReportRepeated   = false;
+        this.reportFingerprint  = 0L;
+    }
+
 //    public void flush() {
 //        this.batchFlush = false;
 //    }
@@ -203,6 +257,10 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
 
         private final String code;
 
+        // code ---> enum 조회 table ("1" ~ "9")
+        private static final int CODE_RADIX = 10;
+        private static final VHL_STATE[] CODE_TABLE = VhlCodeTable.build(values(), VHL_STATE::code, CODE_RADIX);
+
         VHL_STATE(String code){
             this.code = code;
         }
@@ -212,13 +270,15 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
         }
 
         public static VHL_STATE getValue(String numberString) {
-            for (VHL_STATE value : values()) {
-                if (value.code.equals(numberString)) {
-                    return value;
-                }
-            }
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(numberString, CODE_RADIX), REMOVING);
+        }
 
-            return REMOVING;
+        public static VHL_STATE getValue(CharSequence source, int start, int end) {
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(source, start, end, CODE_RADIX), REMOVING);
+        }
+
+        public static VHL_STATE getValue(byte[] bytes, int start, int end) {
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(bytes, start, end, CODE_RADIX), REMOVING);
         }
     }
 
@@ -240,6 +300,10 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
 
         private final String code;
 
+        // code ---> enum 조회 table ("0" ~ "6", "101" ~ "106")
+        private static final int CODE_RADIX = 10;
+        private static final VHL_DET_STATE[] CODE_TABLE = VhlCodeTable.build(values(), VHL_DET_STATE::code, CODE_RADIX);
+
         VHL_DET_STATE(String code){
             this.code = code;
         }
@@ -249,13 +313,15 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
         }
 
         public static VHL_DET_STATE getValue(String numberString) {
-            for (VHL_DET_STATE value : values()) {
-                if (value.code.equals(numberString)) {
-                    return value;
-                }
-            }
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(numberString, CODE_RADIX), NONE);
+        }
 
-            return NONE;
+        public static VHL_DET_STATE getValue(CharSequence source, int start, int end) {
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(source, start, end, CODE_RADIX), NONE);
+        }
+
+        public static VHL_DET_STATE getValue(byte[] bytes, int start, int end) {
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(bytes, start, end, CODE_RADIX), NONE);
         }
     }
 
@@ -280,6 +346,10 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
 
         private final String code;
 
+        // code ---> enum 조회 table ("2E", "2F" 를 포함하므로 16진으로 변환, "21" 등도 16진 값으로 구분됨)
+        private static final int CODE_RADIX = 16;
+        private static final RUN_CYCLE[] CODE_TABLE = VhlCodeTable.build(values(), RUN_CYCLE::code, CODE_RADIX);
+
         RUN_CYCLE(String code){
             this.code = code;
         }
@@ -289,13 +359,15 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
         }
 
         public static RUN_CYCLE getValue(String numberString) {
-            for (RUN_CYCLE value : values()) {
-                if(value.code.equals(numberString)) {
-                    return value;
-                }
-            }
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(numberString, CODE_RADIX), NONE);
+        }
 
-            return NONE;
+        public static RUN_CYCLE getValue(CharSequence source, int start, int end) {
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(source, start, end, CODE_RADIX), NONE);
+        }
+
+        public static RUN_CYCLE getValue(byte[] bytes, int start, int end) {
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(bytes, start, end, CODE_RADIX), NONE);
         }
     }
 
@@ -313,6 +385,10 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
 
         private final String code;
 
+        // code ---> enum 조회 table ("0" ~ "8")
+        private static final int CODE_RADIX = 10;
+        private static final VHL_CYCLE[] CODE_TABLE = VhlCodeTable.build(values(), VHL_CYCLE::code, CODE_RADIX);
+
         VHL_CYCLE (String code){
             this.code = code;
         }
@@ -322,13 +398,15 @@ public class Vhl implements CarrierContainable, CarrierTransportable {
         }
 
         public static VHL_CYCLE getValue(String numberString) {
-            for (VHL_CYCLE value : values()) {
-                if (value.code.equals(numberString)) {
-                    return value;
-                }
-            }
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(numberString, CODE_RADIX), NONE);
+        }
+
+        public static VHL_CYCLE getValue(CharSequence source, int start, int end) {
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(source, start, end, CODE_RADIX), NONE);
+        }
 
-            return NONE;
+        public static VHL_CYCLE getValue(byte[] bytes, int start, int end) {
+            return VhlCodeTable.lookup(CODE_TABLE, VhlCodeTable.parse(bytes, start, end, CODE_RADIX), NONE);
         }
     }
 
@@ -0,0 +1,115 @@
+/**
+ * Vhl 상태 enum(VHL_STATE, VHL_DET_STATE, RUN_CYCLE, VHL_CYCLE) 의 code ---> enum 조회 table
+ * - code 를 숫자(10진 / RUN_CYCLE 은 "2E", "2F" 가 있으므로 16진) 로 변환하여 배열 index 로 바로 조회
+ * - values() 복사 및 String.equals 반복 없이 조회하며, String / CharSequence 구간 / byte 배열 구간 모두 지원
+ * - 기존 String.equals 비교와 결과를 맞추기 위해 표준 표기만 허용 ("02", "2e", " 2" 등은 일치하지 않음)
+ */
+final class VhlCodeTable {
+    private static final int MAX_CODE_LENGTH = 4;
+
+    private VhlCodeTable() {
+    }
+
+    /**
+     * @param values enum values()
+     * @param codeOf enum 의 code
+     * @param radix code 진법 (10 또는 16)
+     * @return code 값을 index 로 하는 table (해당 code 가 없으면 null)
+     */
+    static <E extends Enum<E>> E[] build(E[] values, Function<E, String> codeOf, int radix) {
+        int maxCode = 0;
+
+        for (E value : values) {
+            int code = parse(codeOf.apply(value), radix);
+
+            if (code < 0) {
+                throw new IllegalArgumentException("invalid code of " + value + ": " + codeOf.apply(value));
+            }
+
+            maxCode = Math.max(maxCode, code);
+        }
+
+        E[] table = Arrays.copyOf(values, maxCode + 1);
+
+        Arrays.fill(table, null);
+
+        for (E value : values) {
+            table[parse(codeOf.apply(value), radix)] = value;
+        }
+
+        return table;
+    }
+
+    static int parse(CharSequence source, int radix) {
+        return source == null ? -1 : parse(source, 0, source.length(), radix);
+    }
+
+    /**
+     * source[start, end) 를 code 값으로 변환
+     * @return 표준 표기가 아닌 경우 -1
+     */
+    static int parse(CharSequence source, int start, int end, int radix) {
+        int length = end - start;
+
+        if (length <= 0 || length > MAX_CODE_LENGTH) return -1;
+        if (length > 1 && source.charAt(start) == '0') return -1;
+
+        int code = 0;
+
+        for (int i = start; i < end; i++) {
+            int digit = _digit(source.charAt(i), radix);
+
+            if (digit < 0) return -1;
+
+            code = code * radix + digit;
+        }
+
+        return code;
+    }
+
+    /**
+     * bytes[start, end) (ASCII) 를 code 값으로 변환
+     * @return 표준 표기가 아닌 경우 -1
+     */
+    static int parse(byte[] bytes, int start, int end, int radix) {
+        int length = end - start;
+
+        if (length <= 0 || length > MAX_CODE_LENGTH) return -1;
+        if (length > 1 && bytes[start] == '0') return -1;
+
+        int code = 0;
+
+        for (int i = start; i < end; i++) {
+            int digit = _digit((char) (bytes[i] & 0xFF), radix);
+
+            if (digit < 0) return -1;
+
+            code = code * radix + digit;
+        }
+
+        return code;
+    }
+
+    static <E> E lookup(E[] table, int code, E defaultValue) {
+        if (code < 0 || code >= table.length) return defaultValue;
+
+        E value = table[code];
+
+        return value == null ? defaultValue : value;
+    }
+
+    // 대문자 16진만 허용 (code 정의가 대문자)
+    private static int _digit(char c, int radix) {
+        if (c >= '0' && c <= '9') {
+            int digit = c - '0';
+
+            return digit < radix ? digit : -1;
+        }
+
+        if (radix == 16 && c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+
+        return -1;
+    }
+}
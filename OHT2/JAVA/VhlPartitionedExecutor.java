@@ -0,0 +1,253 @@
+/**
+ * vehicle 별 partition 실행기
+ * - partition key(vehicle ID 의 hash) 로 고정된 partition 쓰레드에서 실행 ---> 같은 vehicle 의 message 는 항상 같은 쓰레드에서 수신 순서대로 처리
+ * - 따라서 OhtMsgWorkerRunnable 은 partition 쓰레드에서 실행되는 경우 synchronized(vehicle) / Vhl.getLock() 을 사용하지 않음
+ * - partition 별 queue 가 가득 찬 경우 execute 호출 쓰레드가 대기 (blockedCount 증가) ---> message ring 의 BLOCK 정책과 같이 유실 없음
+ * - partition 별 queue 깊이 / 최대 깊이 / 처리 수 / 대기 수 / 오류 수 제공
+ */
+public class VhlPartitionedExecutor implements Executor {
+    private static final Logger logger = LoggerFactory.getLogger(VhlPartitionedExecutor.class);
+
+    private final String name;
+    private final Partition[] partitions;
+    private final int queueCapacity;
+    private volatile boolean isRunning = true;
+
+    /**
+     * @param name 쓰레드 이름 prefix
+     * @param partitionCount partition(쓰레드) 수
+     * @param queueCapacity partition 별 대기 queue 크기
+     */
+    public VhlPartitionedExecutor(String name, int partitionCount, int queueCapacity) {
+        this.name           = name;
+        this.queueCapacity  = Math.max(1, queueCapacity);
+        this.partitions     = new Partition[Math.max(1, partitionCount)];
+
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i);
+            partitions[i].thread.start();
+        }
+    }
+
+    /**
+     * 현재 쓰레드가 partition 쓰레드인지 여부 (vehicle 잠금 생략 판단용)
+     */
+    public static boolean isPartitionThread() {
+        return Thread.currentThread() instanceof PartitionThread;
+    }
+
+    /**
+     * OhtMsgWorkerRunnable 은 vehicle 기준 partition key 로, 그 외 작업은 작업 객체의 hash 로 분배
+     */
+    @Override
+    public void execute(Runnable task) {
+        int partitionKey = task instanceof OhtMsgWorkerRunnable
+                ? ((OhtMsgWorkerRunnable) task).getPartitionKey()
+                : System.identityHashCode(task);
+
+        execute(partitionKey, task);
+    }
+
+    public void execute(int partitionKey, Runnable task) {
+        if (!isRunning) {
+            throw new RejectedExecutionException(name + " is shut down");
+        }
+
+        partitions[partitionOf(partitionKey)].enqueue(task);
+    }
+
+    public int partitionOf(int partitionKey) {
+        // 하위 bit 만 다른 key 가 한쪽으로 몰리지 않도록 섞은 뒤 분배
+        int hash = partitionKey ^ (partitionKey >>> 16);
+
+        return Math.floorMod(hash, partitions.length);
+    }
+
+    /**
+     * 대기 중인 작업을 처리한 뒤 종료
+     * @param timeoutMillis partition 별 최대 대기 시간
+     */
+    public void shutdown(long timeoutMillis) {
+        isRunning = false;
+
+        for (Partition partition : partitions) {
+            partition.thread.interrupt();
+        }
+
+        for (Partition partition : partitions) {
+            try {
+                partition.thread.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                return;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int[] getQueueDepths() {
+        int[] depths = new int[partitions.length];
+
+        for (int i = 0; i < partitions.length; i++) {
+            depths[i] = partitions[i].queue.size();
+        }
+
+        return depths;
+    }
+
+    public int[] getMaxQueueDepths() {
+        int[] depths = new int[partitions.length];
+
+        for (int i = 0; i < partitions.length; i++) {
+            depths[i] = partitions[i].maxDepth.get();
+        }
+
+        return depths;
+    }
+
+    public long[] getExecutedCounts() {
+        long[] counts = new long[partitions.length];
+
+        for (int i = 0; i < partitions.length; i++) {
+            counts[i] = partitions[i].executedCount.get();
+        }
+
+        return counts;
+    }
+
+    public long[] getBlockedCounts() {
+        long[] counts = new long[partitions.length];
+
+        for (int i = 0; i < partitions.length; i++) {
+            counts[i] = partitions[i].blockedCount.get();
+        }
+
+        return counts;
+    }
+
+    public long[] getFailedCounts() {
+        long[] counts = new long[partitions.length];
+
+        for (int i = 0; i < partitions.length; i++) {
+            counts[i] = partitions[i].failedCount.get();
+        }
+
+        return counts;
+    }
+
+    /**
+     * 최대 깊이 초기화 (모니터링 주기마다 호출하여 구간 최대값으로 사용)
+     */
+    public void resetMaxQueueDepths() {
+        for (Partition partition : partitions) {
+            partition.maxDepth.set(partition.queue.size());
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append(String.format("[%s] partition: %d | capacity: %d", name, partitions.length, queueCapacity));
+
+        for (Partition partition : partitions) {
+            builder.append(String.format(" | #%d(depth: %d, max: %d, executed: %d, blocked: %d, failed: %d)",
+                    partition.index,
+                    partition.queue.size(),
+                    partition.maxDepth.get(),
+                    partition.executedCount.get(),
+                    partition.blockedCount.get(),
+                    partition.failedCount.get()
+            ));
+        }
+
+        return builder.toString();
+    }
+
+    private static class PartitionThread extends Thread {
+        private PartitionThread(Runnable target, String threadName) {
+            super(target, threadName);
+        }
+    }
+
+    /**
+     * 단일 쓰레드 + 전용 queue
+     */
+    private class Partition implements Runnable {
+        private final int index;
+        private final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+        private final AtomicInteger maxDepth = new AtomicInteger(0);
+        private final AtomicLong executedCount = new AtomicLong(0);
+        private final AtomicLong blockedCount = new AtomicLong(0);
+        private final AtomicLong failedCount = new AtomicLong(0);
+
+        private Partition(int index) {
+            this.index  = index;
+            this.thread = new PartitionThread(this, name + "-" + index);
+
+            this.thread.setDaemon(true);
+        }
+
+        private void enqueue(Runnable task) {
+            if (!queue.offer(task)) {
+                blockedCount.incrementAndGet();
+
+                try {
+                    queue.put(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+
+                    throw new RejectedExecutionException(thread.getName() + " is interrupted while waiting", e);
+                }
+            }
+
+            int depth = queue.size();
+            int max;
+
+            while (depth > (max = maxDepth.get()) && !maxDepth.compareAndSet(max, depth)) {
+                // 최대값 갱신
+            }
+        }
+
+        @Override
+        public void run() {
+            while (isRunning || !queue.isEmpty()) {
+                Runnable task;
+
+                try {
+                    task = isRunning ? queue.take() : queue.poll();
+                } catch (InterruptedException e) {
+                    // shutdown ---> 남은 작업 처리 후 종료
+                    continue;
+                }
+
+                if (task == null) break;
+
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    failedCount.incrementAndGet();
+
+                    logger.error("... an exception occurred in the partition worker [{}]", thread.getName(), t);
+                } finally {
+                    executedCount.incrementAndGet();
+                }
+            }
+
+            logger.info("... partition worker is stopped [{}]", thread.getName());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * VHL_ROUTE_REPORT(message 15) 로 받은 vehicle 의 계획 경로 (address 순서)
+ * - Vhl 에 마지막으로 받은 경로를 보관 (불변 객체, 새 report 수신 시 교체)
+ * - 연속한 두 위치 보고 사이에 지나간 rail edge 를 경로에서 바로 구함 ---> DijkstraVhlRouteFind 는 경로가 없거나 맞지 않는 경우에만 사용
+ * - 경로상 인접 address 사이에 rail edge 가 없는 경우(경유지만 보고된 경우 등) null 을 반환하여 기존 방식으로 추정
+ */
+public final class VhlRoute {
+    public static final long MAX_AGE_MILLIS = 10L * 60 * 1000;    // 이보다 오래된 경로는 사용하지 않음 (MCP LOST_ROUTE_TO 기본값)
+
+    private final int[] addresses;
+    private final long receivedMilli;
+
+    public VhlRoute(int[] addresses, long receivedMilli) {
+        this.addresses      = addresses;
+        this.receivedMilli  = receivedMilli;
+    }
+
+    /**
+     * report 의 startIndex 번째 token 부터 끝까지를 address 로 변환 (빈 token / 숫자가 아닌 token 은 제외)
+     * - 경로 길이에 제한이 없도록 OhtReportDecoder(최대 token 수 제한) 를 사용하지 않고 message 를 직접 읽음
+     */
+    public static VhlRoute parse(CharSequence message, int startIndex, long receivedMilli) {
+        int[] buffer = new int[16];
+        int count = 0;
+        int tokenIndex = 0;
+        int value = 0;
+        boolean hasDigit = false;
+        boolean isValid = true;
+        int length = message.length();
+
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? message.charAt(i) : ',';
+
+            if (c == ',') {
+                if (tokenIndex >= startIndex && hasDigit && isValid && value != 0) {
+                    if (count == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, count * 2);
+                    }
+
+                    buffer[count++] = value;
+                }
+
+                tokenIndex++;
+                value = 0;
+                hasDigit = false;
+                isValid = true;
+            } else if (tokenIndex >= startIndex) {
+                if (c >= '0' && c <= '9' && value <= (Integer.MAX_VALUE - 9) / 10) {
+                    value = value * 10 + (c - '0');
+                    hasDigit = true;
+                } else if (c != ' ') {
+                    isValid = false;
+                }
+            }
+        }
+
+        return new VhlRoute(Arrays.copyOf(buffer, count), receivedMilli);
+    }
+
+    public boolean isExpired(long nowMilli) {
+        return nowMilli - receivedMilli > MAX_AGE_MILLIS;
+    }
+
+    /**
+     * fromAddress 에서 toAddress 까지 경로를 따라 지나는 rail edge
+     * - DijkstraVhlRouteFind.getRailEdgeList 와 같이 fromAddress 에서 나가는 edge 부터 toAddress 로 들어오는 edge 까지
+     * @return 경로에 해당 구간이 없거나 edge 를 찾을 수 없는 경우 null
+     */
+    public ConcurrentLinkedQueue<RailEdge> resolve(RailTopologyIndex topologyIndex, int fromAddress, int toAddress) {
+        if (topologyIndex == null) return null;
+
+        for (int i = 0; i < addresses.length; i++) {
+            if (addresses[i] != fromAddress) continue;
+
+            for (int j = i; j < addresses.length; j++) {
+                if (addresses[j] != toAddress) continue;
+
+                ConcurrentLinkedQueue<RailEdge> railEdges = _getRailEdges(topologyIndex, i, j);
+
+                if (railEdges != null) return railEdges;
+
+                break;
+            }
+        }
+
+        return null;
+    }
+
+    private ConcurrentLinkedQueue<RailEdge> _getRailEdges(RailTopologyIndex topologyIndex, int fromIndex, int toIndex) {
+        ConcurrentLinkedQueue<RailEdge> railEdges = new ConcurrentLinkedQueue<>();
+
+        for (int k = fromIndex; k < toIndex; k++) {
+            RailEdge railEdge = topologyIndex.getRailEdge(addresses[k], addresses[k + 1]);
+
+            if (railEdge == null) return null;
+
+            railEdges.add(railEdge);
+        }
+
+        return railEdges;
+    }
+
+    public int[] getAddresses() {
+        return addresses.clone();
+    }
+
+    public int size() {
+        return addresses.length;
+    }
+
+    public long getReceivedMilli() {
+        return receivedMilli;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("route(size: %d | received: %d)", addresses.length, receivedMilli);
+    }
+}